@@ -0,0 +1,66 @@
+package com.project.kanbanflow.bench;
+
+import com.project.kanbanflow.dtos.BoardColumnDto;
+import com.project.kanbanflow.dtos.CardDto;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.mapper.BoardMapper;
+import com.project.kanbanflow.mapper.BoardMapperImpl;
+import com.project.kanbanflow.mapper.CardMapper;
+import com.project.kanbanflow.mapper.CardMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mapping of whole boards, wired the way Spring wires the mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int cards;
+
+    private AnnotationConfigApplicationContext context;
+    private BoardMapper boardMapper;
+    private CardMapper cardMapper;
+    private List<BoardColumn> columns;
+    private List<Card> flatCards;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(CardMapperImpl.class, BoardMapperImpl.class);
+        boardMapper = context.getBean(BoardMapper.class);
+        cardMapper = context.getBean(CardMapper.class);
+        columns = SyntheticBoard.columns(cards);
+        flatCards = columns.stream().flatMap(column -> column.getCards().stream()).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BoardColumnDto> mapBoard() {
+        List<BoardColumnDto> dtos = new ArrayList<>(columns.size());
+        for (BoardColumn column : columns) {
+            dtos.add(boardMapper.toDto(column));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<CardDto> mapCards() {
+        List<CardDto> dtos = new ArrayList<>(flatCards.size());
+        for (Card card : flatCards) {
+            dtos.add(cardMapper.toDto(card));
+        }
+        return dtos;
+    }
+}
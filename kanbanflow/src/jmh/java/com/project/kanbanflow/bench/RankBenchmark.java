@@ -0,0 +1,61 @@
+package com.project.kanbanflow.bench;
+
+import com.project.kanbanflow.util.RankKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rank key computations behind card creation, moves and column rebalancing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int cards;
+
+    private List<String> ranks;
+
+    @Setup
+    public void setUp() {
+        ranks = RankKeys.spread(cards);
+    }
+
+    // Appending one card after another, as a bulk create does
+    @Benchmark
+    public String append() {
+        String last = null;
+        for (int i = 0; i < cards; i++) {
+            last = RankKeys.between(last, null);
+        }
+        return last;
+    }
+
+    // Repeatedly dropping a card at the top, the case that grows keys fastest
+    @Benchmark
+    public String prepend() {
+        String first = null;
+        for (int i = 0; i < cards; i++) {
+            first = RankKeys.between(null, first);
+        }
+        return first;
+    }
+
+    // Moving a card between every pair of neighbours in a column
+    @Benchmark
+    public int moveBetweenNeighbours() {
+        int length = 0;
+        for (int i = 1; i < ranks.size(); i++) {
+            length += RankKeys.between(ranks.get(i - 1), ranks.get(i)).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public List<String> rebalance() {
+        return RankKeys.spread(cards);
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.kanbanflow.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.kanbanflow.dtos.BoardColumnDto;
+import com.project.kanbanflow.mapper.BoardMapper;
+import com.project.kanbanflow.mapper.BoardMapperImpl;
+import com.project.kanbanflow.mapper.CardMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the board response, the same bytes the board
+ * endpoint and the snapshot cache produce.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int cards;
+
+    private ObjectMapper objectMapper;
+    private List<BoardColumnDto> board;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(CardMapperImpl.class, BoardMapperImpl.class)) {
+            BoardMapper boardMapper = context.getBean(BoardMapper.class);
+            board = SyntheticBoard.columns(cards).stream().map(boardMapper::toDto).toList();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeBoard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(board);
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.kanbanflow.bench;
+
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.util.RankKeys;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds detached boards shaped like real ones: a handful of columns, cards
+ * ordered by rank, some of them assigned, dated or completed. Seeded, so every
+ * run and every commit benchmarks the same board.
+ */
+final class SyntheticBoard {
+
+    static final int COLUMNS = 5;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private SyntheticBoard() {
+    }
+
+    static List<BoardColumn> columns(int cardCount) {
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User user = User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .fullName("User " + i)
+                    .build();
+            user.setId(new UUID(0, i));
+            users.add(user);
+        }
+
+        List<BoardColumn> columns = new ArrayList<>(COLUMNS);
+        for (int c = 0; c < COLUMNS; c++) {
+            BoardColumn column = BoardColumn.builder()
+                    .name("Column " + c)
+                    .color("#1f6feb")
+                    .position(c)
+                    .build();
+            column.setId(new UUID(1, c));
+            columns.add(column);
+        }
+
+        int perColumn = cardCount / COLUMNS;
+        for (BoardColumn column : columns) {
+            int count = column.getPosition() < cardCount % COLUMNS ? perColumn + 1 : perColumn;
+            List<String> ranks = RankKeys.spread(count);
+            for (int i = 0; i < count; i++) {
+                Card card = Card.builder()
+                        .title("Card " + column.getPosition() + "-" + i)
+                        .description(random.nextInt(3) == 0 ? null : "Description of card " + i + " with some text")
+                        .position(i)
+                        .rank(ranks.get(i))
+                        .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                        .dueDate(random.nextBoolean() ? LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)) : null)
+                        .completed(random.nextInt(4) == 0)
+                        .assignee(random.nextBoolean() ? users.get(random.nextInt(users.size())) : null)
+                        .boardColumn(column)
+                        .build();
+                card.setId(new UUID(2, (long) column.getPosition() << 32 | i));
+                column.getCards().add(card);
+            }
+        }
+        return columns;
+    }
+}
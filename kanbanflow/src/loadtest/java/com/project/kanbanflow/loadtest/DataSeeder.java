@@ -0,0 +1,244 @@
+package com.project.kanbanflow.loadtest;
+
+import com.project.kanbanflow.util.RankKeys;
+import com.project.kanbanflow.util.UuidV7;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes a synthetic workspace straight into the database with batched
+ * inserts. Sizes follow a Zipf distribution: a few projects hold most of the
+ * cards and a few users belong to most of the projects, as in real tenants.
+ */
+final class DataSeeder {
+
+    static final String USER_PREFIX = "loadtest-";
+    static final String PASSWORD = "loadtest-password";
+
+    static final String[] WORDS = {
+            "login", "invoice", "search", "export", "billing", "dashboard", "upload", "report",
+            "payment", "profile", "onboarding", "settings", "cache", "timeout", "migration", "webhook"};
+
+    private static final String[] VERBS = {"Fix", "Add", "Refactor", "Investigate", "Document", "Test"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final LoadTestConfig config;
+    private final Random random;
+    private final Instant now = Instant.now();
+
+    DataSeeder(LoadTestConfig config) {
+        this.config = config;
+        this.random = new Random(config.randomSeed());
+    }
+
+    void seed(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        long started = System.nanoTime();
+
+        List<UUID> users = seedUsers(connection);
+        Zipf userPopularity = new Zipf(users.size(), 1.0);
+        Zipf projectSize = new Zipf(config.projects(), 1.1);
+
+        try (Batch projects = new Batch(connection, "INSERT INTO projects " +
+                "(id, name, description, color, is_favorite, owner_id, is_deleted, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, false, ?, false, ?, ?)");
+             Batch members = new Batch(connection, "INSERT INTO project_members " +
+                     "(project_id, user_id, role, joined_at) VALUES (?, ?, ?, ?)");
+             Batch versions = new Batch(connection, "INSERT INTO board_versions (project_id, version) VALUES (?, 0)");
+             Batch columns = new Batch(connection, "INSERT INTO board_columns " +
+                     "(id, name, color, position, card_limit, project_id, is_deleted, created_at, updated_at) " +
+                     "VALUES (?, ?, '#1f6feb', ?, 0, ?, false, ?, ?)");
+             Batch cards = new Batch(connection, "INSERT INTO cards (id, title, description, position, rank_key, " +
+                     "priority, due_date, cover_color, is_completed, board_column_id, assignee_id, created_by, " +
+                     "is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, NULL, ?, ?, ?, ?, false, ?, ?)");
+             Batch comments = new Batch(connection, "INSERT INTO comments " +
+                     "(id, content, is_edited, card_id, user_id, is_deleted, created_at, updated_at) " +
+                     "VALUES (?, ?, false, ?, ?, false, ?, ?)");
+             Batch activities = new Batch(connection, "INSERT INTO activities " +
+                     "(id, project_id, user_id, action, entity_type, entity_id, details, is_deleted, created_at, updated_at) " +
+                     "VALUES (?, ?, ?, ?, 'CARD', ?, ?, false, ?, ?)")) {
+            // Parents before children, so foreign keys always find their rows
+            List<Batch> ordered = List.of(projects, members, versions, columns, cards, comments, activities);
+
+            for (int p = 0; p < config.projects(); p++) {
+                UUID projectId = UuidV7.next();
+                Timestamp created = timestamp(Duration.ofDays(365));
+                UUID owner = users.get(userPopularity.sample(random));
+                projects.add(projectId, "Project " + p, "Synthetic project " + p,
+                        String.format("#%06x", random.nextInt(0x1000000)), owner, created, created);
+                versions.add(projectId);
+
+                // Members come from the same skewed pool, so popular users are in many projects
+                Set<UUID> team = new LinkedHashSet<>();
+                team.add(owner);
+                int memberCount = 1 + random.nextInt(8);
+                while (team.size() < Math.min(memberCount + 1, users.size())) {
+                    UUID member = users.get(userPopularity.sample(random));
+                    if (team.add(member)) {
+                        members.add(projectId, member, random.nextInt(10) == 0 ? "ADMIN" : "EDITOR", created);
+                    }
+                }
+                List<UUID> teamList = List.copyOf(team);
+
+                int columnCount = 4 + random.nextInt(3);
+                List<UUID> columnIds = new ArrayList<>(columnCount);
+                for (int c = 0; c < columnCount; c++) {
+                    UUID columnId = UuidV7.next();
+                    columns.add(columnId, "Column " + c, c, projectId, created, created);
+                    columnIds.add(columnId);
+                }
+
+                int cardCount = Math.max(1, (int) Math.round(config.cards() * projectSize.weight(p)));
+                int[] perColumn = new int[columnCount];
+                for (int i = 0; i < cardCount; i++) {
+                    // Most cards pile up in the first and last columns
+                    int column = random.nextInt(3) == 0 ? random.nextInt(columnCount)
+                            : random.nextBoolean() ? 0 : columnCount - 1;
+                    perColumn[column]++;
+                }
+
+                List<UUID> cardIds = new ArrayList<>(cardCount);
+                for (int c = 0; c < columnCount; c++) {
+                    List<String> ranks = RankKeys.spread(perColumn[c]);
+                    for (int i = 0; i < perColumn[c]; i++) {
+                        UUID cardId = UuidV7.next();
+                        Timestamp cardCreated = timestamp(Duration.ofDays(180));
+                        cards.add(cardId, title(), random.nextInt(3) == 0 ? null : description(), i, ranks.get(i),
+                                PRIORITIES[random.nextInt(PRIORITIES.length)],
+                                random.nextBoolean() ? Date.valueOf(LocalDate.now().plusDays(random.nextInt(60) - 20)) : null,
+                                c == columnCount - 1, columnIds.get(c),
+                                random.nextInt(4) == 0 ? null : teamList.get(random.nextInt(teamList.size())),
+                                owner, cardCreated, cardCreated);
+                        cardIds.add(cardId);
+                        flushIfFull(ordered);
+
+                        int commentCount = random.nextInt(2 * config.commentsPerCard() + 1);
+                        for (int k = 0; k < commentCount; k++) {
+                            comments.add(UuidV7.next(), "Comment about " + WORDS[random.nextInt(WORDS.length)],
+                                    cardId, teamList.get(random.nextInt(teamList.size())), cardCreated, cardCreated);
+                        }
+                    }
+                }
+
+                int activityCount = (int) Math.round(config.activities() * projectSize.weight(p));
+                for (int i = 0; i < activityCount; i++) {
+                    String action = i % 3 == 0 ? "CREATED" : i % 3 == 1 ? "UPDATED" : "MOVED";
+                    Timestamp at = timestamp(Duration.ofDays(180));
+                    activities.add(UuidV7.next(), projectId, teamList.get(random.nextInt(teamList.size())), action,
+                            cardIds.get(random.nextInt(cardIds.size())), action.toLowerCase() + " a card", at, at);
+                    flushIfFull(ordered);
+                }
+                flushIfFull(ordered);
+            }
+            for (Batch batch : ordered) {
+                batch.flush();
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("Seeded %d users, %d projects, ~%d cards in %d s%n", users.size(), config.projects(),
+                config.cards(), Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private List<UUID> seedUsers(Connection connection) throws SQLException {
+        // Hashing is deliberately slow, every user shares one hash
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<UUID> users = new ArrayList<>(config.users());
+        try (Batch batch = new Batch(connection, "INSERT INTO users (id, username, email, password_hash, full_name, " +
+                "is_active, is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, true, false, ?, ?)")) {
+            String run = Long.toString(now.getEpochSecond(), 36);
+            for (int i = 0; i < config.users(); i++) {
+                UUID id = UuidV7.next();
+                Timestamp created = timestamp(Duration.ofDays(365));
+                String username = USER_PREFIX + run + "-" + i;
+                batch.add(id, username, username + "@example.com", hash, "Load Test User " + i, created, created);
+                users.add(id);
+                if (batch.full()) {
+                    batch.flush();
+                }
+            }
+            batch.flush();
+        }
+        return users;
+    }
+
+    private static void flushIfFull(List<Batch> batches) throws SQLException {
+        if (batches.stream().anyMatch(Batch::full)) {
+            for (Batch batch : batches) {
+                batch.flush();
+            }
+        }
+    }
+
+    private String title() {
+        return VERBS[random.nextInt(VERBS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String description() {
+        StringBuilder text = new StringBuilder();
+        int words = 5 + random.nextInt(40);
+        for (int i = 0; i < words; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    private Timestamp timestamp(Duration maxAge) {
+        return Timestamp.from(now.minusSeconds((long) (random.nextDouble() * maxAge.toSeconds())));
+    }
+
+    // With reWriteBatchedInserts each flush goes out as multi-row INSERTs
+    private static final class Batch implements AutoCloseable {
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            pending++;
+        }
+
+        boolean full() {
+            return pending >= BATCH_SIZE;
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.kanbanflow.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts. Latencies are kept in
+ * microseconds with three significant digits, enough for p999.
+ */
+final class LatencyRecorder {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(2).toNanos() / 1000;
+
+    private final Map<String, ConcurrentHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private long startedAt;
+    private long stoppedAt;
+
+    void start() {
+        latencies.clear();
+        errors.clear();
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        if (!recording) return;
+        latencies.computeIfAbsent(endpoint, name -> new ConcurrentHistogram(MAX_LATENCY_MICROS, 3))
+                .recordValue(Math.min(nanos / 1000, MAX_LATENCY_MICROS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+        }
+    }
+
+    void print() {
+        double seconds = (stoppedAt - startedAt) / 1e9;
+        System.out.printf("%n%-14s %9s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        new TreeMap<>(latencies).forEach((endpoint, histogram) -> System.out.printf(
+                "%-14s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errorCount(endpoint),
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0));
+    }
+
+    /**
+     * Prints throughput and tail latency of the same endpoints side by side,
+     * one column pair per run.
+     */
+    static void compare(Map<String, LatencyRecorder> runs) {
+        System.out.printf("%n%-14s", "endpoint");
+        runs.keySet().forEach(name -> System.out.printf(" %12s %12s", name + " req/s", name + " p99"));
+        System.out.println();
+
+        TreeMap<String, Boolean> endpoints = new TreeMap<>();
+        runs.values().forEach(run -> run.latencies.keySet().forEach(endpoint -> endpoints.put(endpoint, true)));
+        for (String endpoint : endpoints.keySet()) {
+            System.out.printf("%-14s", endpoint);
+            for (LatencyRecorder run : runs.values()) {
+                Histogram histogram = run.latencies.get(endpoint);
+                double seconds = (run.stoppedAt - run.startedAt) / 1e9;
+                System.out.printf(" %12.1f %12.2f", histogram != null ? histogram.getTotalCount() / seconds : 0,
+                        histogram != null ? millis(histogram, 99) : 0);
+            }
+            System.out.println();
+        }
+    }
+
+    // One object per endpoint, so two runs can be compared with any JSON tool
+    void write(Path file) throws IOException {
+        double seconds = (stoppedAt - startedAt) / 1e9;
+        StringJoiner json = new StringJoiner(",\n", "[\n", "\n]\n");
+        new TreeMap<>(latencies).forEach((endpoint, histogram) -> json.add(String.format(Locale.ROOT,
+                "  {\"endpoint\": \"%s\", \"requests\": %d, \"throughput\": %.2f, \"errors\": %d, " +
+                        "\"p50\": %.3f, \"p99\": %.3f, \"p999\": %.3f, \"max\": %.3f}",
+                endpoint, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errorCount(endpoint),
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0)));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, json.toString());
+    }
+
+    private long errorCount(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count != null ? count.sum() : 0;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,202 @@
+package com.project.kanbanflow.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.kanbanflow.KanbanflowApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds a synthetic workspace, starts the application against the same
+ * database unless {@code --base-url} points at a running one, and drives the
+ * {@link Operation} mix from closed-loop workers for a fixed duration. Prints
+ * p50/p99/p999 latency and throughput per endpoint and writes them as JSON.
+ * With {@code --thread-modes=platform,virtual} the run is repeated on a fresh
+ * application per request threading mode and the modes are compared.
+ * Everything runs locally; the only requirement is a PostgreSQL server.
+ */
+public final class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpClient client;
+    private String baseUrl;
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestConfig.parse(args)).run();
+    }
+
+    private record Session(String token, List<Workspace.Board> boards) {
+    }
+
+    private void run() throws Exception {
+        if (config.baseUrl() != null) {
+            runOnce(null, config.seed());
+            return;
+        }
+
+        // Each mode gets a fresh application on the same data, so only the threading differs
+        Map<String, LatencyRecorder> results = new LinkedHashMap<>();
+        boolean seed = config.seed();
+        for (String mode : config.threadModes()) {
+            results.put(mode, runOnce(mode, seed));
+            seed = false;
+        }
+        if (results.size() > 1) {
+            LatencyRecorder.compare(results);
+        }
+    }
+
+    private LatencyRecorder runOnce(String threadMode, boolean seed) throws Exception {
+        ConfigurableApplicationContext application = null;
+        baseUrl = config.baseUrl();
+        if (baseUrl == null) {
+            // Starting the app first lets Flyway create the schema the seeder writes to
+            application = startApplication(threadMode);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        running = true;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Workspace workspace;
+            try (Connection connection = DriverManager.getConnection(
+                    config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword())) {
+                if (seed) {
+                    new DataSeeder(config).seed(connection);
+                }
+                workspace = Workspace.load(connection);
+            }
+            if (workspace.usernames().isEmpty()) {
+                throw new IllegalStateException("No seeded users found, run once with --seed=true");
+            }
+
+            List<Session> sessions = login(workspace, executor);
+            System.out.printf("Running %d workers against %s%s: %s warmup, %s measured%n",
+                    config.workers(), baseUrl, threadMode != null ? " on " + threadMode + " threads" : "",
+                    config.warmup(), config.duration());
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < config.workers(); i++) {
+                Session session = sessions.get(i % sessions.size());
+                SplittableRandom random = new SplittableRandom(config.randomSeed() + i);
+                workers.add(executor.submit(() -> work(session, random, recorder)));
+            }
+
+            Thread.sleep(config.warmup());
+            recorder.start();
+            Thread.sleep(config.duration());
+            recorder.stop();
+            running = false;
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+
+        recorder.print();
+        Path file = Path.of(threadMode == null ? config.resultsFile()
+                : config.resultsFile().replaceFirst("(\\.json)?$", "-" + threadMode + ".json"));
+        recorder.write(file);
+        System.out.println("Results written to " + file);
+        return recorder;
+    }
+
+    private ConfigurableApplicationContext startApplication(String threadMode) {
+        return SpringApplication.run(KanbanflowApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                "--spring.datasource.url=" + config.jdbcUrl(),
+                "--spring.datasource.username=" + config.jdbcUser(),
+                "--spring.datasource.password=" + config.jdbcPassword(),
+                "--kanbanflow.archive.enabled=false");
+    }
+
+    private List<Session> login(Workspace workspace, ExecutorService executor) throws Exception {
+        List<Future<Session>> logins = new ArrayList<>();
+        int count = Math.min(config.workers(), workspace.usernames().size());
+        for (int i = 0; i < count; i++) {
+            String username = workspace.usernames().get(i);
+            logins.add(executor.submit(() -> new Session(
+                    login(username), workspace.boardsByUser().get(username))));
+        }
+
+        List<Session> sessions = new ArrayList<>(count);
+        for (Future<Session> login : logins) {
+            sessions.add(login.get());
+        }
+        return sessions;
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", DataSeeder.PASSWORD));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .timeout(REQUEST_TIMEOUT)
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private void work(Session session, SplittableRandom random, LatencyRecorder recorder) {
+        while (running) {
+            // Users spend most of their time on their first few boards
+            int index = Math.min(random.nextInt(session.boards().size()), random.nextInt(session.boards().size()));
+            Workspace.Board board = session.boards().get(index);
+            Operation operation = Operation.next(random);
+            HttpRequest request = operation.request(baseUrl, board, random)
+                    .header("Authorization", "Bearer " + session.token())
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+
+            long started = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorder.record(operation.name().toLowerCase(), System.nanoTime() - started, success);
+        }
+    }
+}
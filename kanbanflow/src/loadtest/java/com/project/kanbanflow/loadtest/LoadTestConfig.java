@@ -0,0 +1,62 @@
+package com.project.kanbanflow.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code --key=value} arguments or
+ * {@code kanbanflow.loadtest.<key>} system properties.
+ */
+record LoadTestConfig(
+        String baseUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        boolean seed,
+        int users,
+        int projects,
+        int cards,
+        int commentsPerCard,
+        int activities,
+        int workers,
+        Duration warmup,
+        Duration duration,
+        long randomSeed,
+        String resultsFile,
+        List<String> threadModes) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith("kanbanflow.loadtest.")) {
+                values.put(key.toString().substring("kanbanflow.loadtest.".length()), value.toString());
+            }
+        });
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return new LoadTestConfig(
+                values.get("base-url"),
+                values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/kanbanflow_loadtest"),
+                values.getOrDefault("jdbc-user", "postgres"),
+                values.getOrDefault("jdbc-password", "123"),
+                Boolean.parseBoolean(values.getOrDefault("seed", "true")),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("projects", "200")),
+                Integer.parseInt(values.getOrDefault("cards", "100000")),
+                Integer.parseInt(values.getOrDefault("comments-per-card", "2")),
+                Integer.parseInt(values.getOrDefault("activities", "200000")),
+                Integer.parseInt(values.getOrDefault("workers", "64")),
+                Duration.parse("PT" + values.getOrDefault("warmup", "30s")),
+                Duration.parse("PT" + values.getOrDefault("duration", "2m")),
+                Long.parseLong(values.getOrDefault("random-seed", "42")),
+                values.getOrDefault("results-file", "build/results/loadtest/results.json"),
+                List.of(values.getOrDefault("thread-modes", "platform").split(",")));
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.kanbanflow.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * The mixed workload: what one simulated user does next, weighted roughly
+ * like production traffic, where most requests are board reads.
+ */
+enum Operation {
+
+    BOARD(45) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Workspace.Board board, RandomGenerator random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/projects/" + board.projectId() + "/columns"));
+        }
+    },
+    DRAG(25) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Workspace.Board board, RandomGenerator random) {
+            UUID cardId = pick(board.cardIds(), random);
+            UUID columnId = pick(board.columnIds(), random);
+            String body = String.format("{\"columnId\":\"%s\",\"position\":%d}", columnId, random.nextInt(10));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/cards/" + cardId + "/move"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    SEARCH(15) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Workspace.Board board, RandomGenerator random) {
+            String query = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/search/projects/" + board.projectId() +
+                    "?q=" + query + "&size=20"));
+        }
+    },
+    ACTIVITY_FEED(10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Workspace.Board board, RandomGenerator random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/projects/" + board.projectId() +
+                    "/activities/feed?size=20"));
+        }
+    },
+    EXPORT(5) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Workspace.Board board, RandomGenerator random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/export/projects/" + board.projectId() + "/csv"));
+        }
+    };
+
+    private static final Operation[] VALUES = values();
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, Workspace.Board board, RandomGenerator random);
+
+    static Operation next(RandomGenerator random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : VALUES) {
+            roll -= operation.weight;
+            if (roll < 0) return operation;
+        }
+        return BOARD;
+    }
+
+    private static <T> T pick(List<T> items, RandomGenerator random) {
+        return items.get(random.nextInt(items.size()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.kanbanflow.loadtest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The seeded users and the projects, columns and cards each of them can
+ * edit, read back from the database so a run can reuse an earlier seed.
+ */
+record Workspace(List<String> usernames, Map<String, List<Board>> boardsByUser) {
+
+    record Board(UUID projectId, List<UUID> columnIds, List<UUID> cardIds) {
+    }
+
+    static Workspace load(Connection connection) throws SQLException {
+        Map<UUID, Board> boards = new LinkedHashMap<>();
+        Map<UUID, UUID> projectByColumn = new HashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT bc.id, bc.project_id FROM board_columns bc " +
+                    "JOIN projects p ON p.id = bc.project_id JOIN users u ON u.id = p.owner_id " +
+                    "WHERE NOT bc.is_deleted AND NOT p.is_deleted AND u.username LIKE '" + DataSeeder.USER_PREFIX + "%' " +
+                    "ORDER BY bc.project_id, bc.position")) {
+                while (rs.next()) {
+                    UUID columnId = rs.getObject(1, UUID.class);
+                    UUID projectId = rs.getObject(2, UUID.class);
+                    boards.computeIfAbsent(projectId, id -> new Board(id, new ArrayList<>(), new ArrayList<>()))
+                            .columnIds().add(columnId);
+                    projectByColumn.put(columnId, projectId);
+                }
+            }
+
+            statement.setFetchSize(10_000);
+            connection.setAutoCommit(false);
+            try (ResultSet rs = statement.executeQuery("SELECT id, board_column_id FROM cards WHERE NOT is_deleted")) {
+                while (rs.next()) {
+                    UUID projectId = projectByColumn.get(rs.getObject(2, UUID.class));
+                    if (projectId != null) {
+                        boards.get(projectId).cardIds().add(rs.getObject(1, UUID.class));
+                    }
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            Map<String, List<Board>> boardsByUser = new LinkedHashMap<>();
+            try (ResultSet rs = statement.executeQuery("SELECT u.username, p.id FROM users u " +
+                    "JOIN projects p ON p.owner_id = u.id WHERE u.username LIKE '" + DataSeeder.USER_PREFIX + "%' " +
+                    "UNION ALL SELECT u.username, pm.project_id FROM users u " +
+                    "JOIN project_members pm ON pm.user_id = u.id " +
+                    "WHERE u.username LIKE '" + DataSeeder.USER_PREFIX + "%' AND pm.role <> 'VIEWER'")) {
+                while (rs.next()) {
+                    Board board = boards.get(rs.getObject(2, UUID.class));
+                    if (board != null && !board.cardIds().isEmpty()) {
+                        boardsByUser.computeIfAbsent(rs.getString(1), name -> new ArrayList<>()).add(board);
+                    }
+                }
+            }
+            return new Workspace(List.copyOf(boardsByUser.keySet()), boardsByUser);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.kanbanflow.config;
+
+import com.project.kanbanflow.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent controller calls at a multiple of the connection pool
+ * size. On platform threads Tomcat's pool was the cap; virtual threads have
+ * none, and thousands of them queueing inside Hikari only end in connection
+ * timeouts. A request past the cap waits up to {@code maxWait} for a slot and
+ * is then turned away with 429.
+ */
+public class ConnectionPoolLimiter implements AsyncHandlerInterceptor {
+
+    /**
+     * Marks a handler whose streamed body reads from the database on the
+     * async thread, so its request keeps the slot until the stream ends.
+     */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface StreamsFromDatabase {
+    }
+
+    private static final String PERMIT = ConnectionPoolLimiter.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Timer waits;
+    private final Counter rejected;
+
+    public ConnectionPoolLimiter(int limit, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(limit, true);
+        this.maxWait = maxWait;
+        this.waits = meterRegistry.timer("request.limiter.wait");
+        this.rejected = meterRegistry.counter("request.limiter.rejected");
+        Gauge.builder("request.limiter.active", permits, p -> limit - p.availablePermits()).register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) return true;
+        // The async dispatch of a stream that kept its slot
+        if (request.getAttribute(PERMIT) != null) return true;
+
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejected.increment();
+            throw new TooManyRequestsException("Server is busy, please retry shortly");
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    // Other async handlers, e.g. event streams and file downloads, hold no connection while they
+    // wait, and their async dispatch takes a new slot
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(StreamsFromDatabase.class)) {
+            release(request);
+        }
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            permits.release();
+        }
+    }
+}
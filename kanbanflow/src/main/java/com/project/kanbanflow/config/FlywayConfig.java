@@ -0,0 +1,68 @@
+package com.project.kanbanflow.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the migrations and then refuses to start when an index the hot queries
+ * rely on is missing or was left invalid by an interrupted concurrent build.
+ * Column and table drift is caught right after by {@code ddl-auto: validate}.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    // Created by V3__performance_indexes.sql
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_cards_column_rank",
+            "idx_cards_column_position",
+            "idx_board_columns_project_position",
+            "idx_cards_assignee_created",
+            "idx_cards_search_vector",
+            "idx_comments_card_created",
+            "idx_activities_project_created",
+            "idx_activities_entity_created",
+            "idx_projects_owner",
+            "idx_project_members_user",
+            "idx_board_changes_project_version");
+
+    @Bean
+    public FlywayMigrationStrategy verifyingMigrationStrategy() {
+        return flyway -> {
+            flyway.migrate();
+            verifyIndexes(new JdbcTemplate(flyway.getConfiguration().getDataSource()));
+        };
+    }
+
+    static void verifyIndexes(JdbcTemplate jdbcTemplate) {
+        Map<String, Boolean> valid = new HashMap<>();
+        jdbcTemplate.query("SELECT c.relname, i.indisvalid FROM pg_index i " +
+                        "JOIN pg_class c ON c.oid = i.indexrelid " +
+                        "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE n.nspname = current_schema()",
+                rs -> {
+                    valid.put(rs.getString(1), rs.getBoolean(2));
+                });
+
+        Set<String> broken = new LinkedHashSet<>();
+        for (String index : REQUIRED_INDEXES) {
+            if (!valid.getOrDefault(index, false)) {
+                broken.add(index);
+            }
+        }
+        if (!broken.isEmpty()) {
+            // Invalid ones have to be dropped before the statements in V3 can rebuild them
+            throw new IllegalStateException("Schema drift, missing or invalid indexes: " + broken);
+        }
+        log.info("Verified {} performance indexes", REQUIRED_INDEXES.size());
+    }
+}
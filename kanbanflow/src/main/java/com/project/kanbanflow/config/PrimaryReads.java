@@ -0,0 +1,48 @@
+package com.project.kanbanflow.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs lookups whose results are cached against the primary. With a replica
+ * configured, read-only transactions may be served from it up to the allowed
+ * lag, and a cache filled from there would keep the lagging state long after
+ * the replica caught up, e.g. a membership that was just removed.
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate primary;
+    private final boolean replicaConfigured;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager,
+                        @Value("${kanbanflow.datasource.replica.url:}") String replicaUrl) {
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicaConfigured = StringUtils.hasText(replicaUrl);
+    }
+
+    public <T> T get(Supplier<T> lookup) {
+        boolean onPrimary = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!replicaConfigured || onPrimary) {
+            return lookup.get();
+        }
+        // A read-write transaction of its own, which the routing always sends to the primary
+        return primary.execute(status -> lookup.get());
+    }
+
+    public void run(Runnable lookup) {
+        get(() -> {
+            lookup.run();
+            return null;
+        });
+    }
+}
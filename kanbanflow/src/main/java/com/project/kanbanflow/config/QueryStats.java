@@ -0,0 +1,69 @@
+package com.project.kanbanflow.config;
+
+import lombok.Getter;
+
+/**
+ * JDBC and Hibernate work done by the request on the current thread. Filled
+ * by the datasource proxy and the post-load listener, read back once the
+ * handler has finished.
+ */
+@Getter
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private final long startedAt = System.nanoTime();
+    private long statements;
+    private long rows;
+    private long entities;
+    private long dbNanos;
+    private long statementStartedAt;
+    private long bodyWriteStartedAt;
+
+    private QueryStats(String handler) {
+        this.handler = handler;
+    }
+
+    static QueryStats start(String handler) {
+        QueryStats stats = new QueryStats(handler);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementFinished() {
+        statements++;
+        dbNanos += System.nanoTime() - statementStartedAt;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    void bodyWriteStarted() {
+        if (bodyWriteStartedAt == 0) {
+            bodyWriteStartedAt = System.nanoTime();
+        }
+    }
+
+    String header() {
+        return String.format("statements=%d, rows=%d, entities=%d, db-ms=%.1f",
+                statements, rows, entities, dbNanos / 1e6);
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.kanbanflow.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks where the handler ends and serialization begins, and adds the debug
+ * header while the response can still take headers.
+ */
+@ControllerAdvice
+public class QueryStatsAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryStatsInterceptor interceptor;
+
+    public QueryStatsAdvice(QueryStatsInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.bodyWriteStarted();
+            if (response instanceof ServletServerHttpResponse servletResponse) {
+                HttpServletResponse servlet = servletResponse.getServletResponse();
+                interceptor.writeHeader(servlet);
+            }
+        }
+        return body;
+    }
+}
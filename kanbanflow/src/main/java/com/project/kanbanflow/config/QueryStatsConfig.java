@@ -0,0 +1,105 @@
+package com.project.kanbanflow.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Counts the statements, fetched rows and loaded entities of every request
+ * and the time it spends in the database. The counts are published per
+ * controller method by {@link QueryStatsInterceptor}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "kanbanflow.query-stats.enabled", matchIfMissing = true)
+public class QueryStatsConfig implements WebMvcConfigurer {
+
+    private final QueryStatsInterceptor interceptor;
+
+    public QueryStatsConfig(QueryStatsInterceptor interceptor, EntityManagerFactory entityManagerFactory) {
+        this.interceptor = interceptor;
+        // Every entity Hibernate hydrates, whether from a query, a lazy load or the cache
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+                    QueryStats stats = QueryStats.current();
+                    if (stats != null) stats.entityLoaded();
+                });
+    }
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(statementListener())
+                            .proxyResultSet()
+                            .methodListener(rowListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+
+    private static QueryExecutionListener statementListener() {
+        return new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                QueryStats stats = QueryStats.current();
+                if (stats != null) stats.statementStarted();
+            }
+
+            // A batch counts as one statement, it is one round trip
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                QueryStats stats = QueryStats.current();
+                if (stats != null) stats.statementFinished();
+            }
+        };
+    }
+
+    private static MethodExecutionListener rowListener() {
+        return new MethodExecutionListener() {
+            @Override
+            public void beforeMethod(MethodExecutionContext context) {
+            }
+
+            @Override
+            public void afterMethod(MethodExecutionContext context) {
+                if (context.getTarget() instanceof ResultSet && "next".equals(context.getMethod().getName())
+                        && Boolean.TRUE.equals(context.getResult())) {
+                    QueryStats stats = QueryStats.current();
+                    if (stats != null) stats.rowFetched();
+                }
+            }
+        };
+    }
+}
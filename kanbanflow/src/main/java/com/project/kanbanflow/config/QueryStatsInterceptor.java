@@ -0,0 +1,101 @@
+package com.project.kanbanflow.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link QueryStats} for each controller call and publishes it when
+ * the request completes, tagged with the controller method, e.g.
+ * {@code BoardController.getProjectColumns}. With
+ * {@code kanbanflow.query-stats.header} on, the counts are also returned in
+ * the {@value #HEADER} header so tests can assert on them.
+ */
+@Component
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String HEADER = "X-Query-Stats";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kanbanflow.query-stats.header:false}")
+    private boolean header;
+
+    public QueryStatsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryStats.start(method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return true;
+    }
+
+    // Bodyless responses never reach the response body advice
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        writeHeader(response);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        publish();
+    }
+
+    // Streaming and SSE responses finish on another thread, only the handler's own work is counted
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        publish();
+    }
+
+    void writeHeader(HttpServletResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (header && stats != null && !response.isCommitted() && !response.containsHeader(HEADER)) {
+            response.setHeader(HEADER, stats.header());
+        }
+    }
+
+    private void publish() {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) return;
+        QueryStats.clear();
+
+        String handler = stats.getHandler();
+        summary("request.statements", handler).record(stats.getStatements());
+        summary("request.rows", handler).record(stats.getRows());
+        summary("request.entities", handler).record(stats.getEntities());
+        timer("request.db", handler).record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        if (stats.getBodyWriteStartedAt() != 0) {
+            timer("request.serialization", handler)
+                    .record(System.nanoTime() - stats.getBodyWriteStartedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private DistributionSummary summary(String name, String handler) {
+        return DistributionSummary.builder(name)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer timer(String name, String handler) {
+        return Timer.builder(name)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.kanbanflow.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps read-only transactions from putting entities into the second-level
+ * cache while a replica is configured. They may have read them from the
+ * replica, and the cache would keep that state after the replica caught up.
+ * They still read from the cache, and writes keep invalidating it.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            setCacheStoreMode(CacheStoreMode.BYPASS);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        super.doCleanupAfterCompletion(transaction);
+        // An open-in-view session outlives the transaction
+        setCacheStoreMode(CacheStoreMode.USE);
+    }
+
+    // The JPA property rather than the session cache mode, since find() only looks at this one
+    private void setCacheStoreMode(CacheStoreMode storeMode) {
+        if (TransactionSynchronizationManager.getResource(obtainEntityManagerFactory()) instanceof EntityManagerHolder holder) {
+            EntityManager entityManager = holder.getEntityManager();
+            if (entityManager.isOpen()) {
+                entityManager.setProperty("jakarta.persistence.cache.storeMode", storeMode);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.kanbanflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Adds a streaming replica for read-only transactions when
+ * {@code kanbanflow.datasource.replica.url} is set. Both pools take their
+ * settings from {@code spring.datasource.hikari}; only the routing proxy is a
+ * {@code DataSource} bean, so Flyway, JPA and the query statistics all see a
+ * single data source that writes to the primary. Caches are only filled from
+ * the primary, see {@link PrimaryReads} and {@link ReplicaAwareTransactionManager}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "kanbanflow.datasource.replica.url")
+@Slf4j
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicaDataSourceConfig(DataSourceProperties properties,
+                                   Environment environment,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${kanbanflow.datasource.replica.url}") String replicaUrl,
+                                   @Value("${kanbanflow.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                   @Value("${kanbanflow.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        this.primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        primary.setPoolName("primary");
+        primary.setMetricRegistry(meterRegistry);
+        replica.setPoolName("replica");
+        replica.setMetricRegistry(meterRegistry);
+        replica.setReadOnly(true);
+        log.info("Routing read-only transactions to replica {}", replicaUrl);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${kanbanflow.datasource.replica.lag-query:" + ReplicaLagMonitor.POSTGRES_LAG_QUERY + "}") String lagQuery,
+            @Value("${kanbanflow.datasource.replica.max-lag:1s}") Duration maxLag) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, primary.isAutoCommit());
+    }
+
+    @Bean
+    public ReplicaAwareTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        ReplicaAwareTransactionManager transactionManager = new ReplicaAwareTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    // Runs after the beans above are gone, since they depend on this configuration
+    @Override
+    public void destroy() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.kanbanflow.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls how far the replica is behind the primary and decides whether
+ * read-only transactions may use it. A replica that lags more than the
+ * allowed maximum, or cannot be reached, is skipped until it catches up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Zero while the replica has replayed everything it received, NULL on a server that is not a standby
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() " +
+            "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${kanbanflow.datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        try {
+            Double lag = jdbcTemplate.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+        } catch (DataAccessException e) {
+            log.debug("Replica lag check failed", e);
+            lagSeconds = Double.NaN;
+        }
+
+        boolean nowUsable = !Double.isNaN(lagSeconds) && lagSeconds * 1000 <= maxLag.toMillis();
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Replica caught up, routing read-only transactions to it");
+            } else {
+                log.warn("Replica is {} behind the allowed {}, routing read-only transactions to the primary",
+                        Double.isNaN(lagSeconds) ? "unreachable or" : lagSeconds + "s", maxLag);
+            }
+        }
+        usable = nowUsable;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.kanbanflow.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Hands out connections to the primary, except inside read-only transactions
+ * while the replica is within its allowed lag. The physical connection is only
+ * fetched at the first statement, after the transaction manager has marked it
+ * read-only, which is what lets the choice be made per transaction.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    boolean defaultAutoCommit) {
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return lagMonitor.isUsable() ? Target.REPLICA : Target.PRIMARY;
+            }
+        };
+        readOnly.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        readOnly.afterPropertiesSet();
+
+        setTargetDataSource(primary);
+        setReadOnlyDataSource(readOnly);
+        // Known up front, so creating the proxy does not have to borrow a connection to find out
+        setDefaultAutoCommit(defaultAutoCommit);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+    }
+}
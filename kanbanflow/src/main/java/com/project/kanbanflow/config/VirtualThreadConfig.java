@@ -0,0 +1,54 @@
+package com.project.kanbanflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}, where Spring Boot
+ * runs Tomcat requests, async work and scheduling on virtual threads: a cap on
+ * concurrent requests derived from the connection pool, and pinning
+ * diagnostics.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final ConnectionPoolLimiter limiter;
+
+    public VirtualThreadConfig(DataSource dataSource,
+                               MeterRegistry meterRegistry,
+                               @Value("${kanbanflow.virtual-threads.requests-per-connection:2}") int requestsPerConnection,
+                               @Value("${kanbanflow.virtual-threads.max-wait:2s}") Duration maxWait) throws SQLException {
+        int poolSize = dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                : 10;
+        int limit = poolSize * requestsPerConnection;
+        log.info("Virtual threads enabled, limiting concurrent requests to {} for {} connections", limit, poolSize);
+        this.limiter = new ConnectionPoolLimiter(limit, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${kanbanflow.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(limiter);
+    }
+}
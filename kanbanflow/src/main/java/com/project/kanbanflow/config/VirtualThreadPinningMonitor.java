@@ -0,0 +1,115 @@
+package com.project.kanbanflow.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports where virtual threads get pinned to their carrier thread, usually
+ * by blocking inside {@code synchronized}, from the JDK's
+ * {@code jdk.VirtualThreadPinned} event. Sites are keyed by the first frame
+ * of our own code, or the first library frame when ours is not on the stack,
+ * and served at {@code /actuator/pinning} and as the
+ * {@code virtual.threads.pinned} timer.
+ */
+@Endpoint(id = "pinning")
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String OWN_PACKAGE = "com.project.kanbanflow.";
+    private static final int REPORTED_FRAMES = 8;
+
+    public record PinningSite(String site, long count, double totalMillis, double maxMillis, List<String> stack) {
+    }
+
+    private static final class Site {
+        private final List<String> stack;
+        private final Timer timer;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Site(List<String> stack, Timer timer) {
+            this.stack = stack;
+            this.timer = timer;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @ReadOperation
+    public List<PinningSite> report() {
+        return sites.entrySet().stream()
+                .map(entry -> new PinningSite(entry.getKey(), entry.getValue().count.get(),
+                        entry.getValue().totalNanos.get() / 1e6, entry.getValue().maxNanos.get() / 1e6,
+                        entry.getValue().stack))
+                .sorted(Comparator.comparingDouble(PinningSite::totalMillis).reversed())
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        if (event.getStackTrace() == null) return;
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String site = site(frames);
+        long nanos = event.getDuration().toNanos();
+
+        Site stats = sites.computeIfAbsent(site, key -> {
+            List<String> stack = frames.stream().limit(REPORTED_FRAMES).map(VirtualThreadPinningMonitor::format)
+                    .collect(Collectors.toList());
+            log.warn("Virtual thread pinned for {} ms at {}:\n  {}", nanos / 1_000_000, key,
+                    String.join("\n  ", stack));
+            return new Site(stack, Timer.builder("virtual.threads.pinned").tag("site", key).register(meterRegistry));
+        });
+        stats.count.incrementAndGet();
+        stats.totalNanos.addAndGet(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.timer.record(event.getDuration());
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        RecordedFrame library = null;
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(OWN_PACKAGE)) return format(frame);
+            if (library == null && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                library = frame;
+            }
+        }
+        if (library != null) return format(library);
+        return frames.isEmpty() ? "unknown" : format(frames.getFirst());
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.kanbanflow.controller;
 
 import com.project.kanbanflow.dtos.ActivityDto;
+import com.project.kanbanflow.dtos.CursorPageDto;
 import com.project.kanbanflow.entity.Activity;
 import com.project.kanbanflow.mapper.ActivityMapper;
 import com.project.kanbanflow.service.ActivityService;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -37,6 +39,19 @@ public class ActivityController {
         return ResponseEntity.ok(activities.map(activityMapper::toDto));
     }
 
+    @GetMapping("/projects/{projectId}/activities/feed")
+    @Operation(summary = "Get project activities by cursor")
+    public ResponseEntity<CursorPageDto<ActivityDto>> getProjectFeed(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<Activity> page = activityService.getProjectFeed(projectId, cursor, size);
+        return ResponseEntity.ok(CursorPageDto.<ActivityDto>builder()
+                .items(activityMapper.toDtoList(page.getItems()))
+                .nextCursor(page.getNextCursor())
+                .build());
+    }
+
     @GetMapping("/cards/{cardId}/activities")
     @Operation(summary = "Get card activities")
     public ResponseEntity<List<ActivityDto>> getCardActivities(@PathVariable UUID cardId) {
@@ -0,0 +1,32 @@
+package com.project.kanbanflow.controller;
+
+import com.project.kanbanflow.entity.enums.ArchiveRoot;
+import com.project.kanbanflow.service.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@Tag(name = "Archive", description = "Archived item APIs")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Restore an archived project, column, card or comment")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void restore(@PathVariable UUID id, @RequestParam ArchiveRoot type) {
+        archiveService.restore(type, id);
+    }
+}
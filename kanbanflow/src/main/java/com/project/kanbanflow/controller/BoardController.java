@@ -4,22 +4,25 @@ import com.project.kanbanflow.dtos.*;
 import com.project.kanbanflow.entity.*;
 import com.project.kanbanflow.mapper.BoardMapper;
 import com.project.kanbanflow.mapper.CardMapper;
-import com.project.kanbanflow.repository.ProjectMemberRepository;
 import com.project.kanbanflow.service.BoardService;
+import com.project.kanbanflow.service.BulkCardService;
 import com.project.kanbanflow.service.CardService;
+import com.project.kanbanflow.service.ProjectAccess;
 import com.project.kanbanflow.service.ProjectService;
-import com.project.kanbanflow.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -28,26 +31,51 @@ import java.util.UUID;
 @Tag(name = "Board", description = "Kanban board management APIs")
 public class BoardController {
 
+    // Clients may keep the board but must revalidate it with If-None-Match
+    private static final CacheControl BOARD_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final BoardService boardService;
     private final BoardMapper boardMapper;
     private final CardMapper cardMapper;
     private final ProjectService projectService;
-    private final UserService userService;
-    private final ProjectMemberRepository memberRepository;
     private final CardService cardService;
+    private final BulkCardService bulkCardService;
 
 
     @GetMapping("/projects/{projectId}/columns")
     @Operation(summary = "Get all columns of a project")
-    public ResponseEntity<List<BoardColumnDto>> getProjectColumns(@PathVariable UUID projectId) {
-        List<BoardColumn> columns = boardService.getProjectColumns(projectId);
-        return ResponseEntity.ok(columns.stream()
-                .map(boardMapper::toDto)
-                .toList());
+    public ResponseEntity<byte[]> getProjectColumns(@PathVariable UUID projectId, WebRequest webRequest) {
+        String etag = boardService.getBoardEtag(projectId);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(BOARD_CACHE_CONTROL)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(BOARD_CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(boardService.getBoardSnapshot(projectId, etag));
+    }
+
+    @GetMapping("/projects/{projectId}/changes")
+    @Operation(summary = "Get board changes since a version")
+    public ResponseEntity<BoardChangesDto> getBoardChanges(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(boardService.getBoardChanges(projectId, since));
+    }
+
+    @GetMapping(value = "/projects/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to live board changes")
+    public SseEmitter subscribeToBoard(@PathVariable UUID projectId) {
+        return boardService.subscribe(projectId);
     }
 
     @PostMapping("/projects/{projectId}/columns")
-    @PreAuthorize("@projectService.canUserEditProject(#projectId, authentication.principal.id)")
+    @PreAuthorize("@projectService.canUserEditProject(#projectId, @userService.getCurrentUserId())")
     @Operation(summary = "Create new column")
     public ResponseEntity<BoardColumnDto> createColumn(
             @PathVariable UUID projectId,
@@ -59,22 +87,12 @@ public class BoardController {
     @GetMapping("/projects/{projectId}/my-role")
     @Operation(summary = "Get current user's role in project")
     public ResponseEntity<String> getMyProjectRole(@PathVariable UUID projectId) {
-        User currentUser = userService.getCurrentUser();
-        Project project = projectService.getProject(projectId);
-
-        if (project.getOwner().getId().equals(currentUser.getId())) {
-            return ResponseEntity.ok("OWNER");
-        }
-
-        Optional<ProjectMember> member = memberRepository
-                .findByProjectIdAndUserId(projectId, currentUser.getId());
-
-        return member.map(projectMember -> ResponseEntity.ok(projectMember.getRole().name())).orElseGet(() -> ResponseEntity.ok("VIEWER"));
-
+        ProjectAccess access = projectService.checkAccess(projectId);
+        return ResponseEntity.ok(access.name());
     }
 
     @PutMapping("/columns/{columnId}")
-    @PreAuthorize("@boardService.canUserEditColumn(#columnId, authentication.principal.id)")
+    @PreAuthorize("@boardService.canUserEditColumn(#columnId, @userService.getCurrentUserId())")
     @Operation(summary = "Update column")
     public ResponseEntity<BoardColumnDto> updateColumn(
             @PathVariable UUID columnId,
@@ -157,4 +175,12 @@ public class BoardController {
         Card card = cardService.assignCard(cardId, request.getUserId());
         return ResponseEntity.ok(cardMapper.toDto(card));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/projects/{projectId}/cards/bulk")
+    @Operation(summary = "Apply several card operations in one transaction")
+    public ResponseEntity<List<BulkCardResultDto>> bulkCards(
+            @PathVariable UUID projectId,
+            @Valid @RequestBody BulkCardRequest request) {
+        return ResponseEntity.ok(bulkCardService.apply(projectId, request.getOperations()));
+    }
+}
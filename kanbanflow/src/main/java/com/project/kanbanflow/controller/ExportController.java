@@ -1,20 +1,29 @@
 package com.project.kanbanflow.controller;
 
-import com.project.kanbanflow.dtos.ProjectExportDto;
+import com.project.kanbanflow.config.ConnectionPoolLimiter;
+import com.project.kanbanflow.dtos.ExportJobDto;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.service.ExportFormat;
+import com.project.kanbanflow.service.ExportJobService;
 import com.project.kanbanflow.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,24 +33,87 @@ import java.util.UUID;
 public class ExportController {
 
     private final ExportService exportService;
+    private final ExportJobService exportJobService;
 
     @GetMapping("/projects/{projectId}/csv")
     @Operation(summary = "Export project to CSV")
-    public ResponseEntity<Resource> exportProjectToCSV(@PathVariable UUID projectId) {
-        byte[] csvData = exportService.exportProjectToCSV(projectId);
-
-        ByteArrayResource resource = new ByteArrayResource(csvData);
+    @ConnectionPoolLimiter.StreamsFromDatabase
+    public ResponseEntity<StreamingResponseBody> exportProjectToCSV(@PathVariable UUID projectId) {
+        exportService.getExportableProject(projectId);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=project-export.csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .contentLength(csvData.length)
-                .body(resource);
+                .body(out -> exportService.writeProjectCsv(projectId, out));
     }
 
     @GetMapping("/projects/{projectId}/json")
     @Operation(summary = "Export project to JSON")
-    public ResponseEntity<ProjectExportDto> exportProjectToJSON(@PathVariable UUID projectId) {
-        return ResponseEntity.ok(exportService.exportProjectToJSON(projectId));
+    @ConnectionPoolLimiter.StreamsFromDatabase
+    public ResponseEntity<StreamingResponseBody> exportProjectToJSON(@PathVariable UUID projectId) {
+        Project project = exportService.getExportableProject(projectId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> exportService.writeProjectJson(project, out));
+    }
+
+    @PostMapping("/projects/{projectId}/jobs")
+    @Operation(summary = "Start a background export")
+    public ResponseEntity<ExportJobDto> submitExportJob(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit(projectId, format));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get export job progress")
+    public ResponseEntity<ExportJobDto> getExportJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    @Operation(summary = "Download a finished export")
+    public ResponseEntity<StreamingResponseBody> downloadExport(
+            @PathVariable UUID jobId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader) {
+        ExportJobService.Artifact artifact = exportJobService.getArtifact(jobId);
+        String filename = "project-export." + artifact.format().getExtension();
+
+        // A single byte range lets interrupted downloads resume
+        if (rangeHeader != null) {
+            long start;
+            long end;
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    throw new IllegalArgumentException("Only a single range is supported");
+                }
+                start = ranges.getFirst().getRangeStart(artifact.size());
+                end = ranges.getFirst().getRangeEnd(artifact.size());
+                // HttpRange does not reject a range that starts past the end
+                if (start > end) {
+                    throw new IllegalArgumentException("Range starts after the end of the export");
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + artifact.size())
+                        .build();
+            }
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + filename)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + artifact.size())
+                    .contentType(artifact.format().getMediaType())
+                    .contentLength(end - start + 1)
+                    .body(out -> exportJobService.transfer(artifact, start, end - start + 1, out));
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + filename)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(artifact.format().getMediaType())
+                .contentLength(artifact.size())
+                .body(out -> exportJobService.transfer(artifact, 0, artifact.size(), out));
     }
-}
\ No newline at end of file
+}
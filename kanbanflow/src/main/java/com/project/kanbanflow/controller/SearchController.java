@@ -1,11 +1,13 @@
 package com.project.kanbanflow.controller;
 
 import com.project.kanbanflow.dtos.CardDto;
+import com.project.kanbanflow.dtos.CursorPageDto;
 import com.project.kanbanflow.dtos.SearchCriteria;
 import com.project.kanbanflow.dtos.SearchResultDto;
 import com.project.kanbanflow.entity.Card;
 import com.project.kanbanflow.entity.enums.Priority;
 import com.project.kanbanflow.mapper.CardMapper;
+import com.project.kanbanflow.service.SearchCountMode;
 import com.project.kanbanflow.service.SearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -34,7 +36,10 @@ public class SearchController {
             @RequestParam String q,
             @RequestParam(required = false) Priority priority,
             @RequestParam(required = false) UUID assigneeId,
-            @RequestParam(required = false) Boolean completed) {
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "EXACT") SearchCountMode count) {
 
         SearchCriteria criteria = SearchCriteria.builder()
                 .query(q)
@@ -43,7 +48,16 @@ public class SearchController {
                 .completed(completed)
                 .build();
 
-        return ResponseEntity.ok(searchService.searchCards(projectId, criteria));
+        return ResponseEntity.ok(searchService.searchCards(projectId, criteria, cursor, size, count));
+    }
+
+    @GetMapping("/my-tasks/feed")
+    @Operation(summary = "Page through my assigned tasks by cursor")
+    public ResponseEntity<CursorPageDto<CardDto>> getMyTasksFeed(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.getMyTasksFeed(q, cursor, size));
     }
 
     @GetMapping("/my-tasks")
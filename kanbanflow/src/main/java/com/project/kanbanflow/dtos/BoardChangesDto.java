@@ -0,0 +1,24 @@
+package com.project.kanbanflow.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Board changes after a client's version. When {@code fullSnapshot} is set the
+ * columns carry the whole board and replace the client's copy; otherwise cards
+ * are upserts ordered by rank within their column, and deleting a column also
+ * drops its cards.
+ */
+@Data
+@Builder
+public class BoardChangesDto {
+    private long version;
+    private boolean fullSnapshot;
+    private List<BoardColumnDto> columns;
+    private List<CardDto> cards;
+    private List<UUID> deletedColumnIds;
+    private List<UUID> deletedCardIds;
+}
@@ -0,0 +1,31 @@
+package com.project.kanbanflow.dtos;
+
+import com.project.kanbanflow.entity.enums.BulkCardAction;
+import com.project.kanbanflow.entity.enums.Priority;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One item of a bulk request. Which fields apply depends on the action:
+ * CREATE takes a column and the card fields, UPDATE a card and the card
+ * fields, MOVE a card, a column and an optional position, ASSIGN a card and
+ * an assignee ({@code null} unassigns), DELETE only a card.
+ */
+@Data
+public class BulkCardOperation {
+    @NotNull
+    private BulkCardAction action;
+    private UUID cardId;
+    private UUID columnId;
+    private Integer position;
+    private String title;
+    private String description;
+    private Priority priority;
+    private LocalDate dueDate;
+    private String coverColor;
+    private Boolean completed;
+    private UUID assigneeId;
+}
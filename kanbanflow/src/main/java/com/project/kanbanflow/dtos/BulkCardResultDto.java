@@ -0,0 +1,17 @@
+package com.project.kanbanflow.dtos;
+
+import com.project.kanbanflow.entity.enums.BulkCardAction;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class BulkCardResultDto {
+    private int index;
+    private BulkCardAction action;
+    private UUID cardId;
+    private boolean success;
+    private String error;
+}
@@ -15,6 +15,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class CardDto {
     private UUID id;
+    private UUID columnId;
     private String title;
     private String description;
     private Priority priority;
@@ -22,6 +23,7 @@ public class CardDto {
     private String coverColor;
     private boolean completed;
     private int position;
+    private String rank;
     private UserSummaryDto assignee;
     private int commentCount;
     private boolean overdue;
@@ -0,0 +1,17 @@
+package com.project.kanbanflow.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated feed. {@code nextCursor} is {@code null} on
+ * the last page.
+ */
+@Data
+@Builder
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+}
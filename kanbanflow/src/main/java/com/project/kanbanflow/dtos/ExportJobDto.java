@@ -0,0 +1,24 @@
+package com.project.kanbanflow.dtos;
+
+import com.project.kanbanflow.entity.enums.ExportJobStatus;
+import com.project.kanbanflow.service.ExportFormat;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ExportJobDto {
+    private UUID id;
+    private UUID projectId;
+    private ExportFormat format;
+    private long boardVersion;
+    private ExportJobStatus status;
+    private long processedCards;
+    private long totalCards;
+    private String error;
+    private Instant createdAt;
+    private Instant completedAt;
+}
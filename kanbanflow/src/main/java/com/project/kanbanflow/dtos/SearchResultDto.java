@@ -10,6 +10,9 @@ import java.util.Map;
 @Builder
 public class SearchResultDto {
     private List<CardDto> cards;
-    private int totalResults;
+    private String nextCursor;
+    // Counts are only computed for the first page
+    private Integer totalResults;
+    private boolean totalApproximate;
     private Map<String, Integer> facets; // e.g., priority counts
-}
\ No newline at end of file
+}
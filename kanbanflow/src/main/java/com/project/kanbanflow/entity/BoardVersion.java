@@ -0,0 +1,23 @@
+package com.project.kanbanflow.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "board_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardVersion {
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -16,14 +16,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "cards",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"column_id", "position"}))
+@Table(name = "cards")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@SQLDelete(sql = "UPDATE cards SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE cards SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
 @SQLRestriction(value = "is_deleted = false")
 public class Card extends BaseEntity {
 
@@ -35,10 +34,15 @@ public class Card extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Legacy ordinal, only a hint now; ordering within a column is by rank
     @NotNull
     @Column(nullable = false)
     private int position;
 
+    @Size(max = 64)
+    @Column(name = "rank_key", length = 64)
+    private String rank;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 20)
     @Builder.Default
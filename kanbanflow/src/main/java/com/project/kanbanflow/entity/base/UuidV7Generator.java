@@ -0,0 +1,19 @@
+package com.project.kanbanflow.entity.base;
+
+import com.project.kanbanflow.util.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/**
+ * Hibernate id algorithm handing out {@link UuidV7} ids. Existing random ids
+ * stay valid; both kinds share the same {@code uuid} column.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.next();
+    }
+}
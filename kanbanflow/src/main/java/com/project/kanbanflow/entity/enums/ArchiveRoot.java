@@ -0,0 +1,34 @@
+package com.project.kanbanflow.entity.enums;
+
+/**
+ * Kinds of soft-deleted entities the archive job moves out of the live
+ * tables, parents first. Each takes the rows below it along.
+ */
+public enum ArchiveRoot {
+    PROJECT("projects", null, null),
+    COLUMN("board_columns", "projects", "project_id"),
+    CARD("cards", "board_columns", "board_column_id"),
+    COMMENT("comments", "cards", "card_id");
+
+    private final String table;
+    private final String parentTable;
+    private final String parentColumn;
+
+    ArchiveRoot(String table, String parentTable, String parentColumn) {
+        this.table = table;
+        this.parentTable = parentTable;
+        this.parentColumn = parentColumn;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getParentTable() {
+        return parentTable;
+    }
+
+    public String getParentColumn() {
+        return parentColumn;
+    }
+}
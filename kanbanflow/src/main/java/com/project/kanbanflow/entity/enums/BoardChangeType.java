@@ -0,0 +1,8 @@
+package com.project.kanbanflow.entity.enums;
+
+public enum BoardChangeType {
+    CREATED,
+    UPDATED,
+    MOVED,
+    DELETED
+}
@@ -0,0 +1,7 @@
+package com.project.kanbanflow.entity.enums;
+
+public enum BoardEntityType {
+    CARD,
+    COLUMN,
+    PROJECT
+}
@@ -0,0 +1,9 @@
+package com.project.kanbanflow.entity.enums;
+
+public enum BulkCardAction {
+    CREATE,
+    UPDATE,
+    MOVE,
+    ASSIGN,
+    DELETE
+}
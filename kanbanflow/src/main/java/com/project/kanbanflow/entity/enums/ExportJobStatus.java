@@ -0,0 +1,8 @@
+package com.project.kanbanflow.entity.enums;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
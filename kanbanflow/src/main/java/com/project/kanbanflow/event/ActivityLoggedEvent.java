@@ -0,0 +1,11 @@
+package com.project.kanbanflow.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An activity entry, added to the outbox in the transaction that logs it.
+ */
+public record ActivityLoggedEvent(UUID id, UUID projectId, UUID userId, String action,
+                                  String entityType, UUID entityId, String details, Instant createdAt) {
+}
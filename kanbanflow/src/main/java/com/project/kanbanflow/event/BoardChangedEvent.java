@@ -0,0 +1,13 @@
+package com.project.kanbanflow.event;
+
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+
+import java.util.UUID;
+
+/**
+ * Published for every journaled board change, carrying the version it produced.
+ */
+public record BoardChangedEvent(UUID projectId, long version, BoardEntityType entityType,
+                                UUID entityId, BoardChangeType changeType) {
+}
@@ -0,0 +1,14 @@
+package com.project.kanbanflow.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's access to a project changes.
+ * A {@code null} userId means every user of the project is affected.
+ */
+public record ProjectAccessChangedEvent(UUID projectId, UUID userId) {
+
+    public static ProjectAccessChangedEvent forProject(UUID projectId) {
+        return new ProjectAccessChangedEvent(projectId, null);
+    }
+}
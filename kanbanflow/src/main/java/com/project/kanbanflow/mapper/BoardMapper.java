@@ -1,12 +1,27 @@
 package com.project.kanbanflow.mapper;
 
 import com.project.kanbanflow.dtos.BoardColumnDto;
+import com.project.kanbanflow.dtos.CardDto;
 import com.project.kanbanflow.entity.BoardColumn;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring", uses = {CardMapper.class})
 public interface BoardMapper {
     @Mapping(target = "cardCount", expression = "java(column.getCards() != null ? column.getCards().size() : 0)")
     BoardColumnDto toDto(BoardColumn column);
-}
\ No newline at end of file
+
+    // Cards are ordered by rank, so their position is simply their index
+    @AfterMapping
+    default void numberCards(@MappingTarget BoardColumnDto dto) {
+        List<CardDto> cards = dto.getCards();
+        if (cards == null) return;
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setPosition(i);
+        }
+    }
+}
@@ -8,9 +8,11 @@ import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface CardMapper {
+    @Mapping(target = "columnId", source = "boardColumn.id")
     @Mapping(target = "overdue", expression = "java(card.isOverdue())")
     @Mapping(target = "commentCount", expression = "java(card.getComments().size())")
     CardDto toDto(Card card);
 
+    @Mapping(target = "columnId", source = "boardColumn.id")
     CardDetailDto toDetailDto(Card card);
 }
\ No newline at end of file
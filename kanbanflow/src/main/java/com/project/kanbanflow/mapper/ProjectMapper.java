@@ -1,12 +1,19 @@
 package com.project.kanbanflow.mapper;
 
+import com.project.kanbanflow.dtos.CardDto;
 import com.project.kanbanflow.dtos.ProjectDetailDto;
 import com.project.kanbanflow.dtos.ProjectDto;
+import com.project.kanbanflow.entity.Card;
 import com.project.kanbanflow.entity.Project;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface ProjectMapper {
     ProjectDto toDto(Project project);
     ProjectDetailDto toDetailDto(Project project);
-}
\ No newline at end of file
+
+    // The cards of the detail's columns
+    @Mapping(target = "columnId", source = "boardColumn.id")
+    CardDto toCardDto(Card card);
+}
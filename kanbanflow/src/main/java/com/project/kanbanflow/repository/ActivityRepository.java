@@ -1,6 +1,7 @@
 package com.project.kanbanflow.repository;
 
 import com.project.kanbanflow.entity.Activity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,6 +18,19 @@ public interface ActivityRepository extends JpaRepository<Activity, UUID> {
 
     Page<Activity> findByProjectIdOrderByCreatedAtDesc(UUID projectId, Pageable pageable);
 
+    @Query("SELECT a FROM Activity a LEFT JOIN FETCH a.user WHERE a.project.id = :projectId " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findFeed(@Param("projectId") UUID projectId, Limit limit);
+
+    // Keyset continuation after (createdAt, id), served by idx_activities_project_created
+    @Query("SELECT a FROM Activity a LEFT JOIN FETCH a.user WHERE a.project.id = :projectId " +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findFeedAfter(@Param("projectId") UUID projectId,
+                                 @Param("createdAt") Instant createdAt,
+                                 @Param("id") UUID id,
+                                 Limit limit);
+
     List<Activity> findByEntityIdAndEntityTypeOrderByCreatedAtDesc(UUID entityId, String entityType);
 
     @Query("SELECT a FROM Activity a WHERE a.project.id = :projectId " +
@@ -0,0 +1,192 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.entity.enums.ArchiveRoot;
+import com.project.kanbanflow.repository.projection.ArchiveCandidate;
+import com.project.kanbanflow.repository.projection.ArchivedRoot;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Moves soft-deleted entities and everything below them from the live tables
+ * into {@code archived_rows}, and back. Rows are moved in small batches that
+ * skip rows locked by requests, so the job never waits on user traffic.
+ */
+@Repository
+public class ArchiveRepository {
+
+    /**
+     * Rows of one table moved by {@link #archiveNext}.
+     */
+    public record ArchiveBatch(String table, int rows) {
+    }
+
+    // One table below a root, children before parents; unarchived steps are only deleted
+    private record Step(String table, String where, boolean archived) {
+    }
+
+    private static final Map<ArchiveRoot, List<Step>> STEPS = Map.of(
+            ArchiveRoot.PROJECT, List.of(
+                    new Step("comments", "card_id IN (SELECT c.id FROM cards c " +
+                            "JOIN board_columns bc ON bc.id = c.board_column_id WHERE bc.project_id = :rootId)", true),
+                    new Step("cards", "board_column_id IN (SELECT bc.id FROM board_columns bc " +
+                            "WHERE bc.project_id = :rootId)", true),
+                    new Step("column_card_counts", "column_id IN (SELECT bc.id FROM board_columns bc " +
+                            "WHERE bc.project_id = :rootId)", false),
+                    new Step("board_columns", "project_id = :rootId", true),
+                    new Step("activities", "project_id = :rootId", true),
+                    new Step("project_members", "project_id = :rootId", true),
+                    new Step("board_changes", "project_id = :rootId", false),
+                    new Step("board_versions", "project_id = :rootId", false),
+                    new Step("projects", "id = :rootId", true)),
+            ArchiveRoot.COLUMN, List.of(
+                    new Step("comments", "card_id IN (SELECT c.id FROM cards c WHERE c.board_column_id = :rootId)", true),
+                    new Step("cards", "board_column_id = :rootId", true),
+                    new Step("column_card_counts", "column_id = :rootId", false),
+                    new Step("board_columns", "id = :rootId", true)),
+            ArchiveRoot.CARD, List.of(
+                    new Step("comments", "card_id = :rootId", true),
+                    new Step("cards", "id = :rootId", true)),
+            ArchiveRoot.COMMENT, List.of(
+                    new Step("comments", "id = :rootId", true)));
+
+    // Roots whose parent is still live; a deleted parent takes them along instead
+    private static final Map<ArchiveRoot, String> CANDIDATES = Map.of(
+            ArchiveRoot.PROJECT, "SELECT p.id, p.id FROM projects p " +
+                    "WHERE p.is_deleted AND p.deleted_at < :cutoff",
+            ArchiveRoot.COLUMN, "SELECT bc.id, bc.project_id FROM board_columns bc " +
+                    "JOIN projects p ON p.id = bc.project_id " +
+                    "WHERE bc.is_deleted AND bc.deleted_at < :cutoff AND NOT p.is_deleted",
+            ArchiveRoot.CARD, "SELECT c.id, bc.project_id FROM cards c " +
+                    "JOIN board_columns bc ON bc.id = c.board_column_id " +
+                    "WHERE c.is_deleted AND c.deleted_at < :cutoff AND NOT bc.is_deleted",
+            ArchiveRoot.COMMENT, "SELECT cm.id, bc.project_id FROM comments cm " +
+                    "JOIN cards c ON c.id = cm.card_id " +
+                    "JOIN board_columns bc ON bc.id = c.board_column_id " +
+                    "WHERE cm.is_deleted AND cm.deleted_at < :cutoff AND NOT c.is_deleted");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    // Insertable columns per table, generated ones are rebuilt by the database
+    private final Map<String, List<String>> columns = new ConcurrentHashMap<>();
+
+    public ArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ArchiveCandidate> findExpiredRoots(ArchiveRoot root, Instant cutoff, int limit) {
+        return jdbcTemplate.query(CANDIDATES.get(root) + " LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("cutoff", Timestamp.from(cutoff))
+                        .addValue("limit", limit),
+                (rs, row) -> new ArchiveCandidate(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)));
+    }
+
+    /**
+     * Moves the next batch of rows below {@code candidate}, the candidate row
+     * itself last. Returns {@code null} once nothing is left to move.
+     */
+    public ArchiveBatch archiveNext(ArchiveRoot root, ArchiveCandidate candidate, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("rootTable", root.getTable())
+                .addValue("rootId", candidate.id())
+                .addValue("projectId", candidate.projectId())
+                .addValue("limit", limit);
+
+        for (Step step : STEPS.get(root)) {
+            String batch = "ctid = ANY (ARRAY(SELECT ctid FROM " + step.table() + " WHERE " + step.where() +
+                    " LIMIT :limit FOR UPDATE SKIP LOCKED))";
+            int rows;
+            if (step.archived()) {
+                params.addValue("table", step.table());
+                rows = jdbcTemplate.update("WITH moved AS (DELETE FROM " + step.table() + " WHERE " + batch +
+                        " RETURNING to_jsonb(" + step.table() + ") AS payload) " +
+                        "INSERT INTO archived_rows (table_name, row_id, root_table, root_id, project_id, payload) " +
+                        "SELECT :table, (payload ->> 'id')::uuid, :rootTable, :rootId, :projectId, " +
+                        "payload - 'search_vector' FROM moved", params);
+            } else {
+                rows = jdbcTemplate.update("DELETE FROM " + step.table() + " WHERE " + batch, params);
+            }
+            if (rows > 0) {
+                return new ArchiveBatch(step.table(), rows);
+            }
+        }
+        return null;
+    }
+
+    public Optional<ArchivedRoot> findArchivedRoot(ArchiveRoot root, UUID rootId) {
+        String parentLive = root.getParentTable() == null ? "true" :
+                "EXISTS (SELECT 1 FROM " + root.getParentTable() + " p " +
+                        "WHERE p.id = (a.payload ->> '" + root.getParentColumn() + "')::uuid AND NOT p.is_deleted)";
+        String parentId = root.getParentColumn() == null ? "NULL" :
+                "(a.payload ->> '" + root.getParentColumn() + "')::uuid";
+
+        return jdbcTemplate.query("SELECT a.project_id, (a.payload ->> 'owner_id')::uuid, " + parentId + ", " +
+                                parentLive + " FROM archived_rows a " +
+                                "WHERE a.root_table = :rootTable AND a.root_id = :rootId AND a.table_name = :rootTable",
+                        new MapSqlParameterSource()
+                                .addValue("rootTable", root.getTable())
+                                .addValue("rootId", rootId),
+                        (rs, row) -> new ArchivedRoot(
+                                rs.getObject(1, UUID.class),
+                                rs.getObject(2, UUID.class),
+                                rs.getObject(3, UUID.class),
+                                rs.getBoolean(4)))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Puts an archived entity and the rows archived with it back, parents
+     * first, and clears its deleted flag. Rows that were deleted on their own
+     * before it stay deleted.
+     */
+    public int restore(ArchiveRoot root, UUID rootId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("rootTable", root.getTable())
+                .addValue("rootId", rootId);
+
+        int restored = 0;
+        for (Step step : STEPS.get(root).reversed()) {
+            if (!step.archived()) continue;
+
+            List<String> tableColumns = columns(step.table());
+            params.addValue("table", step.table());
+            restored += jdbcTemplate.update("INSERT INTO " + step.table() + " (" + String.join(", ", tableColumns) + ") " +
+                    "SELECT " + tableColumns.stream().map(column -> "r." + column).collect(Collectors.joining(", ")) +
+                    " FROM archived_rows a CROSS JOIN LATERAL jsonb_populate_record(NULL::" + step.table() +
+                    ", a.payload) r WHERE a.root_table = :rootTable AND a.root_id = :rootId " +
+                    "AND a.table_name = :table ORDER BY a.id", params);
+        }
+
+        jdbcTemplate.update("UPDATE " + root.getTable() + " SET is_deleted = false, deleted_at = NULL " +
+                "WHERE id = :rootId", params);
+        jdbcTemplate.update("DELETE FROM archived_rows WHERE root_table = :rootTable AND root_id = :rootId", params);
+        return restored;
+    }
+
+    public int deleteArchivedBefore(Instant cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM archived_rows WHERE id = ANY (ARRAY(" +
+                        "SELECT id FROM archived_rows WHERE archived_at < :cutoff LIMIT :limit))",
+                new MapSqlParameterSource()
+                        .addValue("cutoff", Timestamp.from(cutoff))
+                        .addValue("limit", limit));
+    }
+
+    private List<String> columns(String table) {
+        return columns.computeIfAbsent(table, name -> jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema() AND table_name = :table AND is_generated = 'NEVER' " +
+                        "ORDER BY ordinal_position",
+                new MapSqlParameterSource("table", name),
+                String.class));
+    }
+}
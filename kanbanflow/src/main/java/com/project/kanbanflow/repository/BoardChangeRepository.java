@@ -0,0 +1,26 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.entity.BoardChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BoardChangeRepository extends JpaRepository<BoardChange, Long> {
+
+    List<BoardChange> findByProjectIdAndVersionGreaterThanOrderByVersionAsc(UUID projectId, long version, Limit limit);
+
+    @Query("SELECT MIN(bc.version) FROM BoardChange bc WHERE bc.projectId = :projectId")
+    Long findOldestVersion(@Param("projectId") UUID projectId);
+
+    @Modifying
+    @Query("DELETE FROM BoardChange bc WHERE bc.createdAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -1,13 +1,16 @@
 package com.project.kanbanflow.repository;
 
 import com.project.kanbanflow.entity.BoardColumn;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -15,16 +18,19 @@ public interface BoardColumnRepository extends JpaRepository<BoardColumn, UUID>
 
     List<BoardColumn> findByProjectIdOrderByPositionAsc(UUID projectId);
 
+    List<BoardColumn> findByProjectIdOrderByPositionAscIdAsc(UUID projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bc FROM BoardColumn bc WHERE bc.id = :columnId")
+    Optional<BoardColumn> lockById(@Param("columnId") UUID columnId);
+
+    @Query("SELECT bc.project.id FROM BoardColumn bc WHERE bc.id = :columnId")
+    Optional<UUID> findProjectIdById(@Param("columnId") UUID columnId);
+
     @Query("SELECT COALESCE(MAX(bc.position), -1) FROM BoardColumn bc " +
             "WHERE bc.project.id = :projectId")
     Integer findMaxPositionByProjectId(@Param("projectId") UUID projectId);
 
-    @Query("SELECT DISTINCT bc FROM BoardColumn bc " +
-            "LEFT JOIN FETCH bc.cards c " +
-            "WHERE bc.project.id = :projectId " +
-            "ORDER BY bc.position ASC, c.position ASC")
-    List<BoardColumn> findAllWithCardsByProjectId(@Param("projectId") UUID projectId);
-
     @Modifying
     @Query("UPDATE BoardColumn bc SET bc.position = bc.position + 1 " +
             "WHERE bc.project.id = :projectId AND bc.position >= :position")
@@ -0,0 +1,30 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.entity.BoardVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BoardVersionRepository extends JpaRepository<BoardVersion, UUID> {
+
+    @Query("SELECT v.version FROM BoardVersion v WHERE v.projectId = :projectId")
+    Optional<Long> findVersion(@Param("projectId") UUID projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM BoardVersion v WHERE v.projectId = :projectId")
+    Optional<BoardVersion> findForUpdate(@Param("projectId") UUID projectId);
+
+    @Modifying
+    @Query("INSERT INTO BoardVersion (projectId, version) " +
+            "SELECT p.id, 0 FROM Project p " +
+            "WHERE NOT EXISTS (SELECT 1 FROM BoardVersion v WHERE v.projectId = p.id)")
+    int insertMissing();
+}
@@ -1,52 +1,108 @@
 package com.project.kanbanflow.repository;
 
 import com.project.kanbanflow.entity.Card;
-import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.repository.projection.BoardCardView;
+import com.project.kanbanflow.repository.projection.CardFacetRow;
+import com.project.kanbanflow.repository.projection.ExportCardView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, UUID> {
+public interface CardRepository extends JpaRepository<Card, UUID>, CardSearchRepository {
+
+    List<Card> findByBoardColumnIdOrderByRankAsc(UUID columnId);
+
+    @Query("SELECT new com.project.kanbanflow.repository.projection.BoardCardView(" +
+            "c.id, bc.id, c.title, c.description, c.priority, c.dueDate, c.coverColor, " +
+            "c.completed, c.rank, a.id, a.username, a.fullName, a.avatarUrl, " +
+            "(SELECT COUNT(cm) FROM Comment cm WHERE cm.card = c)) " +
+            "FROM Card c JOIN c.boardColumn bc LEFT JOIN c.assignee a " +
+            "WHERE bc.project.id = :projectId " +
+            "ORDER BY c.rank ASC")
+    List<BoardCardView> findBoardCards(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new com.project.kanbanflow.repository.projection.BoardCardView(" +
+            "c.id, bc.id, c.title, c.description, c.priority, c.dueDate, c.coverColor, " +
+            "c.completed, c.rank, a.id, a.username, a.fullName, a.avatarUrl, " +
+            "(SELECT COUNT(cm) FROM Comment cm WHERE cm.card = c)) " +
+            "FROM Card c JOIN c.boardColumn bc LEFT JOIN c.assignee a " +
+            "WHERE bc.project.id = :projectId AND c.id IN :cardIds")
+    List<BoardCardView> findBoardCardsByIds(@Param("projectId") UUID projectId,
+                                            @Param("cardIds") Collection<UUID> cardIds);
+
+    @Query("SELECT new com.project.kanbanflow.repository.projection.BoardCardView(" +
+            "c.id, bc.id, c.title, c.description, c.priority, c.dueDate, c.coverColor, " +
+            "c.completed, c.rank, a.id, a.username, a.fullName, a.avatarUrl, " +
+            "(SELECT COUNT(cm) FROM Comment cm WHERE cm.card = c)) " +
+            "FROM Card c JOIN c.boardColumn bc LEFT JOIN c.assignee a " +
+            "WHERE c.id IN :cardIds")
+    List<BoardCardView> findBoardCardsByIdIn(@Param("cardIds") Collection<UUID> cardIds);
+
+    @Query("SELECT new com.project.kanbanflow.repository.projection.CardFacetRow(" +
+            "c.id, c.priority, a.id, c.completed, c.dueDate) " +
+            "FROM Card c JOIN c.boardColumn bc LEFT JOIN c.assignee a " +
+            "WHERE bc.project.id = :projectId")
+    List<CardFacetRow> findFacetRows(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new com.project.kanbanflow.repository.projection.CardFacetRow(" +
+            "c.id, c.priority, a.id, c.completed, c.dueDate) " +
+            "FROM Card c JOIN c.boardColumn bc LEFT JOIN c.assignee a " +
+            "WHERE bc.project.id = :projectId AND c.id IN :cardIds")
+    List<CardFacetRow> findFacetRowsByIds(@Param("projectId") UUID projectId,
+                                          @Param("cardIds") Collection<UUID> cardIds);
+
+    @Query("SELECT c.boardColumn.id, COUNT(c) FROM Card c " +
+            "WHERE c.boardColumn.project.id = :projectId GROUP BY c.boardColumn.id")
+    List<Object[]> countCardsByColumn(@Param("projectId") UUID projectId);
 
-    List<Card> findByBoardColumnIdOrderByPositionAsc(UUID columnId);
+    // Read through a cursor so exports hold one fetch of rows at a time. Columns and
+    // cards come from the same statement, so they agree even while the board changes;
+    // a column without cards is one row without a card.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.project.kanbanflow.repository.projection.ExportCardView(" +
+            "bc.id, bc.name, bc.position, c.id, c.title, c.description, c.priority, " +
+            "COALESCE(c.completed, false), c.dueDate, a.fullName) " +
+            "FROM BoardColumn bc LEFT JOIN bc.cards c LEFT JOIN c.assignee a " +
+            "WHERE bc.project.id = :projectId " +
+            "ORDER BY bc.position ASC, bc.id ASC, c.rank ASC")
+    Stream<ExportCardView> streamExportCards(@Param("projectId") UUID projectId);
 
     Page<Card> findByAssigneeId(UUID userId, Pageable pageable);
 
+    @Query("SELECT COUNT(c) FROM Card c WHERE c.boardColumn.project.id = :projectId")
+    long countByProjectId(@Param("projectId") UUID projectId);
+
+    // Exports show assignee names, which change without a board version bump
+    @Query("SELECT MAX(a.updatedAt) FROM Card c JOIN c.assignee a WHERE c.boardColumn.project.id = :projectId")
+    Instant findLastAssigneeUpdate(@Param("projectId") UUID projectId);
+
+    // Loads the comments that deleting the cards cascades to in one query
+    @Query("SELECT DISTINCT c FROM Card c LEFT JOIN FETCH c.comments WHERE c.id IN :cardIds")
+    List<Card> findWithCommentsByIdIn(@Param("cardIds") Collection<UUID> cardIds);
+
     @Query("SELECT COUNT(c) FROM Card c WHERE c.boardColumn.id = :columnId")
     Long countCardsByColumnId(@Param("columnId") UUID columnId);
 
-    @Query("SELECT c FROM Card c WHERE c.boardColumn.project.id = :projectId " +
-            "AND (:query IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-            "AND (:priority IS NULL OR c.priority = :priority) " +
-            "AND (:assigneeId IS NULL OR c.assignee.id = :assigneeId) " +
-            "AND (:completed IS NULL OR c.completed = :completed) " +
-            "AND (:dueDateFrom IS NULL OR c.dueDate >= :dueDateFrom) " +
-            "AND (:dueDateTo IS NULL OR c.dueDate <= :dueDateTo) ")
-    List<Card> searchCards(@Param("projectId") UUID projectId,
-                           @Param("query") String query,
-                           @Param("priority") Priority priority,
-                           @Param("assigneeId") UUID assigneeId,
-                           @Param("completed") Boolean completed,
-                           @Param("dueDateFrom") LocalDate dueDateFrom,
-                           @Param("dueDateTo") LocalDate dueDateTo);
-
-    @Modifying
-    @Query("UPDATE Card c SET c.position = c.position + 1 " +
-            "WHERE c.boardColumn.id = :columnId " +
-            "AND c.position >= :position")
-    void incrementPositionsFrom(@Param("columnId") UUID columnId,
-                                @Param("position") Integer position);
-
     @Query("SELECT COALESCE(MAX(c.position), -1) FROM Card c " +
             "WHERE c.boardColumn.id = :columnId")
     Integer findMaxPositionByColumnId(@Param("columnId") UUID columnId);
@@ -54,33 +110,22 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
     @Query("SELECT COALESCE(COUNT(c), 0) FROM Card c WHERE c.boardColumn.id = :columnId")
     int countByBoardColumnId(@Param("columnId") UUID columnId);
 
-    @Modifying
-    @Query("UPDATE Card c SET c.position = c.position - 1 " +
-            "WHERE c.boardColumn.id = :columnId " +
-            "AND c.position BETWEEN :start AND :end")
-    void decrementPositionsBetween(@Param("columnId") UUID columnId,
-                                   @Param("start") Integer start,
-                                   @Param("end") Integer end);
-
-    @Modifying
-    @Query("UPDATE Card c SET c.position = c.position + 1 " +
-            "WHERE c.boardColumn.id = :columnId " +
-            "AND c.position BETWEEN :start AND :end")
-    void incrementPositionsBetween(@Param("columnId") UUID columnId,
-                                   @Param("start") Integer start,
-                                   @Param("end") Integer end);
-
-    @Modifying
-    @Query("UPDATE Card c SET c.position = c.position - 1 " +
-            "WHERE c.boardColumn.id = :columnId " +
-            "AND c.position > :position")
-    void decrementPositionsAfter(@Param("columnId") UUID columnId,
-                                 @Param("position") Integer position);
-
-    @Query("SELECT c FROM Card c WHERE c.assignee.id = :userId " +
-            "AND (LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%'))) " )
-    Page<Card> searchUserCards(@Param("userId") UUID userId,
-                               @Param("query") String query,
-                               Pageable pageable);
+    @Query("SELECT MAX(c.rank) FROM Card c WHERE c.boardColumn.id = :columnId")
+    String findMaxRankByColumnId(@Param("columnId") UUID columnId);
+
+    @Query("SELECT c.rank FROM Card c " +
+            "WHERE c.boardColumn.id = :columnId AND c.id <> :cardId " +
+            "ORDER BY c.rank ASC " +
+            "LIMIT 2 OFFSET :offset")
+    List<String> findNeighbourRanks(@Param("columnId") UUID columnId,
+                                    @Param("cardId") UUID cardId,
+                                    @Param("offset") int offset);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.boardColumn.id = :columnId " +
+            "ORDER BY c.rank ASC NULLS LAST, c.position ASC")
+    List<Card> findForRebalance(@Param("columnId") UUID columnId);
+
+    @Query("SELECT DISTINCT c.boardColumn.id FROM Card c WHERE c.rank IS NULL")
+    List<UUID> findColumnIdsWithUnrankedCards();
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.repository.projection.CardFacetCount;
+import com.project.kanbanflow.repository.projection.CardSearchHit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Card search backed by the {@code search_vector} GIN index, or by the old
+ * LIKE scan when {@code kanbanflow.search.engine=like}. Results are ordered by
+ * relevance when there is a text query and by creation time otherwise.
+ */
+public interface CardSearchRepository {
+
+    /**
+     * Returns up to {@code limit} matches following {@code after}, the last hit
+     * of the previous page, or the first page when it is {@code null}.
+     */
+    List<CardSearchHit> searchProjectCards(UUID projectId, SearchCriteria criteria, CardSearchHit after, int limit);
+
+    /**
+     * Whether {@link #searchProjectCards} orders these criteria by relevance,
+     * and so continues from the rank of the previous hit rather than its
+     * creation time.
+     */
+    boolean isRanked(SearchCriteria criteria);
+
+    List<UUID> findProjectCardIds(UUID projectId, SearchCriteria criteria, int limit);
+
+    /**
+     * Counts matches grouped by every facet dimension at once; the groups sum
+     * up to the total.
+     */
+    List<CardFacetCount> countProjectFacets(UUID projectId, SearchCriteria criteria);
+
+    // The date overdue counts are based on, which may differ from the application's
+    LocalDate currentDate();
+
+    /**
+     * The planner's row estimate for a search, or {@code -1} when the engine
+     * cannot estimate.
+     */
+    long estimateProjectCards(UUID projectId, SearchCriteria criteria);
+
+    /**
+     * Keyset page of a user's assigned cards, newest first, optionally
+     * filtered by a text query.
+     */
+    List<CardSearchHit> searchAssignedCards(UUID userId, String query, CardSearchHit after, int limit);
+
+    List<UUID> searchAssignedCardIds(UUID userId, String query, long offset, int limit);
+
+    long countAssignedCards(UUID userId, String query);
+}
@@ -0,0 +1,236 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.repository.projection.CardFacetCount;
+import com.project.kanbanflow.repository.projection.CardSearchHit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class CardSearchRepositoryImpl implements CardSearchRepository {
+
+    static final String FULLTEXT = "fulltext";
+
+    // The first "Plan Rows" of the JSON plan is the estimate for the whole query
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean fulltext;
+
+    CardSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                             @Value("${kanbanflow.search.engine:" + FULLTEXT + "}") String engine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fulltext = FULLTEXT.equals(engine);
+    }
+
+    @Override
+    public List<CardSearchHit> searchProjectCards(UUID projectId, SearchCriteria criteria,
+                                                  CardSearchHit after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = projectWhere(projectId, criteria, params);
+        boolean ranked = isRanked(criteria);
+        String rank = "ts_rank(c.search_vector, to_tsquery('simple', :tsquery))";
+
+        if (after != null) {
+            params.addValue("afterId", after.id());
+            if (ranked) {
+                where += " AND (" + rank + " < CAST(:afterRank AS real) OR (" + rank +
+                        " = CAST(:afterRank AS real) AND c.id > :afterId))";
+                params.addValue("afterRank", after.rank());
+            } else {
+                where += " AND (c.created_at < :afterCreatedAt OR (c.created_at = :afterCreatedAt AND c.id > :afterId))";
+                params.addValue("afterCreatedAt", Timestamp.from(after.createdAt()));
+            }
+        }
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query("SELECT c.id, " + (ranked ? rank : "NULL") + " AS rank, c.created_at " +
+                        "FROM cards c JOIN board_columns bc ON bc.id = c.board_column_id " +
+                        where + orderBy(params) + " LIMIT :limit",
+                params,
+                (rs, row) -> new CardSearchHit(
+                        rs.getObject(1, UUID.class),
+                        ranked ? rs.getFloat(2) : null,
+                        rs.getTimestamp(3).toInstant()));
+    }
+
+    @Override
+    public boolean isRanked(SearchCriteria criteria) {
+        return fulltext && criteria.getQuery() != null && !criteria.getQuery().isBlank();
+    }
+
+    @Override
+    public List<UUID> findProjectCardIds(UUID projectId, SearchCriteria criteria, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = projectWhere(projectId, criteria, params);
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.queryForList("SELECT c.id FROM cards c " +
+                "JOIN board_columns bc ON bc.id = c.board_column_id " + where + " LIMIT :limit", params, UUID.class);
+    }
+
+    @Override
+    public List<CardFacetCount> countProjectFacets(UUID projectId, SearchCriteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = projectWhere(projectId, criteria, params);
+        // Same buckets as CardFacetIndex: today, the next seven days, after that
+        String due = "CASE WHEN c.due_date IS NULL THEN 'NONE' " +
+                "WHEN c.due_date < CURRENT_DATE THEN 'PAST' " +
+                "WHEN c.due_date = CURRENT_DATE THEN 'TODAY' " +
+                "WHEN c.due_date <= CURRENT_DATE + INTERVAL '7' DAY THEN 'WEEK' " +
+                "ELSE 'LATER' END";
+
+        // One group per distinct combination; there are at most priorities x members x 2 x 5
+        return jdbcTemplate.query("SELECT c.priority, c.assignee_id, c.is_completed, " + due + ", COUNT(*) " +
+                        "FROM cards c JOIN board_columns bc ON bc.id = c.board_column_id " + where +
+                        " GROUP BY c.priority, c.assignee_id, c.is_completed, " + due,
+                params,
+                (rs, row) -> new CardFacetCount(
+                        rs.getString(1) != null ? Priority.valueOf(rs.getString(1)) : null,
+                        rs.getObject(2, UUID.class),
+                        rs.getBoolean(3),
+                        CardFacetCount.Due.valueOf(rs.getString(4)),
+                        rs.getLong(5)));
+    }
+
+    @Override
+    public LocalDate currentDate() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT CURRENT_DATE", LocalDate.class);
+    }
+
+    @Override
+    public long estimateProjectCards(UUID projectId, SearchCriteria criteria) {
+        if (!fulltext) return -1;
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = projectWhere(projectId, criteria, params);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT c.id FROM cards c " +
+                "JOIN board_columns bc ON bc.id = c.board_column_id " + where, params, String.class);
+
+        Matcher rows = PLAN_ROWS.matcher(plan != null ? plan : "");
+        return rows.find() ? Long.parseLong(rows.group(1)) : -1;
+    }
+
+    @Override
+    public List<CardSearchHit> searchAssignedCards(UUID userId, String query, CardSearchHit after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = assignedWhere(userId, query, params);
+        if (after != null) {
+            // Matches idx_cards_assignee_created, so each page is a short index range scan
+            where += " AND (c.created_at < :afterCreatedAt OR (c.created_at = :afterCreatedAt AND c.id < :afterId))";
+            params.addValue("afterCreatedAt", Timestamp.from(after.createdAt()));
+            params.addValue("afterId", after.id());
+        }
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query("SELECT c.id, c.created_at FROM cards c " + where +
+                        " ORDER BY c.created_at DESC, c.id DESC LIMIT :limit",
+                params,
+                (rs, row) -> new CardSearchHit(rs.getObject(1, UUID.class), null, rs.getTimestamp(2).toInstant()));
+    }
+
+    @Override
+    public List<UUID> searchAssignedCardIds(UUID userId, String query, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = assignedWhere(userId, query, params);
+        params.addValue("limit", limit).addValue("offset", offset);
+
+        return jdbcTemplate.queryForList("SELECT c.id FROM cards c " +
+                where + orderBy(params) + " LIMIT :limit OFFSET :offset", params, UUID.class);
+    }
+
+    @Override
+    public long countAssignedCards(UUID userId, String query) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards c " +
+                assignedWhere(userId, query, params), params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private String projectWhere(UUID projectId, SearchCriteria criteria, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("c.is_deleted = false");
+        conditions.add("bc.is_deleted = false");
+        conditions.add("bc.project_id = :projectId");
+        params.addValue("projectId", projectId);
+
+        textCondition(criteria.getQuery(), conditions, params);
+        if (criteria.getPriority() != null) {
+            conditions.add("c.priority = :priority");
+            params.addValue("priority", criteria.getPriority().name());
+        }
+        if (criteria.getAssigneeId() != null) {
+            conditions.add("c.assignee_id = :assigneeId");
+            params.addValue("assigneeId", criteria.getAssigneeId());
+        }
+        if (criteria.getCompleted() != null) {
+            conditions.add("c.is_completed = :completed");
+            params.addValue("completed", criteria.getCompleted());
+        }
+        if (criteria.getDueDateFrom() != null) {
+            conditions.add("c.due_date >= :dueDateFrom");
+            params.addValue("dueDateFrom", criteria.getDueDateFrom());
+        }
+        if (criteria.getDueDateTo() != null) {
+            conditions.add("c.due_date <= :dueDateTo");
+            params.addValue("dueDateTo", criteria.getDueDateTo());
+        }
+
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private String assignedWhere(UUID userId, String query, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("c.is_deleted = false");
+        conditions.add("c.assignee_id = :userId");
+        params.addValue("userId", userId);
+
+        textCondition(query, conditions, params);
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private void textCondition(String query, List<String> conditions, MapSqlParameterSource params) {
+        if (query == null || query.isBlank()) return;
+
+        if (fulltext) {
+            conditions.add("c.search_vector @@ to_tsquery('simple', :tsquery)");
+            params.addValue("tsquery", toPrefixQuery(query));
+        } else {
+            conditions.add("(LOWER(c.title) LIKE :pattern OR LOWER(c.description) LIKE :pattern)");
+            params.addValue("pattern", "%" + query.toLowerCase(Locale.ROOT) + "%");
+        }
+    }
+
+    private String orderBy(MapSqlParameterSource params) {
+        if (fulltext && params.hasValue("tsquery")) {
+            return " ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :tsquery)) DESC, c.id";
+        }
+        return " ORDER BY c.created_at DESC, c.id";
+    }
+
+    /**
+     * Turns free text into a tsquery where every word must match as a prefix,
+     * so "desi rev" finds "design review". Anything that is not a letter or
+     * digit separates words, which also keeps tsquery syntax out of user input.
+     */
+    static String toPrefixQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word + ":*");
+            }
+        }
+        // An empty tsquery matches nothing, so punctuation-only input finds no cards
+        return String.join(" & ", terms);
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.kanbanflow.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-column counters of live cards in {@code column_card_counts}. Every
+ * change is a single-row update, which holds the row lock until commit.
+ */
+@Repository
+public class ColumnCardCountRepository {
+
+    private static final String LIVE_CARDS = "(SELECT COUNT(*) FROM cards c " +
+            "WHERE c.board_column_id = %s AND NOT c.is_deleted)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ColumnCardCountRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(UUID columnId) {
+        jdbcTemplate.update("INSERT INTO column_card_counts (column_id, card_count) VALUES (:columnId, 0)",
+                new MapSqlParameterSource("columnId", columnId));
+    }
+
+    /**
+     * Adds one card unless that would go past {@code limit}, where 0 means no
+     * limit. Returns whether the card fit.
+     */
+    public boolean incrementWithinLimit(UUID columnId, int limit) {
+        return jdbcTemplate.update("UPDATE column_card_counts SET card_count = card_count + 1 " +
+                        "WHERE column_id = :columnId AND (:limit = 0 OR card_count < :limit)",
+                new MapSqlParameterSource()
+                        .addValue("columnId", columnId)
+                        .addValue("limit", limit)) == 1;
+    }
+
+    public void adjust(UUID columnId, int delta) {
+        jdbcTemplate.update("UPDATE column_card_counts SET card_count = card_count + :delta WHERE column_id = :columnId",
+                new MapSqlParameterSource()
+                        .addValue("columnId", columnId)
+                        .addValue("delta", delta));
+    }
+
+    public Optional<Integer> findCount(UUID columnId) {
+        return jdbcTemplate.queryForList("SELECT card_count FROM column_card_counts WHERE column_id = :columnId",
+                        new MapSqlParameterSource("columnId", columnId), Integer.class)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Locks the counters of all live columns of a project, in column id order.
+     */
+    public Map<UUID, Integer> lockProjectCounts(UUID projectId) {
+        Map<UUID, Integer> counts = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT column_id, card_count FROM column_card_counts " +
+                        "WHERE column_id IN (SELECT id FROM board_columns WHERE project_id = :projectId AND NOT is_deleted) " +
+                        "ORDER BY column_id FOR UPDATE",
+                new MapSqlParameterSource("projectId", projectId),
+                rs -> {
+                    counts.put(rs.getObject(1, UUID.class), rs.getInt(2));
+                });
+        return counts;
+    }
+
+    public void updateCounts(Map<UUID, Integer> counts) {
+        jdbcTemplate.batchUpdate("UPDATE column_card_counts SET card_count = :count WHERE column_id = :columnId",
+                counts.entrySet().stream()
+                        .map(entry -> new MapSqlParameterSource()
+                                .addValue("columnId", entry.getKey())
+                                .addValue("count", entry.getValue()))
+                        .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Creates the missing counters of live columns from their current cards,
+     * for one project or, with a {@code null} project, for all of them.
+     */
+    public int insertMissing(UUID projectId) {
+        return jdbcTemplate.update("INSERT INTO column_card_counts (column_id, card_count) " +
+                        "SELECT bc.id, " + LIVE_CARDS.formatted("bc.id") + " FROM board_columns bc " +
+                        "WHERE NOT bc.is_deleted AND (CAST(:projectId AS uuid) IS NULL OR bc.project_id = :projectId) " +
+                        "AND NOT EXISTS (SELECT 1 FROM column_card_counts cc WHERE cc.column_id = bc.id)",
+                new MapSqlParameterSource("projectId", projectId));
+    }
+
+    /**
+     * Recomputes the counters of a project's columns from their cards, for
+     * rows that were written around the counters.
+     */
+    public int recount(UUID projectId) {
+        return jdbcTemplate.update("UPDATE column_card_counts SET card_count = " + LIVE_CARDS.formatted("column_id") +
+                        " WHERE column_id IN (SELECT id FROM board_columns WHERE project_id = :projectId)",
+                new MapSqlParameterSource("projectId", projectId));
+    }
+}
@@ -2,6 +2,7 @@ package com.project.kanbanflow.repository;
 
 import com.project.kanbanflow.entity.ProjectMember;
 import com.project.kanbanflow.entity.ProjectMemberId;
+import com.project.kanbanflow.entity.enums.ProjectRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -23,6 +24,9 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Pr
 
     boolean existsByProjectIdAndUserId(UUID projectId, UUID userId);
 
+    @Query("SELECT pm.role FROM ProjectMember pm WHERE pm.projectId = :projectId AND pm.userId = :userId")
+    Optional<ProjectRole> findRole(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
     @Modifying
     @Query("DELETE FROM ProjectMember pm WHERE pm.projectId = :projectId AND pm.userId = :userId")
     void deleteByProjectIdAndUserId(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
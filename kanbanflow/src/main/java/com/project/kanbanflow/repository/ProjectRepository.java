@@ -25,6 +25,9 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     Optional<Project> findByIdAndUserHasAccess(@Param("projectId") UUID projectId,
                                                @Param("userId") UUID userId);
 
+    @Query("SELECT p.owner.id FROM Project p WHERE p.id = :projectId")
+    Optional<UUID> findOwnerIdById(@Param("projectId") UUID projectId);
+
     @Query("SELECT CASE WHEN COUNT(pm) > 0 THEN true ELSE false END " +
             "FROM ProjectMember pm WHERE pm.projectId = :projectId " +
             "AND pm.userId = :userId AND pm.role = :role")
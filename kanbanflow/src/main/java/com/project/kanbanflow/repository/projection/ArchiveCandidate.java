@@ -0,0 +1,6 @@
+package com.project.kanbanflow.repository.projection;
+
+import java.util.UUID;
+
+public record ArchiveCandidate(UUID id, UUID projectId) {
+}
@@ -0,0 +1,10 @@
+package com.project.kanbanflow.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * An archived entity as seen by a restore: its project, the project owner for
+ * archived projects, and the parent it has to be restored under.
+ */
+public record ArchivedRoot(UUID projectId, UUID ownerId, UUID parentId, boolean parentLive) {
+}
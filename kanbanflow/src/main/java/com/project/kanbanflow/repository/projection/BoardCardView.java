@@ -0,0 +1,24 @@
+package com.project.kanbanflow.repository.projection;
+
+import com.project.kanbanflow.entity.enums.Priority;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record BoardCardView(
+        UUID id,
+        UUID columnId,
+        String title,
+        String description,
+        Priority priority,
+        LocalDate dueDate,
+        String coverColor,
+        boolean completed,
+        String rank,
+        UUID assigneeId,
+        String assigneeUsername,
+        String assigneeFullName,
+        String assigneeAvatarUrl,
+        long commentCount
+) {
+}
@@ -0,0 +1,21 @@
+package com.project.kanbanflow.repository.projection;
+
+import com.project.kanbanflow.entity.enums.Priority;
+
+import java.util.UUID;
+
+public record CardFacetCount(
+        Priority priority,
+        UUID assigneeId,
+        boolean completed,
+        Due due,
+        long count
+) {
+
+    // Where the due date falls relative to the database's current date
+    public enum Due { PAST, TODAY, WEEK, LATER, NONE }
+
+    public boolean overdue() {
+        return due == Due.PAST && !completed;
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.kanbanflow.repository.projection;
+
+import com.project.kanbanflow.entity.enums.Priority;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record CardFacetRow(
+        UUID id,
+        Priority priority,
+        UUID assigneeId,
+        boolean completed,
+        LocalDate dueDate
+) {
+}
@@ -0,0 +1,15 @@
+package com.project.kanbanflow.repository.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A search match with the sort key it was ordered by: its text rank for text
+ * queries, otherwise its creation time.
+ */
+public record CardSearchHit(
+        UUID id,
+        Float rank,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,25 @@
+package com.project.kanbanflow.repository.projection;
+
+import com.project.kanbanflow.entity.enums.Priority;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ExportCardView(
+        UUID columnId,
+        String columnName,
+        int columnPosition,
+        UUID cardId,
+        String title,
+        String description,
+        Priority priority,
+        boolean completed,
+        LocalDate dueDate,
+        String assigneeFullName
+) {
+
+    // False for the single row of a column without cards
+    public boolean hasCard() {
+        return cardId != null;
+    }
+}
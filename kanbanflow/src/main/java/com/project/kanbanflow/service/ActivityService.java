@@ -1,45 +1,95 @@
 package com.project.kanbanflow.service;
 
+import com.project.kanbanflow.dtos.CursorPageDto;
 import com.project.kanbanflow.entity.Activity;
 import com.project.kanbanflow.entity.Project;
-import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.event.ActivityLoggedEvent;
+import com.project.kanbanflow.exception.BadRequestException;
 import com.project.kanbanflow.repository.ActivityRepository;
-import jakarta.transaction.Transactional;
+import com.project.kanbanflow.util.Cursors;
+import com.project.kanbanflow.util.UuidV7;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ActivityService {
 
+    private static final int MAX_FEED_SIZE = 100;
+
     private final ActivityRepository activityRepository;
     private final UserService userService;
+    private final ProjectService projectService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // Goes to ActivityWriter's outbox in the surrounding transaction and is moved to activities in batches
     public void logActivity(Project project, String action, String entityType, UUID entityId, String details) {
-        User currentUser = userService.getCurrentUser();
-
-        Activity activity = Activity.builder()
-                .project(project)
-                .user(currentUser)
-                .action(action)
-                .entityType(entityType)
-                .entityId(entityId)
-                .details(details)
-                .build();
+        logActivity(project, userService.getCurrentUserId(), action, entityType, entityId, details);
+    }
 
-        activityRepository.save(activity);
+    public void logActivity(Project project, UUID userId, String action, String entityType, UUID entityId,
+                            String details) {
+        eventPublisher.publishEvent(new ActivityLoggedEvent(
+                UuidV7.next(),
+                project.getId(),
+                userId,
+                action,
+                entityType,
+                entityId,
+                details,
+                Instant.now()));
     }
 
+    @Transactional(readOnly = true)
     public Page<Activity> getProjectActivities(UUID projectId, Pageable pageable) {
         return activityRepository.findByProjectIdOrderByCreatedAtDesc(projectId, pageable);
     }
 
+    /**
+     * Newest-first activity feed. Each page continues from the (createdAt, id)
+     * of the previous one, so deep pages cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<Activity> getProjectFeed(UUID projectId, String cursor, int size) {
+        projectService.checkAccess(projectId);
+
+        int limit = Math.clamp(size, 1, MAX_FEED_SIZE);
+        List<Activity> activities;
+        if (cursor == null) {
+            activities = activityRepository.findFeed(projectId, Limit.of(limit + 1));
+        } else {
+            String[] parts = Cursors.decode(cursor, 2);
+            try {
+                activities = activityRepository.findFeedAfter(projectId,
+                        Instant.parse(parts[0]), UUID.fromString(parts[1]), Limit.of(limit + 1));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        boolean hasMore = activities.size() > limit;
+        if (hasMore) {
+            activities = activities.subList(0, limit);
+        }
+        Activity last = hasMore ? activities.getLast() : null;
+        return CursorPageDto.<Activity>builder()
+                .items(activities)
+                .nextCursor(last != null ? Cursors.encode(last.getCreatedAt().toString(), last.getId().toString()) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public List<Activity> getCardActivities(UUID cardId) {
         return activityRepository.findByEntityIdAndEntityTypeOrderByCreatedAtDesc(cardId, "CARD");
     }
@@ -0,0 +1,171 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.event.ActivityLoggedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes activities behind the request through an outbox: each entry is
+ * inserted into {@code activity_outbox} in the transaction that logs it, so it
+ * commits or rolls back with the change, and a scheduled drain moves committed
+ * entries to {@code activities} in JDBC batches. Nothing is held in memory, so
+ * a crash or a burst only delays entries until the next drain.
+ */
+@Component
+@Slf4j
+public class ActivityWriter {
+
+    private static final String OUTBOX_INSERT_SQL = "INSERT INTO activity_outbox " +
+            "(id, project_id, user_id, action, entity_type, entity_id, details, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Concurrent drains, e.g. from several instances, take disjoint batches
+    private static final String OUTBOX_SELECT_SQL = "SELECT seq, id, project_id, user_id, action, entity_type, " +
+            "entity_id, details, created_at FROM activity_outbox ORDER BY seq LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String OUTBOX_DELETE_SQL = "DELETE FROM activity_outbox WHERE seq = ?";
+
+    private static final String OUTBOX_COUNT_SQL = "SELECT count(*) FROM activity_outbox";
+
+    private static final String INSERT_SQL = "INSERT INTO activities " +
+            "(id, project_id, user_id, action, entity_type, entity_id, details, created_at, updated_at, is_deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public ActivityWriter(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${kanbanflow.activity.writer.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+
+        this.flushTimer = meterRegistry.timer("activity.writer.flush");
+        this.written = meterRegistry.counter("activity.writer.written");
+        this.failed = meterRegistry.counter("activity.writer.failed");
+        this.dropped = meterRegistry.counter("activity.writer.dropped");
+        // Entries committed but not yet drained, across all instances
+        Gauge.builder("activity.writer.outbox", this, ActivityWriter::outboxDepth).register(meterRegistry);
+    }
+
+    // Synchronous, so the row joins the publisher's transaction
+    @EventListener
+    public void onActivityLogged(ActivityLoggedEvent activity) {
+        jdbcTemplate.update(OUTBOX_INSERT_SQL, activity.id(), activity.projectId(), activity.userId(),
+                activity.action(), activity.entityType(), activity.entityId(), activity.details(),
+                Timestamp.from(activity.createdAt()));
+    }
+
+    /**
+     * Moves committed entries from the outbox to the activity log, one
+     * transaction per batch, until the outbox is empty. A batch that fails
+     * stays in the outbox for the next drain, except for entries that can
+     * never be written, which are dropped one by one and counted apart.
+     *
+     * @return the number of entries written
+     */
+    @Scheduled(fixedDelayString = "${kanbanflow.activity.writer.flush-interval:200ms}")
+    public int drain() {
+        int total = 0;
+        while (true) {
+            int count;
+            try {
+                count = flushTimer.record(() -> transactionTemplate.execute(status -> drainBatch(batchSize)));
+            } catch (DataIntegrityViolationException e) {
+                total += drainSingly();
+                continue;
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("Failed to write a batch of activities, retrying on the next drain", e);
+                return total;
+            }
+            written.increment(count);
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    // Entries that break a constraint, e.g. for a project purged meanwhile, must not hold up the rest
+    private int drainSingly() {
+        int count = 0;
+        for (int i = 0; i < batchSize; i++) {
+            List<Long> selected = new ArrayList<>(1);
+            try {
+                if (transactionTemplate.execute(status -> drainBatch(1, selected)) == 0) {
+                    break;
+                }
+                written.increment();
+                count++;
+            } catch (DataIntegrityViolationException e) {
+                // The failed entry's lock went with the rollback and another drain may hold the
+                // first row now, so delete exactly the entry that failed
+                transactionTemplate.executeWithoutResult(status ->
+                        selected.forEach(seq -> jdbcTemplate.update(OUTBOX_DELETE_SQL, seq)));
+                dropped.increment();
+                log.error("Dropped an activity that cannot be written", e);
+            }
+        }
+        return count;
+    }
+
+    private double outboxDepth() {
+        return jdbcTemplate.queryForObject(OUTBOX_COUNT_SQL, Long.class);
+    }
+
+    private int drainBatch(int limit) {
+        return drainBatch(limit, new ArrayList<>(limit));
+    }
+
+    // Adds the seq of every entry it selects to the given list, which outlives a rollback
+    private int drainBatch(int limit, List<Long> selected) {
+        List<Object[]> batch = jdbcTemplate.query(OUTBOX_SELECT_SQL, (rs, rowNum) -> new Object[]{
+                rs.getLong("seq"),
+                rs.getObject("id"),
+                rs.getObject("project_id"),
+                rs.getObject("user_id"),
+                rs.getString("action"),
+                rs.getString("entity_type"),
+                rs.getObject("entity_id"),
+                rs.getString("details"),
+                rs.getTimestamp("created_at")
+        }, limit);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.forEach(row -> selected.add((Long) row[0]));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+            for (int i = 1; i < row.length; i++) {
+                ps.setObject(i, row[i]);
+            }
+            // updated_at starts out as created_at
+            ps.setObject(row.length, row[row.length - 1]);
+        });
+        jdbcTemplate.batchUpdate(OUTBOX_DELETE_SQL, batch, batch.size(), (ps, row) -> ps.setLong(1, (Long) row[0]));
+        return batch.size();
+    }
+}
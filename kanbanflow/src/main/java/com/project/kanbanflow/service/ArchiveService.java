@@ -0,0 +1,228 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.enums.ArchiveRoot;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.exception.ForbiddenException;
+import com.project.kanbanflow.exception.NotFoundException;
+import com.project.kanbanflow.repository.ArchiveRepository;
+import com.project.kanbanflow.repository.projection.ArchiveCandidate;
+import com.project.kanbanflow.repository.projection.ArchivedRoot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves entities that have been soft-deleted for longer than the retention
+ * window, with everything below them, into the archive, and deletes archived
+ * rows once they are older than the keep window. Each batch commits on its
+ * own and is followed by a pause, and a run stops after a fixed number of
+ * rows, so the job never holds locks or I/O for long.
+ */
+@Service
+@Slf4j
+public class ArchiveService {
+
+    private static final int CANDIDATE_BATCH = 100;
+
+    private final ArchiveRepository archiveRepository;
+    private final ProjectService projectService;
+    private final UserService userService;
+    private final BoardVersionService boardVersionService;
+    private final CardLimitService cardLimitService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache entityCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+    private final Counter failures;
+
+    @Value("${kanbanflow.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${kanbanflow.archive.retention:30d}")
+    private Duration retention;
+
+    @Value("${kanbanflow.archive.keep:365d}")
+    private Duration keep;
+
+    @Value("${kanbanflow.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${kanbanflow.archive.pause:100ms}")
+    private Duration pause;
+
+    @Value("${kanbanflow.archive.max-rows-per-run:100000}")
+    private long maxRowsPerRun;
+
+    public ArchiveService(ArchiveRepository archiveRepository,
+                          ProjectService projectService,
+                          UserService userService,
+                          BoardVersionService boardVersionService,
+                          CardLimitService cardLimitService,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          EntityManagerFactory entityManagerFactory,
+                          MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.projectService = projectService;
+        this.userService = userService;
+        this.boardVersionService = boardVersionService;
+        this.cardLimitService = cardLimitService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityCache = entityManagerFactory.getCache();
+        this.meterRegistry = meterRegistry;
+        this.runTimer = meterRegistry.timer("archive.run");
+        this.failures = meterRegistry.counter("archive.failed");
+    }
+
+    @Scheduled(cron = "${kanbanflow.archive.cron:0 30 3 * * *}")
+    public void archiveExpired() {
+        if (!enabled) return;
+
+        runTimer.record(() -> {
+            Instant cutoff = Instant.now().minus(retention);
+            long budget = maxRowsPerRun;
+            // Parents first, so their children leave together with them
+            for (ArchiveRoot root : ArchiveRoot.values()) {
+                budget -= archiveRoots(root, cutoff, budget);
+                if (budget <= 0) {
+                    log.info("Archive run stopped after {} rows", maxRowsPerRun);
+                    return;
+                }
+            }
+
+            Instant expired = Instant.now().minus(keep);
+            int deleted;
+            while ((deleted = archiveRepository.deleteArchivedBefore(expired, batchSize)) > 0) {
+                meterRegistry.counter("archive.expired").increment(deleted);
+                sleep();
+            }
+        });
+    }
+
+    private long archiveRoots(ArchiveRoot root, Instant cutoff, long budget) {
+        long moved = 0;
+        Set<UUID> failed = new HashSet<>();
+        while (moved < budget) {
+            List<ArchiveCandidate> candidates = archiveRepository.findExpiredRoots(root, cutoff, CANDIDATE_BATCH);
+            boolean progress = false;
+            for (ArchiveCandidate candidate : candidates) {
+                if (failed.contains(candidate.id())) continue;
+                try {
+                    moved += archive(root, candidate, budget - moved);
+                    progress = true;
+                } catch (DataAccessException e) {
+                    // Usually a row below it was locked and skipped, the next run retries
+                    log.warn("Failed to archive {} {}", root, candidate.id(), e);
+                    failures.increment();
+                    failed.add(candidate.id());
+                }
+                if (moved >= budget) break;
+            }
+            if (!progress) break;
+        }
+        if (moved > 0) {
+            log.info("Archived {} rows for deleted {}s", moved, root.name().toLowerCase());
+        }
+        return moved;
+    }
+
+    private long archive(ArchiveRoot root, ArchiveCandidate candidate, long budget) {
+        long moved = 0;
+        while (moved < budget) {
+            int limit = (int) Math.min(batchSize, budget - moved);
+            ArchiveRepository.ArchiveBatch batch = transactionTemplate.execute(status ->
+                    archiveRepository.archiveNext(root, candidate, limit));
+            if (batch == null) break;
+
+            meterRegistry.counter("archive.rows", "table", batch.table()).increment(batch.rows());
+            evictCached(batch.table());
+            moved += batch.rows();
+            sleep();
+        }
+        return moved;
+    }
+
+    /**
+     * Brings an archived entity back with everything that was archived with
+     * it. Projects can be restored by their owner, everything else by the
+     * project's editors, as long as the parent it belonged to still exists.
+     */
+    @Transactional
+    public void restore(ArchiveRoot root, UUID id) {
+        ArchivedRoot archived = archiveRepository.findArchivedRoot(root, id)
+                .orElseThrow(() -> new NotFoundException("Archived item not found"));
+
+        if (root == ArchiveRoot.PROJECT) {
+            if (!userService.getCurrentUserId().equals(archived.ownerId())) {
+                throw new ForbiddenException("Only owner can restore project");
+            }
+        } else if (!projectService.checkAccess(archived.projectId()).canEdit()) {
+            throw new ForbiddenException("You don't have permission to restore this item");
+        }
+        if (!archived.parentLive()) {
+            throw new BadRequestException("The item it belonged to has been deleted");
+        }
+
+        int rows = archiveRepository.restore(root, id);
+        meterRegistry.counter("archive.restored", "root", root.name()).increment(rows);
+        log.info("Restored {} {} with {} rows", root, id, rows);
+        cardLimitService.recount(archived.projectId());
+
+        switch (root) {
+            case PROJECT -> {
+                boardVersionService.initialize(id);
+                eventPublisher.publishEvent(ProjectAccessChangedEvent.forProject(id));
+            }
+            case COLUMN -> boardVersionService.recordChange(
+                    archived.projectId(), BoardEntityType.COLUMN, id, BoardChangeType.CREATED);
+            case CARD -> boardVersionService.recordChange(
+                    archived.projectId(), BoardEntityType.CARD, id, BoardChangeType.CREATED);
+            case COMMENT -> boardVersionService.recordChange(
+                    archived.projectId(), BoardEntityType.CARD, archived.parentId(), BoardChangeType.UPDATED);
+        }
+    }
+
+    // Rows moved with JDBC bypass Hibernate, so their second-level cache entries have to go as well
+    private void evictCached(String table) {
+        switch (table) {
+            case "projects" -> entityCache.evict(Project.class);
+            case "board_columns" -> entityCache.evict(BoardColumn.class);
+            default -> {
+            }
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archive run interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.event.BoardChangedEvent;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed board changes to the subscribers of a project over SSE.
+ * Each subscriber is drained by its own virtual thread from a bounded queue
+ * that keeps only the latest change per entity; a subscriber that falls
+ * further behind is told to resync through the changes endpoint instead.
+ */
+@Component
+@Slf4j
+public class BoardEventHub {
+
+    private record EntityKey(BoardEntityType type, UUID id) {
+    }
+
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadFactory senderThreads;
+
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int queueCapacity;
+    private final Counter coalesced;
+    private final Counter overflows;
+
+    @Autowired
+    public BoardEventHub(MeterRegistry meterRegistry,
+                         @Value("${kanbanflow.events.timeout:30m}") Duration timeout,
+                         @Value("${kanbanflow.events.heartbeat:20s}") Duration heartbeat,
+                         @Value("${kanbanflow.events.queue-capacity:256}") int queueCapacity) {
+        this(meterRegistry, timeout, heartbeat, queueCapacity, Thread.ofVirtual().name("board-events-", 0).factory());
+    }
+
+    // Tests start the sender threads themselves, to let changes queue up first
+    BoardEventHub(MeterRegistry meterRegistry, Duration timeout, Duration heartbeat, int queueCapacity,
+                  ThreadFactory senderThreads) {
+        this.senderThreads = senderThreads;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.queueCapacity = queueCapacity;
+        this.coalesced = meterRegistry.counter("board.events.coalesced");
+        this.overflows = meterRegistry.counter("board.events.overflows");
+
+        Gauge.builder("board.events.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID projectId, UUID userId, long version) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(projectId, userId, emitter, version);
+
+        subscriptions.compute(projectId, (id, subscribers) -> {
+            Set<Subscription> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        senderThreads.newThread(subscription::run).start();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        Set<Subscription> subscribers = subscriptions.get(event.projectId());
+        if (subscribers != null) {
+            subscribers.forEach(subscription -> subscription.offer(event));
+        }
+    }
+
+    // Dropped subscribers reconnect, which runs the access check again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessChanged(ProjectAccessChangedEvent event) {
+        Set<Subscription> subscribers = subscriptions.get(event.projectId());
+        if (subscribers == null) return;
+
+        subscribers.stream()
+                .filter(subscription -> event.userId() == null || event.userId().equals(subscription.userId))
+                .toList()
+                .forEach(Subscription::complete);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().stream()
+                .flatMap(Set::stream)
+                .toList()
+                .forEach(Subscription::complete);
+    }
+
+    private final class Subscription {
+
+        private final UUID projectId;
+        private final UUID userId;
+        private final SseEmitter emitter;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final LinkedHashMap<EntityKey, BoardChangedEvent> pending = new LinkedHashMap<>();
+        private long version;
+        private boolean overflowed;
+        private boolean closed;
+
+        Subscription(UUID projectId, UUID userId, SseEmitter emitter, long version) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.version = version;
+        }
+
+        void offer(BoardChangedEvent event) {
+            lock.lock();
+            try {
+                if (closed) return;
+                version = Math.max(version, event.version());
+
+                if (overflowed) {
+                    coalesced.increment();
+                } else if (pending.remove(new EntityKey(event.entityType(), event.entityId())) != null) {
+                    coalesced.increment();
+                    pending.put(new EntityKey(event.entityType(), event.entityId()), event);
+                } else {
+                    pending.put(new EntityKey(event.entityType(), event.entityId()), event);
+                    if (pending.size() > queueCapacity) {
+                        pending.clear();
+                        overflowed = true;
+                        overflows.increment();
+                    }
+                }
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void run() {
+            try {
+                emitter.send(SseEmitter.event().name("ready").id(String.valueOf(version)).data(version));
+
+                while (true) {
+                    List<BoardChangedEvent> batch;
+                    boolean resync;
+                    long resyncVersion;
+
+                    lock.lock();
+                    try {
+                        long waitNanos = heartbeat.toNanos();
+                        while (!closed && !overflowed && pending.isEmpty() && waitNanos > 0) {
+                            waitNanos = changed.awaitNanos(waitNanos);
+                        }
+                        if (closed) return;
+
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        resync = overflowed;
+                        overflowed = false;
+                        resyncVersion = version;
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    // Sends happen outside the lock, so a slow client only delays itself
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name("resync").id(String.valueOf(resyncVersion))
+                                .data(resyncVersion));
+                    } else if (batch.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        for (BoardChangedEvent event : batch) {
+                            emitter.send(SseEmitter.event().name("change").id(String.valueOf(event.version()))
+                                    .data(event, MediaType.APPLICATION_JSON));
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Board event subscriber of project {} disconnected: {}", projectId, e.getMessage());
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                complete();
+            }
+        }
+
+        void complete() {
+            close();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed by the container
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                if (closed) return;
+                closed = true;
+                pending.clear();
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            subscriptions.computeIfPresent(projectId, (id, subscribers) -> {
+                if (subscribers.remove(this)) {
+                    subscriberCount.decrementAndGet();
+                }
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
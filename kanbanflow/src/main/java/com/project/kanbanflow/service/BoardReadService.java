@@ -0,0 +1,235 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.dtos.BoardChangesDto;
+import com.project.kanbanflow.dtos.BoardColumnDto;
+import com.project.kanbanflow.dtos.CardDto;
+import com.project.kanbanflow.dtos.UserSummaryDto;
+import com.project.kanbanflow.entity.BoardChange;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.repository.BoardChangeRepository;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.projection.BoardCardView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds the board view from two queries: one for the columns and one
+ * projection for all cards with their assignee and comment count.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BoardReadService {
+
+    private final BoardColumnRepository columnRepository;
+    private final CardRepository cardRepository;
+    private final BoardChangeRepository changeRepository;
+    private final BoardVersionService boardVersionService;
+
+    // Past this many journal entries a full board is cheaper than the delta
+    @Value("${kanbanflow.board.changes.max-delta:500}")
+    private int maxDelta;
+
+    public List<BoardColumnDto> getBoard(UUID projectId) {
+        List<BoardColumn> columns = columnRepository.findByProjectIdOrderByPositionAsc(projectId);
+
+        Map<UUID, List<CardDto>> cardsByColumn = new LinkedHashMap<>();
+        columns.forEach(column -> cardsByColumn.put(column.getId(), new ArrayList<>()));
+
+        Map<UUID, UserSummaryDto> assignees = new HashMap<>();
+        LocalDate today = LocalDate.now();
+
+        for (BoardCardView view : cardRepository.findBoardCards(projectId)) {
+            List<CardDto> cards = cardsByColumn.get(view.columnId());
+            if (cards == null) continue;
+
+            cards.add(toCardDto(view, cards.size(), today, assignees));
+        }
+
+        return columns.stream()
+                .map(column -> {
+                    List<CardDto> cards = cardsByColumn.get(column.getId());
+                    return toColumnDto(column, cards.size(), cards);
+                })
+                .toList();
+    }
+
+    /**
+     * Loads board cards by id, in the order of the given ids.
+     */
+    public List<CardDto> getCards(UUID projectId, List<UUID> cardIds) {
+        if (cardIds.isEmpty()) return List.of();
+        return toOrderedCards(cardIds, cardRepository.findBoardCardsByIds(projectId, cardIds));
+    }
+
+    /**
+     * Same as {@link #getCards(UUID, List)} for ids the caller has already
+     * scoped, e.g. the cards assigned to the current user.
+     */
+    public List<CardDto> getCards(List<UUID> cardIds) {
+        if (cardIds.isEmpty()) return List.of();
+        return toOrderedCards(cardIds, cardRepository.findBoardCardsByIdIn(cardIds));
+    }
+
+    private List<CardDto> toOrderedCards(List<UUID> cardIds, List<BoardCardView> views) {
+        Map<UUID, UserSummaryDto> assignees = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        Map<UUID, CardDto> cards = new HashMap<>();
+        for (BoardCardView view : views) {
+            cards.put(view.id(), toCardDto(view, 0, today, assignees));
+        }
+
+        return cardIds.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public BoardChangesDto getChanges(UUID projectId, long since) {
+        long current = boardVersionService.currentVersion(projectId);
+        if (since >= current) {
+            return BoardChangesDto.builder()
+                    .version(current)
+                    .columns(List.of())
+                    .cards(List.of())
+                    .deletedColumnIds(List.of())
+                    .deletedCardIds(List.of())
+                    .build();
+        }
+
+        // The journal no longer reaches back to the client's version
+        Long oldest = changeRepository.findOldestVersion(projectId);
+        if (oldest == null || oldest > since + 1) {
+            return fullSnapshot(projectId, current);
+        }
+
+        List<BoardChange> changes = changeRepository
+                .findByProjectIdAndVersionGreaterThanOrderByVersionAsc(projectId, since, Limit.of(maxDelta + 1));
+        // Compaction may have removed the range since the oldest version was read
+        if (changes.isEmpty() || changes.size() > maxDelta) {
+            return fullSnapshot(projectId, current);
+        }
+
+        Set<UUID> cardIds = new LinkedHashSet<>();
+        boolean columnsChanged = false;
+        for (BoardChange change : changes) {
+            if (change.getEntityType() == BoardEntityType.CARD) {
+                cardIds.add(change.getEntityId());
+            } else if (change.getEntityType() == BoardEntityType.COLUMN) {
+                columnsChanged = true;
+            }
+        }
+
+        Map<UUID, UserSummaryDto> assignees = new HashMap<>();
+        LocalDate today = LocalDate.now();
+
+        // Cards that no longer load were deleted, whatever their journal says
+        List<CardDto> cards = new ArrayList<>();
+        if (!cardIds.isEmpty()) {
+            for (BoardCardView view : cardRepository.findBoardCardsByIds(projectId, cardIds)) {
+                cardIds.remove(view.id());
+                cards.add(toCardDto(view, 0, today, assignees));
+            }
+        }
+
+        // Moving one column shifts the others, so any column change resends them all
+        List<BoardColumnDto> columns = List.of();
+        List<UUID> deletedColumnIds = List.of();
+        if (columnsChanged) {
+            Map<UUID, Integer> cardCounts = new HashMap<>();
+            for (Object[] row : cardRepository.countCardsByColumn(projectId)) {
+                cardCounts.put((UUID) row[0], ((Number) row[1]).intValue());
+            }
+
+            columns = columnRepository.findByProjectIdOrderByPositionAsc(projectId).stream()
+                    .map(column -> toColumnDto(column, cardCounts.getOrDefault(column.getId(), 0), null))
+                    .toList();
+
+            Set<UUID> existing = new LinkedHashSet<>();
+            columns.forEach(column -> existing.add(column.getId()));
+            deletedColumnIds = changes.stream()
+                    .filter(change -> change.getEntityType() == BoardEntityType.COLUMN)
+                    .map(BoardChange::getEntityId)
+                    .filter(id -> !existing.contains(id))
+                    .distinct()
+                    .toList();
+        }
+
+        return BoardChangesDto.builder()
+                .version(changes.getLast().getVersion())
+                .columns(columns)
+                .cards(cards)
+                .deletedColumnIds(deletedColumnIds)
+                .deletedCardIds(List.copyOf(cardIds))
+                .build();
+    }
+
+    private BoardChangesDto fullSnapshot(UUID projectId, long version) {
+        return BoardChangesDto.builder()
+                .version(version)
+                .fullSnapshot(true)
+                .columns(getBoard(projectId))
+                .cards(List.of())
+                .deletedColumnIds(List.of())
+                .deletedCardIds(List.of())
+                .build();
+    }
+
+    private CardDto toCardDto(BoardCardView view, int position, LocalDate today,
+                              Map<UUID, UserSummaryDto> assignees) {
+        return CardDto.builder()
+                .id(view.id())
+                .columnId(view.columnId())
+                .title(view.title())
+                .description(view.description())
+                .priority(view.priority())
+                .dueDate(view.dueDate())
+                .coverColor(view.coverColor())
+                .completed(view.completed())
+                .position(position)
+                .rank(view.rank())
+                .assignee(assignee(view, assignees))
+                .commentCount((int) view.commentCount())
+                .overdue(view.dueDate() != null && today.isAfter(view.dueDate()) && !view.completed())
+                .build();
+    }
+
+    private BoardColumnDto toColumnDto(BoardColumn column, int cardCount, List<CardDto> cards) {
+        return BoardColumnDto.builder()
+                .id(column.getId())
+                .name(column.getName())
+                .color(column.getColor())
+                .position(column.getPosition())
+                .cardLimit(column.getCardLimit())
+                .cardCount(cardCount)
+                .cards(cards)
+                .build();
+    }
+
+    // The same assignee usually owns many cards, share one summary per user
+    private UserSummaryDto assignee(BoardCardView view, Map<UUID, UserSummaryDto> assignees) {
+        if (view.assigneeId() == null) return null;
+        return assignees.computeIfAbsent(view.assigneeId(), id -> UserSummaryDto.builder()
+                .id(id)
+                .username(view.assigneeUsername())
+                .fullName(view.assigneeFullName())
+                .avatarUrl(view.assigneeAvatarUrl())
+                .build());
+    }
+}
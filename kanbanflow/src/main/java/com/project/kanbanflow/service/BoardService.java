@@ -1,19 +1,22 @@
 package com.project.kanbanflow.service;
 
+import com.project.kanbanflow.dtos.BoardChangesDto;
 import com.project.kanbanflow.dtos.CreateColumnRequest;
 import com.project.kanbanflow.dtos.UpdateColumnRequest;
 import com.project.kanbanflow.entity.BoardColumn;
 import com.project.kanbanflow.entity.Card;
 import com.project.kanbanflow.entity.Project;
-import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
 import com.project.kanbanflow.exception.DuplicateException;
 import com.project.kanbanflow.exception.ForbiddenException;
 import com.project.kanbanflow.exception.NotFoundException;
 import com.project.kanbanflow.repository.BoardColumnRepository;
 import com.project.kanbanflow.repository.CardRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -28,15 +31,21 @@ public class BoardService {
     private final ProjectService projectService;
     private final UserService userService;
     private final ActivityService activityService;
+    private final ProjectAccessCache accessCache;
+    private final BoardVersionService boardVersionService;
+    private final CardLimitService cardLimitService;
+    private final BoardSnapshotCache snapshotCache;
+    private final BoardReadService boardReadService;
+    private final BoardEventHub eventHub;
 
 
 
+    @Transactional(readOnly = true)
     public boolean canUserEditColumn(UUID columnId, UUID userId) {
-        BoardColumn column = columnRepository.findById(columnId)
-                .orElseThrow(() -> new NotFoundException("Column not found"));
-        return projectService.canUserEditProject(column.getProject().getId(), userId);
+        return projectService.canUserEditProject(accessCache.getColumnProjectId(columnId), userId);
     }
 
+    @Transactional(readOnly = true)
     public boolean canUserEditCard(UUID cardId, UUID userId) {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new NotFoundException("Card not found"));
@@ -44,19 +53,36 @@ public class BoardService {
                 card.getBoardColumn().getProject().getId(), userId);
     }
 
-    public List<BoardColumn> getProjectColumns(UUID projectId) {
-        projectService.getProject(projectId);
-        return columnRepository.findAllWithCardsByProjectId(projectId);
+    @Transactional(readOnly = true)
+    public String getBoardEtag(UUID projectId) {
+        projectService.checkAccess(projectId);
+        return BoardSnapshotCache.etag(boardVersionService.currentVersion(projectId));
+    }
+
+    public byte[] getBoardSnapshot(UUID projectId, String etag) {
+        return snapshotCache.get(projectId, etag).body();
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(UUID projectId) {
+        projectService.checkAccess(projectId);
+        return eventHub.subscribe(projectId, userService.getCurrentUserId(),
+                boardVersionService.currentVersion(projectId));
+    }
+
+    @Transactional(readOnly = true)
+    public BoardChangesDto getBoardChanges(UUID projectId, long since) {
+        projectService.checkAccess(projectId);
+        return boardReadService.getChanges(projectId, since);
     }
 
     // COLUMNS
     @Transactional
     public BoardColumn createColumn(UUID projectId, CreateColumnRequest request) {
         Project project = projectService.getProject(projectId);
-        User currentUser = userService.getCurrentUser();
 
         // Check permission
-        if (!projectService.canUserEditProject(projectId, currentUser.getId())) {
+        if (!projectService.canUserEditProject(projectId, userService.getCurrentUserId())) {
             throw new ForbiddenException("You don't have permission to create columns");
         }
 
@@ -87,6 +113,9 @@ public class BoardService {
                 .build();
 
         BoardColumn savedColumn = columnRepository.save(column);
+        cardLimitService.initialize(savedColumn.getId());
+        boardVersionService.recordChange(projectId,
+                BoardEntityType.COLUMN, savedColumn.getId(), BoardChangeType.CREATED);
 
         // Log activity
         activityService.logActivity(
@@ -101,27 +130,32 @@ public class BoardService {
     }
 
     public BoardColumn updateColumn(UUID columnId, UpdateColumnRequest request) {
-        BoardColumn column = columnRepository.findById(columnId)
+        // Column row before the version row, the same order card writes take them in
+        BoardColumn column = columnRepository.lockById(columnId)
                 .orElseThrow(() -> new NotFoundException("Column not found"));
 
         column.setName(request.getName());
         column.setColor(request.getColor());
         column.setCardLimit(request.getCardLimit());
 
-        return columnRepository.save(column);
+        BoardColumn savedColumn = columnRepository.save(column);
+        boardVersionService.recordChange(column.getProject().getId(),
+                BoardEntityType.COLUMN, columnId, BoardChangeType.UPDATED);
+        return savedColumn;
     }
 
     @Transactional
     public void deleteColumn(UUID columnId) {
-        BoardColumn column = columnRepository.findById(columnId)
+        BoardColumn column = columnRepository.lockById(columnId)
                 .orElseThrow(() -> new NotFoundException("Column not found"));
 
-        User currentUser = userService.getCurrentUser();
-        if (!projectService.canUserEditProject(column.getProject().getId(), currentUser.getId())) {
+        if (!projectService.canUserEditProject(column.getProject().getId(), userService.getCurrentUserId())) {
             throw new ForbiddenException("You don't have permission to delete columns");
         }
 
         columnRepository.delete(column);
+        boardVersionService.recordChange(column.getProject().getId(),
+                BoardEntityType.COLUMN, columnId, BoardChangeType.DELETED);
 
         activityService.logActivity(
                 column.getProject(),
@@ -134,7 +168,7 @@ public class BoardService {
     }
 
     public void moveColumn(UUID columnId, Integer newPosition) {
-        BoardColumn column = columnRepository.findById(columnId)
+        BoardColumn column = columnRepository.lockById(columnId)
                 .orElseThrow(() -> new NotFoundException("Column not found"));
 
         Integer oldPosition = column.getPosition();
@@ -152,6 +186,8 @@ public class BoardService {
 
         column.setPosition(newPosition);
         columnRepository.save(column);
+        boardVersionService.recordChange(projectId,
+                BoardEntityType.COLUMN, columnId, BoardChangeType.MOVED);
     }
 
 
@@ -0,0 +1,69 @@
+package com.project.kanbanflow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Keeps the serialized board of recently read projects, tagged with the board
+ * version it was built from. Overdue flags depend on the current date, so the
+ * date is part of the tag as well.
+ */
+@Component
+public class BoardSnapshotCache {
+
+    public record Snapshot(String etag, byte[] body) {
+    }
+
+    private final BoardReadService boardReadService;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, Snapshot> snapshots;
+
+    public BoardSnapshotCache(BoardReadService boardReadService,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${kanbanflow.cache.board-snapshot.max-size:64MB}") DataSize maxSize) {
+        this.boardReadService = boardReadService;
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((UUID projectId, Snapshot snapshot) -> snapshot.body().length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "boardSnapshots");
+    }
+
+    public static String etag(long version) {
+        return "\"" + version + "-" + LocalDate.now().toEpochDay() + "\"";
+    }
+
+    public Snapshot get(UUID projectId, String etag) {
+        Snapshot cached = snapshots.getIfPresent(projectId);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        // Built after the version was read, so the body is never older than its tag
+        Snapshot snapshot = new Snapshot(etag, serialize(projectId));
+        snapshots.put(projectId, snapshot);
+        return snapshot;
+    }
+
+    private byte[] serialize(UUID projectId) {
+        try {
+            return objectMapper.writeValueAsBytes(boardReadService.getBoard(projectId));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize board " + projectId, e);
+        }
+    }
+}
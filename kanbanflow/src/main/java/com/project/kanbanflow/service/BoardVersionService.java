@@ -0,0 +1,124 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.BoardChange;
+import com.project.kanbanflow.entity.BoardVersion;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.event.BoardChangedEvent;
+import com.project.kanbanflow.repository.BoardChangeRepository;
+import com.project.kanbanflow.repository.BoardVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains a per-project counter that increases with every change visible on
+ * the board, and journals which entity each version changed. The counter lives
+ * in its own table so bumping it never touches the projects row that permission
+ * checks and listings read.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class BoardVersionService implements ApplicationRunner {
+
+    private static final String INSERT_CHANGE_SQL = "INSERT INTO board_changes " +
+            "(project_id, version, entity_type, entity_id, change_type, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final BoardVersionRepository versionRepository;
+    private final BoardChangeRepository changeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${kanbanflow.board.changes.retention:7d}")
+    private Duration changeRetention;
+
+    public void initialize(UUID projectId) {
+        versionRepository.save(new BoardVersion(projectId, 0));
+    }
+
+    public long recordChange(UUID projectId, BoardEntityType entityType, UUID entityId,
+                             BoardChangeType changeType) {
+        // Row lock keeps versions gap-free and in commit order per project
+        BoardVersion boardVersion = versionRepository.findForUpdate(projectId)
+                .orElseGet(() -> versionRepository.save(new BoardVersion(projectId, 0)));
+        boardVersion.setVersion(boardVersion.getVersion() + 1);
+
+        changeRepository.save(BoardChange.builder()
+                .projectId(projectId)
+                .version(boardVersion.getVersion())
+                .entityType(entityType)
+                .entityId(entityId)
+                .changeType(changeType)
+                .build());
+
+        eventPublisher.publishEvent(new BoardChangedEvent(
+                projectId, boardVersion.getVersion(), entityType, entityId, changeType));
+        return boardVersion.getVersion();
+    }
+
+    /**
+     * Same as {@link #recordChange} for many entities at once: one lock, one
+     * version per entity and a single batched journal insert.
+     */
+    public long recordChanges(UUID projectId, BoardEntityType entityType, Map<UUID, BoardChangeType> changes) {
+        BoardVersion boardVersion = versionRepository.findForUpdate(projectId)
+                .orElseGet(() -> versionRepository.save(new BoardVersion(projectId, 0)));
+        if (changes.isEmpty()) {
+            return boardVersion.getVersion();
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        long version = boardVersion.getVersion();
+        for (Map.Entry<UUID, BoardChangeType> change : changes.entrySet()) {
+            version++;
+            rows.add(new Object[]{projectId, version, entityType.name(), change.getKey(),
+                    change.getValue().name(), now});
+            eventPublisher.publishEvent(new BoardChangedEvent(
+                    projectId, version, entityType, change.getKey(), change.getValue()));
+        }
+        // The journal id is an identity column, which Hibernate will not batch
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, rows);
+        boardVersion.setVersion(version);
+        return version;
+    }
+
+    @Transactional(readOnly = true)
+    public long currentVersion(UUID projectId) {
+        return versionRepository.findVersion(projectId).orElse(0L);
+    }
+
+    @Scheduled(cron = "${kanbanflow.board.changes.compaction-cron:0 0 3 * * *}")
+    public void compactChanges() {
+        int deleted = changeRepository.deleteOlderThan(Instant.now().minus(changeRetention));
+        if (deleted > 0) {
+            log.info("Compacted {} board changes older than {}", deleted, changeRetention);
+        }
+    }
+
+    // Projects created before versioning get their counter on startup
+    @Override
+    public void run(ApplicationArguments args) {
+        int created = versionRepository.insertMissing();
+        if (created > 0) {
+            log.info("Initialized board versions for {} projects", created);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.dtos.BulkCardOperation;
+import com.project.kanbanflow.dtos.BulkCardResultDto;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.entity.enums.BulkCardAction;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.exception.ForbiddenException;
+import com.project.kanbanflow.exception.NotFoundException;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.UserRepository;
+import com.project.kanbanflow.util.RankKeys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies a list of card operations to one project in a single transaction.
+ * Access is checked once, everything the operations refer to is loaded up
+ * front, inserts and updates go out as JDBC batches at flush, and cards moved
+ * into a column are ranked between their new neighbours at the end. Card limits
+ * are checked in memory against the column counters, which stay locked for the
+ * batch and are written back once. An item that cannot be applied is reported
+ * in its result and skipped; the others still commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BulkCardService {
+
+    private final CardRepository cardRepository;
+    private final BoardColumnRepository columnRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ProjectService projectService;
+    private final UserService userService;
+    private final ActivityService activityService;
+    private final BoardVersionService boardVersionService;
+    private final CardLimitService cardLimitService;
+    private final CardRankRebalancer rankRebalancer;
+
+    public List<BulkCardResultDto> apply(UUID projectId, List<BulkCardOperation> operations) {
+        if (!projectService.checkAccess(projectId).canEdit()) {
+            throw new ForbiddenException("You don't have permission to edit this project");
+        }
+
+        Batch batch = new Batch(projectId, operations);
+        List<BulkCardResultDto> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BulkCardOperation operation = operations.get(i);
+            BulkCardResultDto.BulkCardResultDtoBuilder result = BulkCardResultDto.builder()
+                    .index(i)
+                    .action(operation.getAction())
+                    .cardId(operation.getCardId());
+            try {
+                results.add(result.cardId(batch.apply(operation)).success(true).build());
+            } catch (NotFoundException | BadRequestException e) {
+                results.add(result.success(false).error(e.getMessage()).build());
+            }
+        }
+
+        batch.reorderColumns();
+        batch.writeCounts();
+        boardVersionService.recordChanges(projectId, BoardEntityType.CARD, batch.changes);
+        return results;
+    }
+
+    private record Placement(Card card, Integer position) {
+    }
+
+    private final class Batch {
+
+        private final Project project;
+        private final UUID userId;
+        private final User currentUser;
+        private final Map<UUID, BoardColumn> columns = new HashMap<>();
+        private final Map<UUID, Card> cards = new HashMap<>();
+        private final Map<UUID, User> assignees = new HashMap<>();
+        private final Map<UUID, Integer> lockedCounts;
+        private final Map<UUID, Integer> cardCounts;
+        private final Map<UUID, String> lastRanks = new HashMap<>();
+        private final Map<UUID, Integer> nextPositions = new HashMap<>();
+        private final Map<UUID, List<Placement>> placements = new LinkedHashMap<>();
+        private final Map<UUID, BoardChangeType> changes = new LinkedHashMap<>();
+
+        Batch(UUID projectId, List<BulkCardOperation> operations) {
+            this.project = projectRepository.getReferenceById(projectId);
+            this.userId = userService.getCurrentUserId();
+            this.currentUser = userRepository.getReferenceById(userId);
+
+            columnRepository.findByProjectIdOrderByPositionAscIdAsc(projectId)
+                    .forEach(column -> columns.put(column.getId(), column));
+            // Held until commit, so single-card changes wait for the batch instead of racing its checks
+            lockedCounts = cardLimitService.lockCounts(projectId);
+            cardCounts = new HashMap<>(lockedCounts);
+            // Columns that receive cards, in id order like the counters, before any rank is read
+            operations.stream()
+                    .filter(operation -> operation.getAction() == BulkCardAction.CREATE
+                            || operation.getAction() == BulkCardAction.MOVE)
+                    .map(BulkCardOperation::getColumnId)
+                    .filter(columns::containsKey)
+                    .distinct()
+                    .sorted(Comparator.comparing(UUID::toString))
+                    .forEach(rankRebalancer::lockColumn);
+
+            Set<UUID> cardIds = new HashSet<>();
+            Set<UUID> deletedIds = new HashSet<>();
+            Set<UUID> assigneeIds = new HashSet<>();
+            for (BulkCardOperation operation : operations) {
+                if (operation.getCardId() != null) {
+                    cardIds.add(operation.getCardId());
+                    if (operation.getAction() == BulkCardAction.DELETE) {
+                        deletedIds.add(operation.getCardId());
+                    }
+                }
+                if (operation.getAction() == BulkCardAction.ASSIGN && operation.getAssigneeId() != null) {
+                    assigneeIds.add(operation.getAssigneeId());
+                }
+            }
+            cardRepository.findAllById(cardIds).stream()
+                    // Cards of other projects are reported as not found
+                    .filter(card -> columns.containsKey(card.getBoardColumn().getId()))
+                    .forEach(card -> cards.put(card.getId(), card));
+            if (!deletedIds.isEmpty()) {
+                cardRepository.findWithCommentsByIdIn(deletedIds);
+            }
+            userRepository.findAllById(assigneeIds).forEach(user -> assignees.put(user.getId(), user));
+        }
+
+        UUID apply(BulkCardOperation operation) {
+            return switch (operation.getAction()) {
+                case CREATE -> create(operation);
+                case UPDATE -> update(operation);
+                case MOVE -> move(operation);
+                case ASSIGN -> assign(operation);
+                case DELETE -> delete(operation);
+            };
+        }
+
+        private UUID create(BulkCardOperation operation) {
+            BoardColumn column = column(operation.getColumnId());
+            requireTitle(operation);
+            checkLimit(column);
+
+            // Appended to the column; columns that also receive moves are reordered at the end
+            String rank = RankKeys.between(lastRanks.computeIfAbsent(column.getId(),
+                    cardRepository::findMaxRankByColumnId), null);
+            int position = nextPositions.computeIfAbsent(column.getId(),
+                    id -> cardRepository.findMaxPositionByColumnId(id) + 1);
+            Card card = cardRepository.save(Card.builder()
+                    .title(operation.getTitle())
+                    .description(operation.getDescription())
+                    .priority(operation.getPriority())
+                    .dueDate(operation.getDueDate())
+                    .coverColor(operation.getCoverColor())
+                    .completed(Boolean.TRUE.equals(operation.getCompleted()))
+                    .position(position)
+                    .rank(rank)
+                    .boardColumn(column)
+                    .createdBy(currentUser)
+                    .build());
+            lastRanks.put(column.getId(), rank);
+            nextPositions.put(column.getId(), position + 1);
+            cardCounts.merge(column.getId(), 1, Integer::sum);
+            cards.put(card.getId(), card);
+
+            changed(card, BoardChangeType.CREATED);
+            activityService.logActivity(project, userId, "CREATED", "CARD", card.getId(),
+                    String.format("Created card '%s' in column '%s'", card.getTitle(), column.getName()));
+            return card.getId();
+        }
+
+        private UUID update(BulkCardOperation operation) {
+            Card card = card(operation.getCardId());
+            requireTitle(operation);
+
+            card.setTitle(operation.getTitle());
+            card.setDescription(operation.getDescription());
+            card.setPriority(operation.getPriority());
+            card.setDueDate(operation.getDueDate());
+            card.setCoverColor(operation.getCoverColor());
+            if (operation.getCompleted() != null) {
+                card.setCompleted(operation.getCompleted());
+            }
+
+            changed(card, BoardChangeType.UPDATED);
+            activityService.logActivity(project, userId, "UPDATED", "CARD", card.getId(),
+                    String.format("Updated card '%s'", card.getTitle()));
+            return card.getId();
+        }
+
+        private UUID move(BulkCardOperation operation) {
+            Card card = card(operation.getCardId());
+            BoardColumn target = column(operation.getColumnId());
+            UUID source = card.getBoardColumn().getId();
+            if (!source.equals(target.getId())) {
+                checkLimit(target);
+                cardCounts.merge(source, -1, Integer::sum);
+                cardCounts.merge(target.getId(), 1, Integer::sum);
+            }
+
+            card.setBoardColumn(target);
+            placements.computeIfAbsent(target.getId(), id -> new ArrayList<>())
+                    .add(new Placement(card, operation.getPosition()));
+
+            changed(card, BoardChangeType.MOVED);
+            activityService.logActivity(project, userId, "MOVED", "CARD", card.getId(),
+                    String.format("Moved card '%s' to column '%s'", card.getTitle(), target.getName()));
+            return card.getId();
+        }
+
+        private UUID assign(BulkCardOperation operation) {
+            Card card = card(operation.getCardId());
+            if (operation.getAssigneeId() == null) {
+                card.setAssignee(null);
+            } else {
+                User assignee = assignees.get(operation.getAssigneeId());
+                if (assignee == null) {
+                    throw new NotFoundException("User not found");
+                }
+                card.setAssignee(assignee);
+            }
+
+            changed(card, BoardChangeType.UPDATED);
+            return card.getId();
+        }
+
+        private UUID delete(BulkCardOperation operation) {
+            Card card = card(operation.getCardId());
+            cards.remove(card.getId());
+            cardCounts.merge(card.getBoardColumn().getId(), -1, Integer::sum);
+            placements.values().forEach(list -> list.removeIf(placement -> placement.card() == card));
+
+            cardRepository.delete(card);
+            changed(card, BoardChangeType.DELETED);
+            activityService.logActivity(project, userId, "DELETED", "CARD", card.getId(),
+                    String.format("Deleted card: %s", card.getTitle()));
+            return card.getId();
+        }
+
+        /**
+         * Puts moved cards at their requested positions, each with a rank
+         * between its new neighbours so the other cards keep theirs. Only a
+         * column whose ranks collided is re-spread, and then every card whose
+         * rank changed is journaled.
+         */
+        void reorderColumns() {
+            placements.forEach((columnId, moved) -> {
+                if (moved.isEmpty()) return;
+
+                // Flushes the moves first, so the column already holds the moved cards
+                List<Card> ordered = new ArrayList<>(cardRepository.findForRebalance(columnId));
+                Set<Card> placed = new HashSet<>();
+                moved.forEach(placement -> placed.add(placement.card()));
+                ordered.removeIf(placed::contains);
+
+                boolean collided = false;
+                for (Placement placement : moved) {
+                    if (!Objects.equals(placement.card().getBoardColumn().getId(), columnId)) continue;
+                    int position = placement.position() == null ? ordered.size()
+                            : Math.clamp(placement.position(), 0, ordered.size());
+                    ordered.remove(placement.card());
+                    position = Math.min(position, ordered.size());
+                    ordered.add(position, placement.card());
+
+                    String lower = position > 0 ? ordered.get(position - 1).getRank() : null;
+                    String upper = position < ordered.size() - 1 ? ordered.get(position + 1).getRank() : null;
+                    if (upper != null && lower != null && lower.compareTo(upper) >= 0) {
+                        collided = true;
+                        continue;
+                    }
+                    placement.card().setRank(RankKeys.between(lower, upper));
+                    placement.card().setPosition(position);
+                    rankRebalancer.rebalanceIfDense(columnId, placement.card().getRank());
+                }
+                if (collided) {
+                    respread(ordered);
+                }
+            });
+        }
+
+        private void respread(List<Card> ordered) {
+            List<String> ranks = RankKeys.spread(ordered.size());
+            for (int i = 0; i < ordered.size(); i++) {
+                Card card = ordered.get(i);
+                if (!ranks.get(i).equals(card.getRank())) {
+                    card.setRank(ranks.get(i));
+                    changes.putIfAbsent(card.getId(), BoardChangeType.UPDATED);
+                }
+                card.setPosition(i);
+            }
+        }
+
+        void writeCounts() {
+            Map<UUID, Integer> changed = new HashMap<>();
+            cardCounts.forEach((columnId, count) -> {
+                if (!count.equals(lockedCounts.get(columnId))) {
+                    changed.put(columnId, count);
+                }
+            });
+            cardLimitService.updateCounts(changed);
+        }
+
+        private BoardColumn column(UUID columnId) {
+            BoardColumn column = columnId != null ? columns.get(columnId) : null;
+            if (column == null) {
+                throw new NotFoundException("Column not found");
+            }
+            return column;
+        }
+
+        private Card card(UUID cardId) {
+            Card card = cardId != null ? cards.get(cardId) : null;
+            if (card == null) {
+                throw new NotFoundException("Card not found");
+            }
+            return card;
+        }
+
+        private void requireTitle(BulkCardOperation operation) {
+            if (!StringUtils.hasText(operation.getTitle())) {
+                throw new BadRequestException("Title is required");
+            }
+        }
+
+        private void checkLimit(BoardColumn column) {
+            int limit = column.getCardLimit();
+            int count = cardCounts.getOrDefault(column.getId(), 0);
+            if (limit != 0 && count >= limit) {
+                throw CardLimitService.limitReached(column, count);
+            }
+        }
+
+        // A card created in this batch stays CREATED unless it is deleted again
+        private void changed(Card card, BoardChangeType type) {
+            changes.merge(card.getId(), type, (previous, next) ->
+                    previous == BoardChangeType.CREATED && next != BoardChangeType.DELETED ? previous : next);
+        }
+    }
+}
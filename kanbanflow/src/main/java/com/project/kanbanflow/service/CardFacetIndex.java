@@ -0,0 +1,319 @@
+package com.project.kanbanflow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.event.BoardChangedEvent;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.projection.CardFacetRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps a columnar copy of each recently searched project's card attributes:
+ * a compressed bitmap per priority, assignee and completion state, and card
+ * ordinals sorted by due date. Filters and facet counts are bitmap
+ * intersections instead of entity loads. Committed card changes only mark the
+ * card stale; stale cards are re-read in one query before the next lookup.
+ */
+@Component
+public class CardFacetIndex {
+
+    private final CardRepository cardRepository;
+    private final PrimaryReads primaryReads;
+    private final Cache<UUID, ProjectIndex> indexes;
+
+    public CardFacetIndex(CardRepository cardRepository,
+                          PrimaryReads primaryReads,
+                          MeterRegistry meterRegistry,
+                          @Value("${kanbanflow.search.facet-index.ttl:30m}") Duration ttl,
+                          @Value("${kanbanflow.search.facet-index.max-projects:1000}") long maxProjects) {
+        this.cardRepository = cardRepository;
+        this.primaryReads = primaryReads;
+        this.indexes = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxProjects)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "cardFacetIndexes");
+    }
+
+    /**
+     * Counts the cards matching the criteria filters, ignoring its text query,
+     * and the facets within them. {@code restrictTo}, when given, limits the
+     * result to those cards, e.g. the matches of a text query.
+     */
+    public Map<String, Integer> facets(UUID projectId, SearchCriteria criteria, Collection<UUID> restrictTo) {
+        ProjectIndex index = indexes.get(projectId,
+                id -> new ProjectIndex(primaryReads.get(() -> cardRepository.findFacetRows(id))));
+        primaryReads.run(() -> index.refresh(projectId, cardRepository));
+        // Same day boundary as the overdue counts done in SQL
+        return index.facets(criteria, restrictTo, cardRepository.currentDate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.entityType() == BoardEntityType.COLUMN
+                && (event.changeType() == BoardChangeType.DELETED || event.changeType() == BoardChangeType.CREATED)) {
+            // Deleting a column removes all of its cards at once, restoring one from the archive brings them back
+            indexes.invalidate(event.projectId());
+        } else if (event.entityType() == BoardEntityType.CARD) {
+            // Waits for an index being built, whose snapshot may predate this change
+            indexes.asMap().computeIfPresent(event.projectId(), (id, index) -> {
+                index.markStale(event.entityId());
+                return index;
+            });
+        }
+    }
+
+    static final class ProjectIndex {
+
+        private static final int NO_DUE_DATE = Integer.MIN_VALUE;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReentrantLock refreshLock = new ReentrantLock();
+        private final Set<UUID> stale = ConcurrentHashMap.newKeySet();
+
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<Priority> priorityOf = new ArrayList<>();
+        private final List<UUID> assigneeOf = new ArrayList<>();
+        private int[] dueDayOf = new int[16];
+
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final RoaringBitmap completed = new RoaringBitmap();
+        private final RoaringBitmap withDueDate = new RoaringBitmap();
+        private final Map<Priority, RoaringBitmap> byPriority = new EnumMap<>(Priority.class);
+        private final Map<UUID, RoaringBitmap> byAssignee = new LinkedHashMap<>();
+        private final RoaringBitmap unassigned = new RoaringBitmap();
+
+        // Ordinals with a due date sorted by that date, rebuilt lazily after changes
+        private int[] dueSorted = new int[0];
+        private int[] dueSortedDays = new int[0];
+        private boolean dueDirty = true;
+
+        ProjectIndex(List<CardFacetRow> rows) {
+            rows.forEach(this::upsert);
+            sortDueDates();
+        }
+
+        void markStale(UUID cardId) {
+            stale.add(cardId);
+        }
+
+        // Refreshes run one at a time, so an older read is never applied after a newer one
+        void refresh(UUID projectId, CardRepository cardRepository) {
+            if (stale.isEmpty()) return;
+
+            refreshLock.lock();
+            try {
+                List<UUID> cardIds = new ArrayList<>(stale);
+                if (cardIds.isEmpty()) return;
+                stale.removeAll(cardIds);
+                List<CardFacetRow> rows = cardRepository.findFacetRowsByIds(projectId, cardIds);
+
+                // Searches keep reading the index while the rows load
+                lock.writeLock().lock();
+                try {
+                    cardIds.forEach(this::remove);
+                    rows.forEach(this::upsert);
+                    sortDueDates();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+
+        Map<String, Integer> facets(SearchCriteria criteria, Collection<UUID> restrictTo, LocalDate today) {
+            lock.readLock().lock();
+            try {
+                RoaringBitmap matches = filter(criteria, restrictTo);
+                int todayDay = (int) today.toEpochDay();
+                RoaringBitmap overdue = RoaringBitmap.andNot(dueBetween(Integer.MIN_VALUE + 1, todayDay - 1), completed);
+
+                Map<String, Integer> facets = new LinkedHashMap<>();
+                facets.put("total", matches.getCardinality());
+                facets.put("completed", RoaringBitmap.andCardinality(matches, completed));
+                facets.put("overdue", RoaringBitmap.andCardinality(matches, overdue));
+
+                byPriority.forEach((priority, cards) -> put(facets, "priority." + priority.name(),
+                        RoaringBitmap.andCardinality(matches, cards)));
+                byAssignee.forEach((assigneeId, cards) -> put(facets, "assignee." + assigneeId,
+                        RoaringBitmap.andCardinality(matches, cards)));
+                put(facets, "assignee.none", RoaringBitmap.andCardinality(matches, unassigned));
+
+                put(facets, "due.today", RoaringBitmap.andCardinality(matches, dueBetween(todayDay, todayDay)));
+                put(facets, "due.week", RoaringBitmap.andCardinality(matches, dueBetween(todayDay + 1, todayDay + 7)));
+                put(facets, "due.later", RoaringBitmap.andCardinality(matches,
+                        dueBetween(todayDay + 8, Integer.MAX_VALUE)));
+                put(facets, "due.none", RoaringBitmap.andNotCardinality(matches, withDueDate));
+                return facets;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private RoaringBitmap filter(SearchCriteria criteria, Collection<UUID> restrictTo) {
+            RoaringBitmap matches = live.clone();
+            if (restrictTo != null) {
+                RoaringBitmap restricted = new RoaringBitmap();
+                for (UUID cardId : restrictTo) {
+                    Integer ordinal = ordinals.get(cardId);
+                    if (ordinal != null) restricted.add(ordinal);
+                }
+                matches.and(restricted);
+            }
+            if (criteria.getPriority() != null) {
+                matches.and(byPriority.getOrDefault(criteria.getPriority(), new RoaringBitmap()));
+            }
+            if (criteria.getAssigneeId() != null) {
+                matches.and(byAssignee.getOrDefault(criteria.getAssigneeId(), new RoaringBitmap()));
+            }
+            if (criteria.getCompleted() != null) {
+                if (criteria.getCompleted()) {
+                    matches.and(completed);
+                } else {
+                    matches.andNot(completed);
+                }
+            }
+            if (criteria.getDueDateFrom() != null || criteria.getDueDateTo() != null) {
+                int from = criteria.getDueDateFrom() != null
+                        ? (int) criteria.getDueDateFrom().toEpochDay() : Integer.MIN_VALUE + 1;
+                int to = criteria.getDueDateTo() != null
+                        ? (int) criteria.getDueDateTo().toEpochDay() : Integer.MAX_VALUE;
+                matches.and(dueBetween(from, to));
+            }
+            return matches;
+        }
+
+        private RoaringBitmap dueBetween(int fromDay, int toDay) {
+            int start = lowerBound(fromDay);
+            int end = toDay == Integer.MAX_VALUE ? dueSorted.length : lowerBound(toDay + 1);
+            return start >= end ? new RoaringBitmap() : RoaringBitmap.bitmapOf(Arrays.copyOfRange(dueSorted, start, end));
+        }
+
+        private int lowerBound(int day) {
+            int low = 0;
+            int high = dueSortedDays.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dueSortedDays[mid] < day) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private void upsert(CardFacetRow row) {
+            Integer existing = ordinals.get(row.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                clear(ordinal);
+            } else {
+                ordinal = priorityOf.size();
+                ordinals.put(row.id(), ordinal);
+                priorityOf.add(null);
+                assigneeOf.add(null);
+                if (ordinal >= dueDayOf.length) {
+                    dueDayOf = Arrays.copyOf(dueDayOf, dueDayOf.length * 2);
+                }
+            }
+
+            live.add(ordinal);
+            priorityOf.set(ordinal, row.priority());
+            if (row.priority() != null) {
+                byPriority.computeIfAbsent(row.priority(), p -> new RoaringBitmap()).add(ordinal);
+            }
+            assigneeOf.set(ordinal, row.assigneeId());
+            if (row.assigneeId() != null) {
+                byAssignee.computeIfAbsent(row.assigneeId(), id -> new RoaringBitmap()).add(ordinal);
+            } else {
+                unassigned.add(ordinal);
+            }
+            if (row.completed()) {
+                completed.add(ordinal);
+            }
+            dueDayOf[ordinal] = row.dueDate() != null ? (int) row.dueDate().toEpochDay() : NO_DUE_DATE;
+            if (row.dueDate() != null) {
+                withDueDate.add(ordinal);
+            }
+            dueDirty = true;
+        }
+
+        // Ordinals of removed cards are not reused; the index is rebuilt when it expires
+        private void remove(UUID cardId) {
+            Integer ordinal = ordinals.get(cardId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        }
+
+        private void clear(int ordinal) {
+            live.remove(ordinal);
+            Priority priority = priorityOf.set(ordinal, null);
+            if (priority != null) {
+                byPriority.get(priority).remove(ordinal);
+            }
+            UUID assigneeId = assigneeOf.set(ordinal, null);
+            if (assigneeId != null) {
+                RoaringBitmap cards = byAssignee.get(assigneeId);
+                cards.remove(ordinal);
+                if (cards.isEmpty()) byAssignee.remove(assigneeId);
+            }
+            unassigned.remove(ordinal);
+            completed.remove(ordinal);
+            withDueDate.remove(ordinal);
+            dueDayOf[ordinal] = NO_DUE_DATE;
+            dueDirty = true;
+        }
+
+        private void sortDueDates() {
+            if (!dueDirty) return;
+
+            int[] sorted = withDueDate.toArray();
+            long[] keyed = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keyed[i] = ((long) dueDayOf[sorted[i]] << 32) | sorted[i];
+            }
+            Arrays.sort(keyed);
+
+            dueSorted = new int[keyed.length];
+            dueSortedDays = new int[keyed.length];
+            for (int i = 0; i < keyed.length; i++) {
+                dueSorted[i] = (int) keyed[i];
+                dueSortedDays[i] = (int) (keyed[i] >> 32);
+            }
+            dueDirty = false;
+        }
+
+        private static void put(Map<String, Integer> facets, String key, int count) {
+            if (count > 0) facets.put(key, count);
+        }
+    }
+}
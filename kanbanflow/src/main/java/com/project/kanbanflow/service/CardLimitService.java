@@ -0,0 +1,102 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.repository.ColumnCardCountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Enforces column card limits against a counter per column instead of
+ * counting the column's cards. Adding a card is one conditional update that
+ * checks and increments the counter together, and the row stays locked until
+ * commit, so concurrent drops into a full column cannot both get in.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class CardLimitService implements ApplicationRunner {
+
+    private final ColumnCardCountRepository countRepository;
+
+    public void initialize(UUID columnId) {
+        countRepository.insert(columnId);
+    }
+
+    public void add(BoardColumn column) {
+        if (countRepository.incrementWithinLimit(column.getId(), column.getCardLimit())) {
+            return;
+        }
+        // Columns whose cards were written around the counters, e.g. by the load test seeder
+        if (countRepository.findCount(column.getId()).isEmpty()) {
+            countRepository.insertMissing(column.getProject().getId());
+            if (countRepository.incrementWithinLimit(column.getId(), column.getCardLimit())) {
+                return;
+            }
+        }
+        throw limitReached(column, countRepository.findCount(column.getId()).orElse(0));
+    }
+
+    public void remove(UUID columnId) {
+        countRepository.adjust(columnId, -1);
+    }
+
+    public void move(UUID sourceColumnId, BoardColumn target) {
+        // Counters are locked in column id order, so opposite moves between two columns cannot deadlock
+        if (compare(sourceColumnId, target.getId()) < 0) {
+            remove(sourceColumnId);
+            add(target);
+        } else {
+            add(target);
+            remove(sourceColumnId);
+        }
+    }
+
+    /**
+     * Locks the counters of all columns of a project for a batch of changes
+     * that is checked in memory and written back with {@link #updateCounts}.
+     */
+    public Map<UUID, Integer> lockCounts(UUID projectId) {
+        countRepository.insertMissing(projectId);
+        return countRepository.lockProjectCounts(projectId);
+    }
+
+    public void updateCounts(Map<UUID, Integer> counts) {
+        if (!counts.isEmpty()) {
+            countRepository.updateCounts(counts);
+        }
+    }
+
+    // After rows came back through the archive, which writes them with plain SQL
+    public void recount(UUID projectId) {
+        countRepository.insertMissing(projectId);
+        countRepository.recount(projectId);
+    }
+
+    public static BadRequestException limitReached(BoardColumn column, int count) {
+        return new BadRequestException(String.format("Column '%s' has reached its card limit (%d/%d)",
+                column.getName(), count, column.getCardLimit()));
+    }
+
+    // Same order as uuid comparison in the database, which is byte-wise unsigned
+    private static int compare(UUID first, UUID second) {
+        return first.toString().compareTo(second.toString());
+    }
+
+    // Columns created before the counters existed get theirs on startup
+    @Override
+    public void run(ApplicationArguments args) {
+        int created = countRepository.insertMissing(null);
+        if (created > 0) {
+            log.info("Initialized card counts for {} columns", created);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Assigns rank keys to cards created before rank ordering existed,
+ * preserving their integer position order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardRankMigration implements ApplicationRunner {
+
+    private final CardRepository cardRepository;
+    private final CardRankRebalancer rankRebalancer;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<UUID> columnIds = cardRepository.findColumnIdsWithUnrankedCards();
+        if (columnIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Migrating card positions to rank keys in {} columns", columnIds.size());
+        columnIds.forEach(rankRebalancer::rebalance);
+    }
+}
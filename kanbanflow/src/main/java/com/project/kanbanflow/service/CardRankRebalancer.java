@@ -0,0 +1,110 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.util.RankKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardRankRebalancer {
+
+    // Keys longer than this mean a column has been split too often in one spot
+    public static final int MAX_RANK_LENGTH = 16;
+
+    private final CardRepository cardRepository;
+    private final BoardColumnRepository columnRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final BoardVersionService boardVersionService;
+
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    public void rebalanceIfDense(UUID columnId, String rank) {
+        if (rank.length() > MAX_RANK_LENGTH) {
+            scheduleRebalance(columnId);
+        }
+    }
+
+    public void scheduleRebalance(UUID columnId) {
+        if (!pending.add(columnId)) {
+            return;
+        }
+
+        Runnable task = () -> {
+            try {
+                rebalance(columnId);
+            } catch (RuntimeException e) {
+                log.warn("Rank rebalance failed for column {}", columnId, e);
+            } finally {
+                pending.remove(columnId);
+            }
+        };
+
+        // Run after the current transaction so the triggering move is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        taskExecutor.execute(task);
+                    } else {
+                        pending.remove(columnId);
+                    }
+                }
+            });
+        } else {
+            taskExecutor.execute(task);
+        }
+    }
+
+    /**
+     * Locks a column against rank writes until the transaction ends. Anything
+     * that derives a rank from the column's current keys takes it first, so a
+     * rebalance never replaces the keys a concurrent move or create is placing
+     * its card between, and never misses a card that lands meanwhile.
+     */
+    public void lockColumn(UUID columnId) {
+        columnRepository.lockById(columnId);
+    }
+
+    public void rebalance(UUID columnId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockColumn(columnId);
+            List<Card> cards = cardRepository.findForRebalance(columnId);
+            List<String> ranks = RankKeys.spread(cards.size());
+            Map<UUID, BoardChangeType> changes = new LinkedHashMap<>();
+            for (int i = 0; i < cards.size(); i++) {
+                Card card = cards.get(i);
+                if (!ranks.get(i).equals(card.getRank())) {
+                    card.setRank(ranks.get(i));
+                    changes.put(card.getId(), BoardChangeType.UPDATED);
+                }
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            // Clients patch their boards from the journal, so every re-ranked card needs its entry
+            boardVersionService.recordChanges(cards.get(0).getBoardColumn().getProject().getId(),
+                    BoardEntityType.CARD, changes);
+            log.debug("Rebalanced {} card ranks in column {}", changes.size(), columnId);
+        });
+    }
+}
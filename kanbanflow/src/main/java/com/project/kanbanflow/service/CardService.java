@@ -5,12 +5,14 @@ import com.project.kanbanflow.dtos.UpdateCardRequest;
 import com.project.kanbanflow.entity.BoardColumn;
 import com.project.kanbanflow.entity.Card;
 import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
 import com.project.kanbanflow.entity.enums.Priority;
-import com.project.kanbanflow.exception.BadRequestException;
 import com.project.kanbanflow.exception.ForbiddenException;
 import com.project.kanbanflow.exception.NotFoundException;
 import com.project.kanbanflow.repository.BoardColumnRepository;
 import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.util.RankKeys;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,19 +29,23 @@ public class CardService {
     private final BoardColumnRepository columnRepository;
     private final UserService userService;
     private final ProjectService projectService;
+    private final CardRankRebalancer rankRebalancer;
+    private final BoardVersionService boardVersionService;
+    private final CardLimitService cardLimitService;
 
 
     private void checkEditPermission(UUID projectId) {
-        User currentUser = userService.getCurrentUser();
-        if (!projectService.canUserEditProject(projectId, currentUser.getId())) {
+        if (!projectService.canUserEditProject(projectId, userService.getCurrentUserId())) {
             throw new ForbiddenException("You don't have permission to edit this project");
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Card> getColumnCards(UUID columnId) {
-        return cardRepository.findByBoardColumnIdOrderByPositionAsc(columnId);
+        return cardRepository.findByBoardColumnIdOrderByRankAsc(columnId);
     }
 
+    @Transactional(readOnly = true)
     public Card getCard(UUID cardId) {
         return cardRepository.findById(cardId)
                 .orElseThrow(() -> new NotFoundException("Card not found"));
@@ -52,33 +58,26 @@ public class CardService {
 
         checkEditPermission(column.getProject().getId());
 
-        // Check card limit
-        if (column.getCardLimit() != 0) {
-            List<Card> existingCards = cardRepository.findByBoardColumnIdOrderByPositionAsc(columnId);
-            int currentCards = existingCards.size();
-
-            if (currentCards >= column.getCardLimit()) {
-                throw new BadRequestException(
-                        String.format("Column card limit reached (%d/%d)",
-                                currentCards, column.getCardLimit())
-                );
-            }
-        }
+        // Checks the limit and counts the card in one statement
+        cardLimitService.add(column);
+        rankRebalancer.lockColumn(columnId);
 
         Integer maxPosition = cardRepository.findMaxPositionByColumnId(columnId);
-        User currentUser = userService.getCurrentUser();
-
+        String rank = RankKeys.between(cardRepository.findMaxRankByColumnId(columnId), null);
         Card card = Card.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .priority(Priority.valueOf(request.getPriority()))
                 .dueDate(request.getDueDate())
                 .position(maxPosition + 1)
+                .rank(rank)
                 .boardColumn(column)
-                .createdBy(currentUser)
+                .createdBy(userService.getCurrentUserReference())
                 .build();
 
         Card savedCard = cardRepository.save(card);
+        boardVersionService.recordChange(column.getProject().getId(),
+                BoardEntityType.CARD, savedCard.getId(), BoardChangeType.CREATED);
 
         // Log activity
         activityService.logActivity(
@@ -110,6 +109,8 @@ public class CardService {
         }
 
         Card updatedCard = cardRepository.save(card);
+        boardVersionService.recordChange(card.getBoardColumn().getProject().getId(),
+                BoardEntityType.CARD, cardId, BoardChangeType.UPDATED);
 
         // Log activity
         activityService.logActivity(
@@ -130,60 +131,23 @@ public class CardService {
         BoardColumn targetColumn = columnRepository.findById(targetColumnId)
                 .orElseThrow(() -> new NotFoundException("Column not found"));
 
-        // Check card limit PROPERLY
-        if (targetColumn.getCardLimit() != 0 &&
-                !targetColumnId.equals(card.getBoardColumn().getId())) {
-
-            // Count cards in target column
-            List<Card> cardsInTargetColumn = cardRepository
-                    .findByBoardColumnIdOrderByPositionAsc(targetColumnId);
-
-            int currentCardCount = cardsInTargetColumn.size();
-
-            if (currentCardCount >= targetColumn.getCardLimit()) {
-                throw new BadRequestException(
-                        String.format("Column '%s' has reached its card limit (%d/%d)",
-                                targetColumn.getName(),
-                                currentCardCount,
-                                targetColumn.getCardLimit())
-                );
-            }
+        if (!targetColumnId.equals(card.getBoardColumn().getId())) {
+            cardLimitService.move(card.getBoardColumn().getId(), targetColumn);
         }
+        rankRebalancer.lockColumn(targetColumnId);
 
-        // Handle position updates
-        UUID oldColumnId = card.getBoardColumn().getId();
-        int oldPosition = card.getPosition();
-
-        // If moving within same column
-        if (oldColumnId.equals(targetColumnId)) {
-            if (!position.equals(oldPosition)) {
-                // Reorder within column
-                if (position > oldPosition) {
-                    // Moving down
-                    cardRepository.decrementPositionsBetween(
-                            oldColumnId, oldPosition + 1, position
-                    );
-                } else {
-                    // Moving up
-                    cardRepository.incrementPositionsBetween(
-                            oldColumnId, position, oldPosition - 1
-                    );
-                }
-            }
-        } else {
-            // Moving to different column
-            // Update positions in old column
-            cardRepository.decrementPositionsAfter(oldColumnId, oldPosition);
-
-            // Make space in new column
-            cardRepository.incrementPositionsFrom(targetColumnId, position);
-        }
+        // Place the card between its new neighbours; no other rows are touched
+        String rank = rankAt(targetColumnId, cardId, position, true);
 
         // Update card
         card.setBoardColumn(targetColumn);
         card.setPosition(position);
+        card.setRank(rank);
 
         Card movedCard = cardRepository.save(card);
+        rankRebalancer.rebalanceIfDense(targetColumnId, rank);
+        boardVersionService.recordChange(targetColumn.getProject().getId(),
+                BoardEntityType.CARD, cardId, BoardChangeType.MOVED);
 
         // Log activity
         activityService.logActivity(
@@ -198,6 +162,31 @@ public class CardService {
         return movedCard;
     }
 
+    private String rankAt(UUID columnId, UUID cardId, int position, boolean retry) {
+        List<String> neighbours = cardRepository.findNeighbourRanks(
+                columnId, cardId, Math.max(position - 1, 0));
+
+        String lower = null;
+        String upper = null;
+        if (position == 0) {
+            upper = !neighbours.isEmpty() ? neighbours.get(0) : null;
+        } else if (neighbours.isEmpty()) {
+            // Dropped past the end of the column
+            lower = cardRepository.findMaxRankByColumnId(columnId);
+        } else {
+            lower = neighbours.get(0);
+            upper = neighbours.size() > 1 ? neighbours.get(1) : null;
+        }
+
+        // Concurrent drops into the same gap can leave two cards with equal keys
+        if (retry && lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            rankRebalancer.rebalance(columnId);
+            return rankAt(columnId, cardId, position, false);
+        }
+
+        return RankKeys.between(lower, upper);
+    }
+
     public Card assignCard(UUID cardId, UUID userId) {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new NotFoundException("Card not found"));
@@ -209,7 +198,10 @@ public class CardService {
             card.setAssignee(null); // Unassign
         }
 
-        return cardRepository.save(card);
+        Card assignedCard = cardRepository.save(card);
+        boardVersionService.recordChange(card.getBoardColumn().getProject().getId(),
+                BoardEntityType.CARD, cardId, BoardChangeType.UPDATED);
+        return assignedCard;
     }
 
     public void deleteCard(UUID cardId) {
@@ -220,14 +212,11 @@ public class CardService {
 
         checkEditPermission(card.getBoardColumn().getProject().getId());
 
-        UUID columnId = card.getBoardColumn().getId();
-        Integer deletedPosition = card.getPosition();
-
         // Delete the card (will trigger soft delete)
         cardRepository.delete(card);
-
-        // Reorder remaining cards in the column
-        cardRepository.decrementPositionsAfter(columnId, deletedPosition);
+        cardLimitService.remove(card.getBoardColumn().getId());
+        boardVersionService.recordChange(card.getBoardColumn().getProject().getId(),
+                BoardEntityType.CARD, cardId, BoardChangeType.DELETED);
 
         // Log activity
         activityService.logActivity(
@@ -4,12 +4,12 @@ import com.project.kanbanflow.dtos.CreateCommentRequest;
 import com.project.kanbanflow.dtos.UpdateCommentRequest;
 import com.project.kanbanflow.entity.Card;
 import com.project.kanbanflow.entity.Comment;
-import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
 import com.project.kanbanflow.exception.ForbiddenException;
 import com.project.kanbanflow.exception.NotFoundException;
 import com.project.kanbanflow.repository.CardRepository;
 import com.project.kanbanflow.repository.CommentRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,6 +18,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +28,9 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final CardRepository cardRepository;
     private final UserService userService;
+    private final BoardVersionService boardVersionService;
 
+    @Transactional(readOnly = true)
     public Page<Comment> getCardComments(UUID cardId, Pageable pageable) {
         // Check card exists
         if (!cardRepository.existsById(cardId)) {
@@ -48,41 +51,45 @@ public class CommentService {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new NotFoundException("Card not found"));
 
-        User currentUser = userService.getCurrentUser();
-
         Comment comment = Comment.builder()
                 .content(request.getContent())
                 .card(card)
-                .author(currentUser)
+                .author(userService.getCurrentUserReference())
                 .build();
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        boardVersionService.recordChange(card.getBoardColumn().getProject().getId(),
+                BoardEntityType.CARD, cardId, BoardChangeType.UPDATED);
+        return savedComment;
     }
 
     public Comment updateComment(UUID commentId, UpdateCommentRequest request) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new NotFoundException("Comment not found"));
 
-        User currentUser = userService.getCurrentUser();
-        if (!comment.getAuthor().getId().equals(currentUser.getId())) {
+        if (!comment.getAuthor().getId().equals(userService.getCurrentUserId())) {
             throw new ForbiddenException("Can only edit your own comments");
         }
 
         comment.setContent(request.getContent());
         comment.setEdited(true);
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        boardVersionService.recordChange(comment.getCard().getBoardColumn().getProject().getId(),
+                BoardEntityType.CARD, comment.getCard().getId(), BoardChangeType.UPDATED);
+        return savedComment;
     }
 
     public void deleteComment(UUID commentId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new NotFoundException("Comment not found"));
 
-        User currentUser = userService.getCurrentUser();
-        if (!comment.getAuthor().getId().equals(currentUser.getId())) {
+        if (!comment.getAuthor().getId().equals(userService.getCurrentUserId())) {
             throw new ForbiddenException("Can only delete your own comments");
         }
 
         commentRepository.deleteById(commentId);
+        boardVersionService.recordChange(comment.getCard().getBoardColumn().getProject().getId(),
+                BoardEntityType.CARD, comment.getCard().getId(), BoardChangeType.UPDATED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the authenticated user, safe to share across
+ * requests and threads.
+ */
+public record CurrentUser(
+        UUID id,
+        String username,
+        String email,
+        String fullName,
+        String avatarUrl,
+        boolean active
+) {
+    public static CurrentUser from(User user) {
+        return new CurrentUser(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFullName(),
+                user.getAvatarUrl(),
+                user.isActive()
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.kanbanflow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.exception.NotFoundException;
+import com.project.kanbanflow.exception.UnauthorizedException;
+import com.project.kanbanflow.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Resolves the authenticated principal to a {@link CurrentUser} at most once per
+ * request, backed by an optional cross-request cache keyed by the JWT userId claim.
+ */
+@Component
+public class CurrentUserResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserResolver.class.getName() + ".CURRENT_USER";
+    private static final String USER_ID_CLAIM = "userId";
+
+    private final UserRepository userRepository;
+    private final PrimaryReads primaryReads;
+    private final Cache<UUID, CurrentUser> sharedCache;
+
+    public CurrentUserResolver(UserRepository userRepository,
+                               PrimaryReads primaryReads,
+                               @Value("${kanbanflow.cache.principal.enabled:true}") boolean sharedCacheEnabled,
+                               @Value("${kanbanflow.cache.principal.ttl:5m}") Duration ttl,
+                               @Value("${kanbanflow.cache.principal.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.primaryReads = primaryReads;
+        this.sharedCache = sharedCacheEnabled
+                ? Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build()
+                : null;
+    }
+
+    public CurrentUser resolve() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null &&
+                attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser cached) {
+            return cached;
+        }
+
+        CurrentUser user = load(currentAuthentication());
+
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    public void evict(UUID userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (sharedCache == null) {
+            return;
+        }
+
+        sharedCache.invalidate(userId);
+        // Evict again once committed so a concurrent reload cannot keep stale data
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    sharedCache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private CurrentUser load(Authentication authentication) {
+        UUID userId = userIdClaim(authentication);
+        if (userId == null) {
+            // Tokens without the claim fall back to the subject
+            return userRepository.findByUsername(authentication.getName())
+                    .map(CurrentUser::from)
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+        }
+
+        if (sharedCache == null) {
+            return loadById(userId);
+        }
+        return sharedCache.get(userId, id -> primaryReads.get(() -> loadById(id)));
+    }
+
+    private CurrentUser loadById(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        return CurrentUser.from(user);
+    }
+
+    private Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("Not authenticated");
+        }
+        return authentication;
+    }
+
+    private UUID userIdClaim(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            String claim = jwt.getClaimAsString(USER_ID_CLAIM);
+            return claim != null ? UUID.fromString(claim) : null;
+        }
+        return null;
+    }
+}
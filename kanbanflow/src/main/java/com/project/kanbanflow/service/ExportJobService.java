@@ -0,0 +1,303 @@
+package com.project.kanbanflow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.kanbanflow.dtos.ExportJobDto;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.enums.ExportJobStatus;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.exception.NotFoundException;
+import com.project.kanbanflow.exception.TooManyRequestsException;
+import com.project.kanbanflow.repository.CardRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs exports in the background on a small pool kept apart from request
+ * threads. Finished files are kept on disk per project, format, board version
+ * and content stamp, so repeated exports of an unchanged board are served from
+ * disk and identical requests in flight share one job. A file is only removed
+ * once a newer one exists and no job that can still be downloaded refers to it.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    // The stamp covers what the board version does not: project details and assignee names
+    private record ArtifactKey(UUID projectId, ExportFormat format, long version, long stamp) {
+
+        boolean isNewerThan(long otherVersion, long otherStamp) {
+            return version > otherVersion || (version == otherVersion && stamp > otherStamp);
+        }
+    }
+
+    private static final class ExportJob {
+        private final UUID id = UUID.randomUUID();
+        private final ArtifactKey key;
+        private final Path file;
+        private final long totalCards;
+        private final AtomicLong processedCards = new AtomicLong();
+        private final Instant createdAt = Instant.now();
+        private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private ExportJob(ArtifactKey key, Path file, long totalCards) {
+            this.key = key;
+            this.file = file;
+            this.totalCards = totalCards;
+        }
+    }
+
+    public record Artifact(Path file, ExportFormat format, long size) {
+    }
+
+    private final ExportService exportService;
+    private final BoardVersionService boardVersionService;
+    private final ProjectService projectService;
+    private final CardRepository cardRepository;
+
+    private final Path directory;
+    private final ExecutorService executor;
+    private final Map<ArtifactKey, ExportJob> inFlight = new ConcurrentHashMap<>();
+    private final Cache<UUID, ExportJob> jobs;
+
+    public ExportJobService(ExportService exportService,
+                            BoardVersionService boardVersionService,
+                            ProjectService projectService,
+                            CardRepository cardRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${kanbanflow.export.dir:${java.io.tmpdir}/kanbanflow-exports}") Path directory,
+                            @Value("${kanbanflow.export.threads:2}") int threads,
+                            @Value("${kanbanflow.export.queue-capacity:50}") int queueCapacity,
+                            @Value("${kanbanflow.export.job-ttl:1h}") Duration jobTtl,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.exportService = exportService;
+        this.boardVersionService = boardVersionService;
+        this.projectService = projectService;
+        this.cardRepository = cardRepository;
+        this.directory = Files.createDirectories(directory);
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterAccess(jobTtl)
+                .build();
+
+        // Still a bounded pool on virtual threads, each export holds a connection and a cursor
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                builder.name("export-", 0).factory());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "exports");
+
+        deleteUnfinishedFiles();
+    }
+
+    public ExportJobDto submit(UUID projectId, ExportFormat format) {
+        Project project = exportService.getExportableProject(projectId);
+        ArtifactKey key = new ArtifactKey(projectId, format,
+                boardVersionService.currentVersion(projectId), contentStamp(project));
+
+        ExportJob running = inFlight.get(key);
+        if (running != null) {
+            return toDto(running);
+        }
+
+        Path file = artifactPath(key);
+        if (Files.exists(file)) {
+            ExportJob cached = new ExportJob(key, file, 0);
+            cached.status = ExportJobStatus.COMPLETED;
+            cached.completedAt = cached.createdAt;
+            jobs.put(cached.id, cached);
+            return toDto(cached);
+        }
+
+        ExportJob created = new ExportJob(key, file, cardRepository.countByProjectId(projectId));
+        ExportJob existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return toDto(existing);
+        }
+
+        jobs.put(created.id, created);
+        try {
+            executor.execute(() -> run(created, project));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            jobs.invalidate(created.id);
+            throw new TooManyRequestsException("Too many exports in progress, try again later");
+        }
+        return toDto(created);
+    }
+
+    public ExportJobDto getJob(UUID jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    public Artifact getArtifact(UUID jobId) {
+        ExportJob job = findJob(jobId);
+        if (job.status != ExportJobStatus.COMPLETED) {
+            throw new BadRequestException("Export is not finished");
+        }
+
+        try {
+            return new Artifact(job.file, job.key.format(), Files.size(job.file));
+        } catch (IOException e) {
+            // Replaced by a newer export after this job expired
+            throw new NotFoundException("Export is no longer available");
+        }
+    }
+
+    /**
+     * Copies part of an artifact with {@link FileChannel#transferTo}, without
+     * reading it through a heap buffer.
+     */
+    public void transfer(Artifact artifact, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(artifact.file(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) break;
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ExportJob findJob(UUID jobId) {
+        ExportJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new NotFoundException("Export job not found");
+        }
+        projectService.checkAccess(job.key.projectId());
+        return job;
+    }
+
+    private void run(ExportJob job, Project project) {
+        job.status = ExportJobStatus.RUNNING;
+        Path partial = job.file.resolveSibling(job.file.getFileName() + "." + job.id + ".part");
+
+        try {
+            Files.createDirectories(job.file.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                if (job.key.format() == ExportFormat.CSV) {
+                    exportService.writeProjectCsv(project.getId(), out, job.processedCards::incrementAndGet);
+                } else {
+                    exportService.writeProjectJson(project, out, job.processedCards::incrementAndGet);
+                }
+            }
+
+            // Readers only ever see complete files
+            Files.move(partial, job.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteSuperseded(job.key);
+
+            job.completedAt = Instant.now();
+            job.status = ExportJobStatus.COMPLETED;
+        } catch (Exception e) {
+            log.error("Export {} of project {} failed", job.id, job.key.projectId(), e);
+            job.error = "Export failed";
+            job.status = ExportJobStatus.FAILED;
+            deleteQuietly(partial);
+        } finally {
+            inFlight.remove(job.key, job);
+        }
+    }
+
+    private long contentStamp(Project project) {
+        Instant stamp = project.getUpdatedAt();
+        Instant assignees = cardRepository.findLastAssigneeUpdate(project.getId());
+        if (stamp == null || (assignees != null && assignees.isAfter(stamp))) {
+            stamp = assignees;
+        }
+        return stamp != null ? stamp.toEpochMilli() : 0;
+    }
+
+    private Path artifactPath(ArtifactKey key) {
+        return directory.resolve(key.projectId().toString())
+                .resolve(key.version() + "-" + key.stamp() + "." + key.format().getExtension());
+    }
+
+    // A slower job for an older version must not remove a newer artifact, and
+    // files that jobs still offer for download, maybe resumed with a Range, stay
+    private void deleteSuperseded(ArtifactKey key) throws IOException {
+        Set<Path> downloadable = new HashSet<>();
+        jobs.asMap().values().forEach(job -> downloadable.add(job.file));
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory.resolve(key.projectId().toString()), "*." + key.format().getExtension())) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String[] parts = name.substring(0, name.indexOf('.')).split("-");
+                long version = Long.parseLong(parts[0]);
+                long stamp = parts.length > 1 ? Long.parseLong(parts[1]) : 0;
+                if (key.isNewerThan(version, stamp) && !downloadable.contains(file)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    // Parts left behind by a previous process can never complete
+    private void deleteUnfinishedFiles() throws IOException {
+        try (var files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".part"))
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    private ExportJobDto toDto(ExportJob job) {
+        return ExportJobDto.builder()
+                .id(job.id)
+                .projectId(job.key.projectId())
+                .format(job.key.format())
+                .boardVersion(job.key.version())
+                .status(job.status)
+                .processedCards(job.processedCards.get())
+                .totalCards(job.totalCards)
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .build();
+    }
+}
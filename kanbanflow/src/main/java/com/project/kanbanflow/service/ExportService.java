@@ -1,91 +1,140 @@
 package com.project.kanbanflow.service;
 
-import com.project.kanbanflow.dtos.BoardColumnExportDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.kanbanflow.dtos.CardExportDto;
-import com.project.kanbanflow.dtos.ProjectExportDto;
-import com.project.kanbanflow.entity.BoardColumn;
-import com.project.kanbanflow.entity.Card;
 import com.project.kanbanflow.entity.Project;
-import com.project.kanbanflow.exception.NotFoundException;
-import com.project.kanbanflow.repository.BoardColumnRepository;
 import com.project.kanbanflow.repository.CardRepository;
-import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.projection.ExportCardView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+/**
+ * Streams project exports straight to the response. Columns and cards are read
+ * through one database cursor in board order, so memory use does not depend on
+ * project size and the export is a single consistent snapshot of the board.
+ */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ExportService {
 
-    private final ProjectRepository projectRepository;
-    private final BoardColumnRepository columnRepository;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final ProjectService projectService;
     private final CardRepository cardRepository;
+    private final ObjectMapper objectMapper;
+
+    // Runs on the request thread, before the response body is streamed
+    public Project getExportableProject(UUID projectId) {
+        return projectService.getProject(projectId);
+    }
+
+    public void writeProjectCsv(UUID projectId, OutputStream out) throws IOException {
+        writeProjectCsv(projectId, out, () -> {
+        });
+    }
 
-    public byte[] exportProjectToCSV(UUID projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new NotFoundException("Project not found"));
-
-        List<BoardColumn> columns = columnRepository.findByProjectIdOrderByPositionAsc(projectId);
-
-        StringBuilder csvBuilder = new StringBuilder();
-        csvBuilder.append("Column,Card Title,Description,Priority,Status,Due Date,Assignee\n");
-
-        for (BoardColumn column : columns) {
-            List<Card> cards = cardRepository.findByBoardColumnIdOrderByPositionAsc(column.getId());
-            for (Card card : cards) {
-                csvBuilder.append(String.format("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"\n",
-                        column.getName(),
-                        card.getTitle(),
-                        card.getDescription() != null ? card.getDescription() : "",
-                        card.getPriority(),
-                        card.isCompleted() ? "Completed" : "In Progress",
-                        card.getDueDate() != null ? card.getDueDate().toString() : "",
-                        card.getAssignee() != null ? card.getAssignee().getFullName() : ""
-                ));
+    public void writeProjectJson(Project project, OutputStream out) throws IOException {
+        writeProjectJson(project, out, () -> {
+        });
+    }
+
+    public void writeProjectCsv(UUID projectId, OutputStream out, Runnable onCard) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write("Column,Card Title,Description,Priority,Status,Due Date,Assignee\n");
+
+        try (Stream<ExportCardView> rows = cardRepository.streamExportCards(projectId)) {
+            for (ExportCardView card : (Iterable<ExportCardView>) rows::iterator) {
+                if (!card.hasCard()) continue;
+                writeCsvRow(writer,
+                        card.columnName(),
+                        card.title(),
+                        card.description(),
+                        card.priority() != null ? card.priority().name() : "",
+                        card.completed() ? "Completed" : "In Progress",
+                        card.dueDate() != null ? card.dueDate().toString() : "",
+                        card.assigneeFullName());
+                onCard.run();
             }
         }
 
-        return csvBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        writer.flush();
     }
 
-    public ProjectExportDto exportProjectToJSON(UUID projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new NotFoundException("Project not found"));
-
-        List<BoardColumn> columns = columnRepository.findByProjectIdOrderByPositionAsc(projectId);
-
-        List<BoardColumnExportDto> columnDtos = columns.stream()
-                .map(column -> {
-                    List<Card> cards = cardRepository.findByBoardColumnIdOrderByPositionAsc(column.getId());
-                    return BoardColumnExportDto.builder()
-                            .name(column.getName())
-                            .position(column.getPosition())
-                            .cards(cards.stream().map(this::mapCardToExport).toList())
-                            .build();
-                })
-                .toList();
-
-        return ProjectExportDto.builder()
-                .name(project.getName())
-                .description(project.getDescription())
-                .columns(columnDtos)
-                .exportedAt(Instant.now())
-                .build();
+    public void writeProjectJson(Project project, OutputStream out, Runnable onCard) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+             Stream<ExportCardView> rows = cardRepository.streamExportCards(project.getId())) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeStringField("name", project.getName());
+            json.writeStringField("description", project.getDescription());
+            json.writeArrayFieldStart("columns");
+
+            // Rows arrive grouped by column; every column has at least one
+            UUID columnId = null;
+            for (ExportCardView row : (Iterable<ExportCardView>) rows::iterator) {
+                if (!row.columnId().equals(columnId)) {
+                    if (columnId != null) {
+                        json.writeEndArray();
+                        json.writeEndObject();
+                    }
+                    columnId = row.columnId();
+                    json.writeStartObject();
+                    json.writeStringField("name", row.columnName());
+                    json.writeNumberField("position", row.columnPosition());
+                    json.writeArrayFieldStart("cards");
+                }
+                if (row.hasCard()) {
+                    json.writeObject(toExportDto(row));
+                    onCard.run();
+                }
+            }
+            if (columnId != null) {
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+
+            json.writeEndArray();
+            json.writeObjectField("exportedAt", Instant.now());
+            json.writeEndObject();
+        }
     }
 
-    private CardExportDto mapCardToExport(Card card) {
+    private CardExportDto toExportDto(ExportCardView card) {
         return CardExportDto.builder()
-                .title(card.getTitle())
-                .description(card.getDescription())
-                .priority(card.getPriority())
-                .completed(card.isCompleted())
-                .dueDate(card.getDueDate())
-                .assignee(card.getAssignee() != null ? card.getAssignee().getFullName() : null)
+                .title(card.title())
+                .description(card.description())
+                .priority(card.priority())
+                .completed(card.completed())
+                .dueDate(card.dueDate())
+                .assignee(card.assigneeFullName())
                 .build();
     }
-}
\ No newline at end of file
+
+    // RFC 4180: every field is quoted and embedded quotes are doubled
+    private static void writeCsvRow(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write('"');
+            String field = fields[i];
+            if (field != null) {
+                writer.write(field.indexOf('"') < 0 ? field : field.replace("\"", "\"\""));
+            }
+            writer.write('"');
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.enums.ProjectRole;
+
+public enum ProjectAccess {
+    NONE,
+    VIEWER,
+    EDITOR,
+    ADMIN,
+    OWNER;
+
+    public static ProjectAccess of(ProjectRole role) {
+        return switch (role) {
+            case ADMIN -> ADMIN;
+            case EDITOR -> EDITOR;
+            case VIEWER -> VIEWER;
+        };
+    }
+
+    public boolean canView() {
+        return this != NONE;
+    }
+
+    public boolean canEdit() {
+        return this == EDITOR || this == ADMIN || this == OWNER;
+    }
+}
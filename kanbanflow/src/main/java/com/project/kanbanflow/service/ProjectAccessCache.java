@@ -0,0 +1,101 @@
+package com.project.kanbanflow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
+import com.project.kanbanflow.exception.NotFoundException;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.ProjectMemberRepository;
+import com.project.kanbanflow.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caches the effective access level of a user on a project so that permission
+ * checks cost a single hash lookup. Entries are dropped when membership changes
+ * commit; the TTL only bounds staleness between application instances.
+ */
+@Component
+public class ProjectAccessCache {
+
+    private record Key(UUID projectId, UUID userId) {
+    }
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository memberRepository;
+    private final BoardColumnRepository columnRepository;
+    private final PrimaryReads primaryReads;
+
+    private final Cache<Key, ProjectAccess> access;
+    // A column never moves to another project, so this mapping never goes stale
+    private final Cache<UUID, UUID> columnProjects;
+
+    public ProjectAccessCache(ProjectRepository projectRepository,
+                              ProjectMemberRepository memberRepository,
+                              BoardColumnRepository columnRepository,
+                              PrimaryReads primaryReads,
+                              MeterRegistry meterRegistry,
+                              @Value("${kanbanflow.cache.project-access.ttl:10m}") Duration ttl,
+                              @Value("${kanbanflow.cache.project-access.max-size:100000}") long maxSize) {
+        this.projectRepository = projectRepository;
+        this.memberRepository = memberRepository;
+        this.columnRepository = columnRepository;
+        this.primaryReads = primaryReads;
+        this.access = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.columnProjects = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, access, "projectAccess");
+        CaffeineCacheMetrics.monitor(meterRegistry, columnProjects, "columnProjects");
+    }
+
+    public ProjectAccess getAccess(UUID projectId, UUID userId) {
+        return access.get(new Key(projectId, userId), key -> primaryReads.get(() -> load(key)));
+    }
+
+    public UUID getColumnProjectId(UUID columnId) {
+        UUID projectId = columnProjects.get(columnId,
+                id -> columnRepository.findProjectIdById(id).orElse(null));
+        if (projectId == null) {
+            throw new NotFoundException("Column not found");
+        }
+        return projectId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessChanged(ProjectAccessChangedEvent event) {
+        if (event.userId() != null) {
+            access.invalidate(new Key(event.projectId(), event.userId()));
+        } else {
+            access.asMap().keySet().removeIf(key -> key.projectId().equals(event.projectId()));
+        }
+    }
+
+    private ProjectAccess load(Key key) {
+        Optional<UUID> ownerId = projectRepository.findOwnerIdById(key.projectId());
+        if (ownerId.isEmpty()) {
+            return ProjectAccess.NONE;
+        }
+        if (ownerId.get().equals(key.userId())) {
+            return ProjectAccess.OWNER;
+        }
+
+        return memberRepository.findRole(key.projectId(), key.userId())
+                .map(ProjectAccess::of)
+                .orElse(ProjectAccess.NONE);
+    }
+}
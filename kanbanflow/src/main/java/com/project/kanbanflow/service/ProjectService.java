@@ -7,7 +7,10 @@ import com.project.kanbanflow.entity.BoardColumn;
 import com.project.kanbanflow.entity.Project;
 import com.project.kanbanflow.entity.ProjectMember;
 import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
 import com.project.kanbanflow.entity.enums.ProjectRole;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
 import com.project.kanbanflow.exception.BadRequestException;
 import com.project.kanbanflow.exception.DuplicateException;
 import com.project.kanbanflow.exception.ForbiddenException;
@@ -17,16 +20,16 @@ import com.project.kanbanflow.repository.BoardColumnRepository;
 import com.project.kanbanflow.repository.ProjectMemberRepository;
 import com.project.kanbanflow.repository.ProjectRepository;
 import com.project.kanbanflow.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -39,18 +42,21 @@ public class ProjectService {
     private final UserRepository userRepository;
     private final UserService userService;
     private final UserMapper userMapper;
+    private final ProjectAccessCache accessCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardVersionService boardVersionService;
+    private final CardLimitService cardLimitService;
 
     public Project createProject(CreateProjectRequest request) {
-        User currentUser = userService.getCurrentUser();
-
         Project project = Project.builder()
                 .name(request.getName())
                 .description(request.getDescription())
                 .color(request.getColor())
-                .owner(currentUser)
+                .owner(userService.getCurrentUserReference())
                 .build();
 
         project = projectRepository.save(project);
+        boardVersionService.initialize(project.getId());
 
         createDefaultColumns(project);
 
@@ -69,46 +75,61 @@ public class ProjectService {
                     .project(project)
                     .build();
             columnRepository.save(column);
+            cardLimitService.initialize(column.getId());
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<Project> getUserProjects(Pageable pageable) {
-        User currentUser = userService.getCurrentUser();
-        return projectRepository.findAllAccessibleProjects(currentUser.getId(), pageable);
+        return projectRepository.findAllAccessibleProjects(userService.getCurrentUserId(), pageable);
     }
 
+    @Transactional(readOnly = true)
     public Project getProject(UUID projectId) {
-        User currentUser = userService.getCurrentUser();
-        return projectRepository.findByIdAndUserHasAccess(projectId, currentUser.getId())
+        checkAccess(projectId);
+        return projectRepository.findById(projectId)
                 .orElseThrow(() -> new NotFoundException("Project not found"));
     }
 
+    @Transactional(readOnly = true)
+    public ProjectAccess checkAccess(UUID projectId) {
+        ProjectAccess access = accessCache.getAccess(projectId, userService.getCurrentUserId());
+        if (!access.canView()) {
+            throw new NotFoundException("Project not found");
+        }
+        return access;
+    }
+
     public void deleteProject(UUID projectId) {
         Project project = getProject(projectId);
-        User currentUser = userService.getCurrentUser();
+        UUID currentUserId = userService.getCurrentUserId();
 
-        if (!project.getOwner().getId().equals(currentUser.getId())) {
+        if (!project.getOwner().getId().equals(currentUserId)) {
             throw new ForbiddenException("Only owner can delete project");
         }
 
         projectRepository.deleteById(projectId);
+        eventPublisher.publishEvent(ProjectAccessChangedEvent.forProject(projectId));
     }
 
     public Project updateProject(UUID projectId, UpdateProjectRequest request) {
-        Project project = getProject(projectId);
-        User currentUser = userService.getCurrentUser();
+        ProjectAccess access = checkAccess(projectId);
 
         // Only owner or admin can update
-        if (!project.getOwner().getId().equals(currentUser.getId()) &&
-                !hasProjectRole(projectId, currentUser.getId(), "ADMIN")) {
+        if (access != ProjectAccess.OWNER && access != ProjectAccess.ADMIN) {
             throw new ForbiddenException("No permission to update project");
         }
 
+        Project project = getProject(projectId);
+
         project.setName(request.getName());
         project.setDescription(request.getDescription());
         project.setColor(request.getColor());
 
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        // Board views revalidate by version, so project edits have to move it as well
+        boardVersionService.recordChange(projectId, BoardEntityType.PROJECT, projectId, BoardChangeType.UPDATED);
+        return savedProject;
     }
 
     public void toggleFavorite(UUID projectId) {
@@ -117,38 +138,17 @@ public class ProjectService {
         projectRepository.save(project);
     }
 
-    private boolean hasProjectRole(UUID projectId, UUID userId, String role) {
-        return projectRepository.hasUserRole(projectId, userId, role);
-    }
-
+    @Transactional(readOnly = true)
     public boolean canUserEditProject(UUID projectId, UUID userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new NotFoundException("Project not found"));
-
-        // Owner can always edit
-        if (project.getOwner().getId().equals(userId)) {
-            return true;
-        }
-
-        // Check member role
-        Optional<ProjectMember> member = memberRepository
-                .findByProjectIdAndUserId(projectId, userId);
-
-        if (member.isPresent()) {
-            ProjectRole role = member.get().getRole();
-            // Only ADMIN and EDITOR can edit
-            return role == ProjectRole.ADMIN || role == ProjectRole.EDITOR;
-        }
-
-        return false;
+        return accessCache.getAccess(projectId, userId).canEdit();
     }
 
     public void addMember(UUID projectId, String email, ProjectRole role) {
         Project project = getProject(projectId);
-        User currentUser = userService.getCurrentUser();
+        UUID currentUserId = userService.getCurrentUserId();
 
         // Check permission
-        if (!project.getOwner().getId().equals(currentUser.getId())) {
+        if (!project.getOwner().getId().equals(currentUserId)) {
             throw new ForbiddenException("Only owner can add members");
         }
 
@@ -170,14 +170,15 @@ public class ProjectService {
                 .build();
 
         memberRepository.save(member);
+        eventPublisher.publishEvent(new ProjectAccessChangedEvent(projectId, newMember.getId()));
     }
 
     public void removeMember(UUID projectId, UUID userId) {
         Project project = getProject(projectId);
-        User currentUser = userService.getCurrentUser();
+        UUID currentUserId = userService.getCurrentUserId();
 
         // Check permission
-        if (!project.getOwner().getId().equals(currentUser.getId())) {
+        if (!project.getOwner().getId().equals(currentUserId)) {
             throw new ForbiddenException("Only owner can remove members");
         }
 
@@ -187,14 +188,15 @@ public class ProjectService {
         }
 
         memberRepository.deleteByProjectIdAndUserId(projectId, userId);
+        eventPublisher.publishEvent(new ProjectAccessChangedEvent(projectId, userId));
     }
 
     public void updateMemberRole(UUID projectId, UUID userId, ProjectRole newRole) {
         Project project = getProject(projectId);
-        User currentUser = userService.getCurrentUser();
+        UUID currentUserId = userService.getCurrentUserId();
 
         // Check permission
-        if (!project.getOwner().getId().equals(currentUser.getId())) {
+        if (!project.getOwner().getId().equals(currentUserId)) {
             throw new ForbiddenException("Only owner can change roles");
         }
 
@@ -203,16 +205,16 @@ public class ProjectService {
 
         member.setRole(newRole);
         memberRepository.save(member);
+        eventPublisher.publishEvent(new ProjectAccessChangedEvent(projectId, userId));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectMemberDto> getProjectMembers(UUID projectId) {
-        getProject(projectId); // Check access
+        Project project = getProject(projectId); // Check access
 
         List<ProjectMember> members = memberRepository.findByProjectId(projectId);
 
         // Add owner to list
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new NotFoundException("Project not found with id: " + projectId));
         List<ProjectMemberDto> result = new ArrayList<>();
 
         // Owner first
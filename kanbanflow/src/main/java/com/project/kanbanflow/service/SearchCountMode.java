@@ -0,0 +1,10 @@
+package com.project.kanbanflow.service;
+
+/**
+ * How search totals are counted. APPROXIMATE uses the planner's estimate for
+ * searches above a threshold and skips their facet counts.
+ */
+public enum SearchCountMode {
+    EXACT,
+    APPROXIMATE
+}
@@ -1,65 +1,199 @@
 package com.project.kanbanflow.service;
 
+import com.project.kanbanflow.dtos.CardDto;
+import com.project.kanbanflow.dtos.CursorPageDto;
 import com.project.kanbanflow.dtos.SearchCriteria;
 import com.project.kanbanflow.dtos.SearchResultDto;
 import com.project.kanbanflow.entity.Card;
-import com.project.kanbanflow.entity.User;
-import com.project.kanbanflow.mapper.CardMapper;
+import com.project.kanbanflow.exception.BadRequestException;
 import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.projection.CardFacetCount;
+import com.project.kanbanflow.repository.projection.CardSearchHit;
+import com.project.kanbanflow.util.Cursors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.HashMap;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class SearchService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CardRepository cardRepository;
     private final ProjectService projectService;
     private final UserService userService;
-    private final CardMapper cardMapper;
+    private final BoardReadService boardReadService;
+    private final CardFacetIndex facetIndex;
+
+    @Value("${kanbanflow.search.approximate-count-threshold:10000}")
+    private long approximateThreshold;
+
+    // Text queries with more hits than this get SQL counts instead of index facets
+    @Value("${kanbanflow.search.facet-index.max-text-hits:10000}")
+    private int maxTextHits;
 
-    public SearchResultDto searchCards(UUID projectId, SearchCriteria criteria) {
+    public SearchResultDto searchCards(UUID projectId, SearchCriteria criteria, String cursor,
+                                       int size, SearchCountMode countMode) {
         // Verify user has access to project
-        projectService.getProject(projectId);
-
-        List<Card> cards = cardRepository.searchCards(
-                projectId,
-                criteria.getQuery(),
-                criteria.getPriority(),
-                criteria.getAssigneeId(),
-                criteria.getCompleted(),
-                criteria.getDueDateFrom(),
-                criteria.getDueDateTo()
-        );
-
-        // Build facets
-        Map<String, Integer> facets = new HashMap<>();
-        facets.put("total", cards.size());
-        facets.put("completed", (int) cards.stream().filter(Card::isCompleted).count());
-        facets.put("overdue", (int) cards.stream().filter(Card::isOverdue).count());
-
-        return SearchResultDto.builder()
-                .cards(cards.stream().map(cardMapper::toDto).toList())
-                .totalResults(cards.size())
+        projectService.checkAccess(projectId);
+
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        CardSearchHit after = null;
+        if (cursor != null) {
+            after = decodeCursor(cursor);
+            // A cursor from a search with or without a text query cannot continue the other
+            if ((after.rank() != null) != cardRepository.isRanked(criteria)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        List<CardSearchHit> hits = cardRepository.searchProjectCards(projectId, criteria, after, limit + 1);
+        boolean hasMore = hits.size() > limit;
+        if (hasMore) {
+            hits = hits.subList(0, limit);
+        }
+
+        List<CardDto> cards = boardReadService.getCards(projectId, hits.stream().map(CardSearchHit::id).toList());
+        SearchResultDto.SearchResultDtoBuilder result = SearchResultDto.builder()
+                .cards(cards)
+                .nextCursor(hasMore ? encodeCursor(hits.getLast()) : null);
+        if (cursor != null) {
+            return result.build();
+        }
+
+        if (countMode == SearchCountMode.APPROXIMATE) {
+            long estimate = cardRepository.estimateProjectCards(projectId, criteria);
+            if (estimate > approximateThreshold) {
+                return result
+                        .totalResults((int) Math.min(estimate, Integer.MAX_VALUE))
+                        .totalApproximate(true)
+                        .build();
+            }
+        }
+
+        Map<String, Integer> facets = buildFacets(projectId, criteria);
+        return result
+                .totalResults(facets.get("total"))
                 .facets(facets)
                 .build();
     }
 
+    private Map<String, Integer> buildFacets(UUID projectId, SearchCriteria criteria) {
+        if (!StringUtils.hasText(criteria.getQuery())) {
+            return facetIndex.facets(projectId, criteria, null);
+        }
+
+        // The planner's estimate settles large text queries before any ids are loaded
+        SearchCriteria textOnly = SearchCriteria.builder().query(criteria.getQuery()).build();
+        if (cardRepository.estimateProjectCards(projectId, textOnly) > maxTextHits) {
+            return countFacets(projectId, criteria);
+        }
+
+        List<UUID> textMatches = cardRepository.findProjectCardIds(projectId, textOnly, maxTextHits + 1);
+        if (textMatches.size() > maxTextHits) {
+            return countFacets(projectId, criteria);
+        }
+        return facetIndex.facets(projectId, criteria, textMatches);
+    }
+
+    // Too many text matches to intersect in memory, let the database group them into the index's facets
+    private Map<String, Integer> countFacets(UUID projectId, SearchCriteria criteria) {
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        facets.put("total", 0);
+        facets.put("completed", 0);
+        facets.put("overdue", 0);
+        for (CardFacetCount group : cardRepository.countProjectFacets(projectId, criteria)) {
+            int count = (int) group.count();
+            facets.merge("total", count, Integer::sum);
+            if (group.completed()) facets.merge("completed", count, Integer::sum);
+            if (group.overdue()) facets.merge("overdue", count, Integer::sum);
+            if (group.priority() != null) facets.merge("priority." + group.priority().name(), count, Integer::sum);
+            facets.merge(group.assigneeId() != null ? "assignee." + group.assigneeId() : "assignee.none",
+                    count, Integer::sum);
+            if (group.due() != CardFacetCount.Due.PAST) {
+                facets.merge("due." + group.due().name().toLowerCase(Locale.ROOT), count, Integer::sum);
+            }
+        }
+        return facets;
+    }
+
+    private static String encodeCursor(CardSearchHit hit) {
+        return hit.rank() != null
+                ? Cursors.encode("r", Float.toString(hit.rank()), hit.id().toString())
+                : Cursors.encode("t", hit.createdAt().toString(), hit.id().toString());
+    }
+
+    private static CardSearchHit decodeCursor(String cursor) {
+        String[] parts = Cursors.decode(cursor, 3);
+        try {
+            UUID id = UUID.fromString(parts[2]);
+            return switch (parts[0]) {
+                case "r" -> new CardSearchHit(id, Float.parseFloat(parts[1]), null);
+                case "t" -> new CardSearchHit(id, null, Instant.parse(parts[1]));
+                default -> throw new BadRequestException("Invalid cursor");
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Cards assigned to the current user, newest first, continuing from the
+     * (createdAt, id) of the previous page.
+     */
+    public CursorPageDto<CardDto> getMyTasksFeed(String query, String cursor, int size) {
+        UUID currentUserId = userService.getCurrentUserId();
+
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        CardSearchHit after = null;
+        if (cursor != null) {
+            after = decodeCursor(cursor);
+            if (after.createdAt() == null) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        List<CardSearchHit> hits = cardRepository.searchAssignedCards(currentUserId, query, after, limit + 1);
+        boolean hasMore = hits.size() > limit;
+        if (hasMore) {
+            hits = hits.subList(0, limit);
+        }
+
+        return CursorPageDto.<CardDto>builder()
+                .items(boardReadService.getCards(hits.stream().map(CardSearchHit::id).toList()))
+                .nextCursor(hasMore ? encodeCursor(hits.getLast()) : null)
+                .build();
+    }
+
     public Page<Card> searchMyTasks(String query, Pageable pageable) {
-        User currentUser = userService.getCurrentUser();
+        UUID currentUserId = userService.getCurrentUserId();
 
         if (StringUtils.hasText(query)) {
-            return cardRepository.searchUserCards(currentUser.getId(), query, pageable);
+            // Ranked by relevance, so the requested sort does not apply
+            List<UUID> cardIds = cardRepository.searchAssignedCardIds(
+                    currentUserId, query, pageable.getOffset(), pageable.getPageSize());
+            List<Card> cards = cardRepository.findAllById(cardIds).stream()
+                    .sorted(Comparator.comparingInt(card -> cardIds.indexOf(card.getId())))
+                    .toList();
+            return new PageImpl<>(cards, pageable, cardRepository.countAssignedCards(currentUserId, query));
         } else {
-            return cardRepository.findByAssigneeId(currentUser.getId(), pageable);
+            return cardRepository.findByAssigneeId(currentUserId, pageable);
         }
     }
-}
\ No newline at end of file
+}
@@ -7,14 +7,13 @@ import com.project.kanbanflow.exception.DuplicateException;
 import com.project.kanbanflow.exception.NotFoundException;
 import com.project.kanbanflow.exception.UnauthorizedException;
 import com.project.kanbanflow.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +23,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtils securityUtils;
+    private final CurrentUserResolver currentUserResolver;
 
     public AuthResponse register(RegisterRequest request) {
         // Check existing
@@ -76,12 +76,21 @@ public class UserService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        return getUserById(getCurrentUserId());
+    }
+
+    public UUID getCurrentUserId() {
+        return currentUserResolver.resolve().id();
+    }
+
+    // Lazy proxy for associations, does not hit the database
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -108,7 +117,9 @@ public class UserService {
             currentUser.setAvatarUrl(request.getAvatarUrl());
         }
 
-        return userRepository.save(currentUser);
+        User savedUser = userRepository.save(currentUser);
+        currentUserResolver.evict(savedUser.getId());
+        return savedUser;
     }
 
     public void changePassword(ChangePasswordRequest request) {
@@ -120,8 +131,10 @@ public class UserService {
 
         currentUser.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(currentUser);
+        currentUserResolver.evict(currentUser.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<User> searchUsers(String query) {
         return userRepository.searchByEmailOrUsername(query);
     }
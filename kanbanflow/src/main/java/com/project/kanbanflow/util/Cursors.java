@@ -0,0 +1,36 @@
+package com.project.kanbanflow.util;
+
+import com.project.kanbanflow.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursors. A cursor is the sort key of the last row
+ * of a page; clients pass it back unchanged to get the rows after it.
+ */
+public final class Cursors {
+
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    public static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int parts) {
+        try {
+            String[] decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (decoded.length == parts) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+}
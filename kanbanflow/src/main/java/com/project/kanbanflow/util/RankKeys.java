@@ -0,0 +1,105 @@
+package com.project.kanbanflow.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic rank keys over the alphabet {@code 0-9a-z}.
+ * <p>
+ * A key sorts by plain string comparison, so a card can be placed between two
+ * neighbours by writing only its own key. Generated keys never end in {@code '0'},
+ * which guarantees there is always room below any key.
+ */
+public final class RankKeys {
+
+    private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = ALPHABET.length();
+
+    private RankKeys() {
+    }
+
+    /**
+     * Returns a key strictly between {@code lower} and {@code upper}.
+     * A {@code null} bound means the start or the end of the list.
+     */
+    public static String between(String lower, String upper) {
+        String lo = lower != null ? lower : "";
+        if (upper != null && lo.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid rank bounds '%s' >= '%s'", lo, upper));
+        }
+
+        StringBuilder key = new StringBuilder();
+        String hi = upper;
+        for (int i = 0; ; i++) {
+            if (hi != null && i >= hi.length()) {
+                // Only reachable when upper is lower padded with '0'
+                throw new IllegalArgumentException(
+                        String.format("No rank between '%s' and '%s'", lo, upper));
+            }
+
+            int l = i < lo.length() ? digit(lo.charAt(i)) : 0;
+            int h = hi != null ? digit(hi.charAt(i)) : BASE;
+
+            if (l == h) {
+                key.append(ALPHABET.charAt(l));
+                continue;
+            }
+
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                return key.append(ALPHABET.charAt(mid)).toString();
+            }
+
+            // Adjacent digits: keep the lower one, the rest only has to exceed lo
+            key.append(ALPHABET.charAt(l));
+            hi = null;
+        }
+    }
+
+    /**
+     * Returns {@code count} evenly spaced keys in ascending order, used to
+     * seed or rebalance a whole column.
+     */
+    public static List<String> spread(int count) {
+        List<String> keys = new ArrayList<>(count);
+        if (count == 0) {
+            return keys;
+        }
+
+        int width = 1;
+        long space = BASE;
+        while (space < (long) (count + 1) * BASE) {
+            width++;
+            space *= BASE;
+        }
+
+        long step = space / (count + 1);
+        for (int i = 1; i <= count; i++) {
+            keys.add(encode(step * i, width));
+        }
+        return keys;
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+
+        int end = width;
+        while (end > 1 && chars[end - 1] == '0') {
+            end--;
+        }
+        return new String(chars, 0, end);
+    }
+
+    private static int digit(char c) {
+        int d = ALPHABET.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return d;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.kanbanflow.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7).
+ * <p>
+ * The first 48 bits are the Unix time in milliseconds and the next 12 bits a
+ * counter within that millisecond, so ids created later compare greater and
+ * new rows land at the right edge of the primary key index. The remaining 62
+ * bits are random. Ids are strictly increasing across all threads, also when
+ * the clock steps back or more than 4096 ids are taken in one millisecond;
+ * in both cases the timestamp simply runs slightly ahead.
+ */
+public final class UuidV7 {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    // Timestamp and counter of the last id, as (millis << 12) | counter
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state;
+        long next;
+        do {
+            state = LAST.get();
+            next = Math.max(now, state + 1);
+        } while (!LAST.compareAndSet(state, next));
+
+        long msb = ((next >>> 12) << 16) | VERSION | (next & 0xFFF);
+        long lsb = (ThreadLocalRandom.current().nextLong() >>> 2) | VARIANT;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Milliseconds since the epoch encoded in a version 7 id.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,32 @@
+-- Cards are ordered by lexicographic rank keys instead of integer positions
+-- (see RankKeys). Existing cards get evenly spaced keys in position order, like
+-- RankKeys.spread but at a fixed width of six base-36 digits, which leaves room
+-- in columns of any realistic size. Kept to plain SQL so H2 runs it as well.
+ALTER TABLE cards ADD COLUMN rank_key varchar(64);
+
+CREATE TABLE card_rank_backfill (
+    id         uuid   NOT NULL PRIMARY KEY,
+    rank_value bigint NOT NULL
+);
+
+-- 36^6 split into equal steps per column
+INSERT INTO card_rank_backfill (id, rank_value)
+SELECT id,
+       2176782336 / (count(*) OVER (PARTITION BY board_column_id) + 1)
+           * row_number() OVER (PARTITION BY board_column_id ORDER BY position, id)
+FROM cards;
+
+-- Base-36 digits from 36^5 down to 36^0; keys never end in '0'
+UPDATE cards
+SET rank_key = (
+    SELECT TRIM(TRAILING '0' FROM
+               SUBSTRING('0123456789abcdefghijklmnopqrstuvwxyz', CAST(rank_value / 60466176 AS INTEGER) + 1, 1) ||
+               SUBSTRING('0123456789abcdefghijklmnopqrstuvwxyz', CAST(MOD(rank_value / 1679616, 36) AS INTEGER) + 1, 1) ||
+               SUBSTRING('0123456789abcdefghijklmnopqrstuvwxyz', CAST(MOD(rank_value / 46656, 36) AS INTEGER) + 1, 1) ||
+               SUBSTRING('0123456789abcdefghijklmnopqrstuvwxyz', CAST(MOD(rank_value / 1296, 36) AS INTEGER) + 1, 1) ||
+               SUBSTRING('0123456789abcdefghijklmnopqrstuvwxyz', CAST(MOD(rank_value / 36, 36) AS INTEGER) + 1, 1) ||
+               SUBSTRING('0123456789abcdefghijklmnopqrstuvwxyz', CAST(MOD(rank_value, 36) AS INTEGER) + 1, 1))
+    FROM card_rank_backfill b
+    WHERE b.id = cards.id);
+
+DROP TABLE card_rank_backfill;
@@ -0,0 +1,19 @@
+-- Per-project board version and the journal of what each version changed,
+-- maintained by BoardVersionService. Existing projects start at version 0.
+CREATE TABLE board_versions (
+    project_id uuid   NOT NULL PRIMARY KEY,
+    version    bigint NOT NULL
+);
+
+CREATE TABLE board_changes (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id  uuid        NOT NULL,
+    version     bigint      NOT NULL,
+    entity_type varchar(20) NOT NULL CHECK (entity_type IN ('CARD', 'COLUMN')),
+    entity_id   uuid        NOT NULL,
+    change_type varchar(20) NOT NULL CHECK (change_type IN ('CREATED', 'UPDATED', 'MOVED', 'DELETED')),
+    created_at  timestamp(6) with time zone NOT NULL
+);
+
+INSERT INTO board_versions (project_id, version)
+SELECT id, 0 FROM projects;
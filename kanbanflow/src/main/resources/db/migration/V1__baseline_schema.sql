@@ -0,0 +1,89 @@
+-- Schema as previously maintained by hibernate.ddl-auto=update, before rank
+-- keys and board versions. Existing databases are baselined at this version
+-- and only run later migrations, so everything added since goes into those.
+
+CREATE TABLE users (
+    id            uuid         NOT NULL PRIMARY KEY,
+    username      varchar(100) NOT NULL UNIQUE,
+    email         varchar(255) NOT NULL UNIQUE,
+    password_hash varchar(255) NOT NULL,
+    full_name     varchar(255) NOT NULL,
+    avatar_url    varchar(255),
+    is_active     boolean,
+    is_deleted    boolean      NOT NULL DEFAULT false,
+    created_at    timestamp(6) with time zone,
+    updated_at    timestamp(6) with time zone
+);
+
+CREATE TABLE projects (
+    id          uuid         NOT NULL PRIMARY KEY,
+    name        varchar(255) NOT NULL,
+    description text,
+    color       varchar(7),
+    is_favorite boolean,
+    owner_id    uuid         NOT NULL REFERENCES users (id),
+    is_deleted  boolean      NOT NULL DEFAULT false,
+    created_at  timestamp(6) with time zone,
+    updated_at  timestamp(6) with time zone
+);
+
+CREATE TABLE project_members (
+    project_id uuid NOT NULL REFERENCES projects (id),
+    user_id    uuid NOT NULL REFERENCES users (id),
+    role       varchar(20) CHECK (role IN ('ADMIN', 'EDITOR', 'VIEWER')),
+    joined_at  timestamp(6) with time zone,
+    PRIMARY KEY (project_id, user_id)
+);
+
+CREATE TABLE board_columns (
+    id         uuid         NOT NULL PRIMARY KEY,
+    name       varchar(255) NOT NULL,
+    color      varchar(7),
+    position   integer      NOT NULL,
+    card_limit integer,
+    project_id uuid         NOT NULL REFERENCES projects (id),
+    is_deleted boolean      NOT NULL DEFAULT false,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+CREATE TABLE cards (
+    id              uuid         NOT NULL PRIMARY KEY,
+    title           varchar(500) NOT NULL,
+    description     text,
+    position        integer      NOT NULL,
+    priority        varchar(20) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    due_date        date,
+    cover_color     varchar(7),
+    is_completed    boolean,
+    board_column_id uuid         NOT NULL REFERENCES board_columns (id),
+    assignee_id     uuid REFERENCES users (id),
+    created_by      uuid REFERENCES users (id),
+    is_deleted      boolean      NOT NULL DEFAULT false,
+    created_at      timestamp(6) with time zone,
+    updated_at      timestamp(6) with time zone
+);
+
+CREATE TABLE comments (
+    id         uuid    NOT NULL PRIMARY KEY,
+    content    text    NOT NULL,
+    is_edited  boolean,
+    card_id    uuid    NOT NULL REFERENCES cards (id),
+    user_id    uuid    NOT NULL REFERENCES users (id),
+    is_deleted boolean NOT NULL DEFAULT false,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+CREATE TABLE activities (
+    id          uuid         NOT NULL PRIMARY KEY,
+    project_id  uuid REFERENCES projects (id),
+    user_id     uuid REFERENCES users (id),
+    action      varchar(255) NOT NULL,
+    entity_type varchar(255),
+    entity_id   uuid,
+    details     text,
+    is_deleted  boolean      NOT NULL DEFAULT false,
+    created_at  timestamp(6) with time zone,
+    updated_at  timestamp(6) with time zone
+);
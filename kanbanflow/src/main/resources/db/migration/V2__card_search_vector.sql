@@ -0,0 +1,6 @@
+-- Full-text search input, titles weigh more than descriptions. Replaces the
+-- column previously added at startup, so existing databases keep theirs.
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
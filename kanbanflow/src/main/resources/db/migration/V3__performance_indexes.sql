@@ -0,0 +1,44 @@
+-- Indexes for the hot read paths. Built concurrently so card and activity
+-- writes keep flowing on large tables; Flyway runs this file outside a
+-- transaction. Tables filtered by @SQLRestriction("is_deleted = false") get
+-- partial indexes with the same predicate, which leaves soft-deleted rows out.
+-- Earlier releases let Hibernate create some of these without the predicate,
+-- those are replaced.
+
+-- Board: cards of a column in rank order, and the next position in a column
+DROP INDEX CONCURRENTLY IF EXISTS idx_cards_column_rank;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_column_rank
+    ON cards (board_column_id, rank_key) WHERE is_deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_column_position
+    ON cards (board_column_id, position) WHERE is_deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_columns_project_position
+    ON board_columns (project_id, position) WHERE is_deleted = false;
+
+-- My tasks, newest first
+DROP INDEX CONCURRENTLY IF EXISTS idx_cards_assignee_created;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_assignee_created
+    ON cards (assignee_id, created_at DESC, id DESC) WHERE is_deleted = false;
+
+-- Full-text card search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_search_vector
+    ON cards USING GIN (search_vector) WHERE is_deleted = false;
+
+-- Card comments in thread order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_card_created
+    ON comments (card_id, created_at) WHERE is_deleted = false;
+
+-- Project feed and card history
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_project_created
+    ON activities (project_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_entity_created
+    ON activities (entity_id, entity_type, created_at);
+
+-- Projects a user owns or belongs to
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_owner
+    ON projects (owner_id) WHERE is_deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_project_members_user
+    ON project_members (user_id);
+
+-- Change journal reads by project and version
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_changes_project_version
+    ON board_changes (project_id, version);
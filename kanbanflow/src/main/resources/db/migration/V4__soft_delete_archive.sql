@@ -0,0 +1,27 @@
+-- When a row was soft-deleted, set by the @SQLDelete statements. Rows deleted
+-- before this column existed fall back to their last update.
+ALTER TABLE projects ADD COLUMN deleted_at timestamp(6) with time zone;
+ALTER TABLE board_columns ADD COLUMN deleted_at timestamp(6) with time zone;
+ALTER TABLE cards ADD COLUMN deleted_at timestamp(6) with time zone;
+ALTER TABLE comments ADD COLUMN deleted_at timestamp(6) with time zone;
+
+UPDATE projects SET deleted_at = coalesce(updated_at, created_at, now()) WHERE is_deleted;
+UPDATE board_columns SET deleted_at = coalesce(updated_at, created_at, now()) WHERE is_deleted;
+UPDATE cards SET deleted_at = coalesce(updated_at, created_at, now()) WHERE is_deleted;
+UPDATE comments SET deleted_at = coalesce(updated_at, created_at, now()) WHERE is_deleted;
+
+-- Purged rows, grouped by the deleted entity that took them along so they can
+-- be restored together. Payloads are the rows as JSON, which keeps the archive
+-- readable across later column changes; large ones are compressed by TOAST.
+CREATE TABLE archived_rows (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    table_name  varchar(50) NOT NULL,
+    row_id      uuid,
+    root_table  varchar(50) NOT NULL,
+    root_id     uuid        NOT NULL,
+    project_id  uuid        NOT NULL,
+    payload     jsonb       NOT NULL,
+    archived_at timestamp(6) with time zone NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_archived_rows_root ON archived_rows (root_table, root_id);
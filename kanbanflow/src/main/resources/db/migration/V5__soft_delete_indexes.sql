@@ -0,0 +1,10 @@
+-- Soft-deleted rows by parent, for the archive job. They only cover deleted
+-- rows, so they stay small and complement the live partial indexes from V3.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_deleted
+    ON projects (deleted_at) WHERE is_deleted = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_columns_deleted
+    ON board_columns (project_id, deleted_at) WHERE is_deleted = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cards_deleted
+    ON cards (board_column_id, deleted_at) WHERE is_deleted = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_deleted
+    ON comments (card_id, deleted_at) WHERE is_deleted = true;
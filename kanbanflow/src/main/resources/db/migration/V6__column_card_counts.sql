@@ -0,0 +1,14 @@
+-- Live cards per column, kept up to date by CardLimitService so card limits
+-- are checked with one conditional update of this row instead of counting the
+-- column. It is a table of its own so moving cards never touches, or evicts
+-- from the cache, the board_columns row.
+CREATE TABLE column_card_counts (
+    column_id  uuid    NOT NULL PRIMARY KEY,
+    card_count integer NOT NULL
+);
+
+INSERT INTO column_card_counts (column_id, card_count)
+SELECT bc.id, count(c.id)
+FROM board_columns bc
+LEFT JOIN cards c ON c.board_column_id = bc.id AND NOT c.is_deleted
+GROUP BY bc.id;
@@ -0,0 +1,14 @@
+-- Activities are inserted here in the transaction that logged them and moved
+-- to activities in batches by ActivityWriter, so an entry commits or rolls
+-- back with its change and survives a crash before it is written.
+CREATE TABLE activity_outbox (
+    seq         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id          uuid         NOT NULL,
+    project_id  uuid,
+    user_id     uuid,
+    action      varchar(255) NOT NULL,
+    entity_type varchar(255),
+    entity_id   uuid,
+    details     text,
+    created_at  timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,5 @@
+-- Project updates are journaled as well, so the board version and ETag move
+-- with everything a board view shows. Delta clients skip these entries.
+ALTER TABLE board_changes DROP CONSTRAINT board_changes_entity_type_check;
+ALTER TABLE board_changes ADD CONSTRAINT board_changes_entity_type_check
+    CHECK (entity_type IN ('CARD', 'COLUMN', 'PROJECT'));
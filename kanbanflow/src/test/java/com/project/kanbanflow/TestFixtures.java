@@ -0,0 +1,39 @@
+package com.project.kanbanflow;
+
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+
+/**
+ * Unsaved entities for the board most tests start from: an owner, a project
+ * and its columns. Each test persists them the way it needs, through the
+ * test entity manager or the repositories inside a committed transaction.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User owner() {
+        return User.builder()
+                .username("owner")
+                .email("owner@example.com")
+                .fullName("Owner")
+                .passwordHash("hash")
+                .build();
+    }
+
+    public static Project project(String name, User owner) {
+        return Project.builder().name(name).owner(owner).build();
+    }
+
+    public static BoardColumn column(Project project, String name, int position) {
+        return BoardColumn.builder().name(name).position(position).project(project).build();
+    }
+
+    public static BoardColumn column(Project project, String name, int position, int cardLimit) {
+        BoardColumn column = column(project, name, position);
+        column.setCardLimit(cardLimit);
+        return column;
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.kanbanflow.config;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({QueryStatsConfig.class, QueryStatsInterceptor.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "kanbanflow.query-stats.header=true")
+class QueryStatsTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private QueryStatsInterceptor interceptor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @AfterEach
+    void clear() {
+        QueryStats.clear();
+    }
+
+    @Test
+    void countsStatementsRowsAndEntitiesOfTheRequest() {
+        User owner = entityManager.persist(TestFixtures.owner());
+        entityManager.persist(TestFixtures.project("a", owner));
+        entityManager.persist(TestFixtures.project("b", owner));
+        entityManager.flush();
+        entityManager.clear();
+
+        QueryStats stats = QueryStats.start("ProjectController.getProjects");
+        assertThat(projectRepository.findAll()).hasSize(2);
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(2);
+        assertThat(stats.getEntities()).isEqualTo(2);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.postHandle(new MockHttpServletRequest(), response, null, null);
+        assertThat(response.getHeader(QueryStatsInterceptor.HEADER)).startsWith("statements=1, rows=2, entities=2");
+
+        interceptor.afterCompletion(new MockHttpServletRequest(), response, null, null);
+        assertThat(QueryStats.current()).isNull();
+        assertThat(meterRegistry.get("request.statements").tag("handler", "ProjectController.getProjects")
+                .summary().totalAmount()).isEqualTo(1);
+    }
+}
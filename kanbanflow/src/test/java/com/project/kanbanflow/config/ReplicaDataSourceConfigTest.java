@@ -0,0 +1,76 @@
+package com.project.kanbanflow.config;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Both pools point at the same database, which is enough to see what the second-level cache keeps
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-config;DB_CLOSE_DELAY=-1",
+        "kanbanflow.datasource.replica.url=jdbc:h2:mem:replica-config;DB_CLOSE_DELAY=-1",
+        "kanbanflow.datasource.replica.lag-query=SELECT 0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, ReplicaDataSourceConfigTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaDataSourceConfigTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotFillTheSecondLevelCache() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        User user = readWrite.execute(status -> userRepository.save(TestFixtures.owner()));
+        entityManagerFactory.getCache().evictAll();
+
+        readOnly.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isFalse();
+
+        readWrite.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.kanbanflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DriverManagerDataSource primary = database("primary");
+    private final DriverManagerDataSource replica = database("replica");
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).execute("DELETE FROM replica_lag");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag",
+                Duration.ofSeconds(1), new SimpleMeterRegistry());
+        lagMonitor.check();
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void routesOnlyReadOnlyTransactionsToTheReplica() {
+        assertThat(server(readOnly)).isEqualTo("replica");
+        assertThat(server(readWrite)).isEqualTo("primary");
+        assertThat(server()).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaLags() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 5");
+        lagMonitor.check();
+        assertThat(lagMonitor.isUsable()).isFalse();
+        assertThat(server(readOnly)).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 0.2");
+        lagMonitor.check();
+        assertThat(server(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void treatsAnUnreachableReplicaAsLagging() {
+        new JdbcTemplate(replica).execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+        assertThat(lagMonitor.isUsable()).isFalse();
+        assertThat(server(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void primaryReadsBypassTheReplicaInReadOnlyTransactions() {
+        PrimaryReads primaryReads = new PrimaryReads(transactionManager, "jdbc:h2:mem:routing-replica");
+
+        String insideReadOnly = readOnly.execute(status -> primaryReads.get(this::server));
+        String outsideTransaction = primaryReads.get(this::server);
+
+        assertThat(insideReadOnly).isEqualTo("primary");
+        assertThat(outsideTransaction).isEqualTo("primary");
+    }
+
+    private String server(TransactionTemplate transaction) {
+        return transaction.execute(status -> server());
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS server (name VARCHAR(16))");
+        jdbcTemplate.execute("DELETE FROM server");
+        jdbcTemplate.update("INSERT INTO server VALUES (?)", name);
+        return dataSource;
+    }
+}
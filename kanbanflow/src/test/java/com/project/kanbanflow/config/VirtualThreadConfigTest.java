@@ -0,0 +1,90 @@
+package com.project.kanbanflow.config;
+
+import com.project.kanbanflow.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class VirtualThreadConfigTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void limiterTurnsAwayRequestsPastTheCapUntilOneCompletes() throws Exception {
+        ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(1, Duration.ofMillis(10), new SimpleMeterRegistry());
+        HandlerMethod handler = new HandlerMethod(this, "toString");
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(limiter.preHandle(first, response, handler)).isTrue();
+        assertThatThrownBy(() -> limiter.preHandle(new MockHttpServletRequest(), response, handler))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        limiter.afterCompletion(first, response, handler, null);
+        // Releasing twice must not hand out a second permit
+        limiter.afterCompletion(first, response, handler, null);
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        assertThat(limiter.preHandle(second, response, handler)).isTrue();
+        assertThatThrownBy(() -> limiter.preHandle(new MockHttpServletRequest(), response, handler))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void databaseStreamsKeepTheirSlotUntilTheAsyncDispatchCompletes() throws Exception {
+        ConnectionPoolLimiter limiter = new ConnectionPoolLimiter(1, Duration.ofMillis(10), new SimpleMeterRegistry());
+        HandlerMethod export = new HandlerMethod(this, "streamExport");
+        HandlerMethod events = new HandlerMethod(this, "toString");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        limiter.preHandle(request, response, export);
+        limiter.afterConcurrentHandlingStarted(request, response, export);
+        assertThatThrownBy(() -> limiter.preHandle(new MockHttpServletRequest(), response, events))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        // The async dispatch runs under the slot it already holds
+        assertThat(limiter.preHandle(request, response, export)).isTrue();
+        limiter.afterCompletion(request, response, export, null);
+
+        MockHttpServletRequest stream = new MockHttpServletRequest();
+        limiter.preHandle(stream, response, events);
+        limiter.afterConcurrentHandlingStarted(stream, response, events);
+        assertThat(limiter.preHandle(new MockHttpServletRequest(), response, events)).isTrue();
+    }
+
+    @ConnectionPoolLimiter.StreamsFromDatabase
+    public void streamExport() {
+    }
+
+    @Test
+    void monitorReportsPinningInsideSynchronized() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(),
+                Duration.ofMillis(5));
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(monitor.report())
+                    .anySatisfy(site -> assertThat(site.site()).contains("sleepWhileHoldingLock")));
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
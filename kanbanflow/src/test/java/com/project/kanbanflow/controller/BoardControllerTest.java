@@ -0,0 +1,87 @@
+package com.project.kanbanflow.controller;
+
+import com.project.kanbanflow.exception.GlobalExceptionHandler;
+import com.project.kanbanflow.mapper.BoardMapper;
+import com.project.kanbanflow.mapper.CardMapper;
+import com.project.kanbanflow.service.BoardService;
+import com.project.kanbanflow.service.BoardSnapshotCache;
+import com.project.kanbanflow.service.BulkCardService;
+import com.project.kanbanflow.service.CardService;
+import com.project.kanbanflow.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BoardControllerTest {
+
+    private static final byte[] BOARD = "[{\"name\":\"Todo\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private final UUID projectId = UUID.randomUUID();
+    private final BoardService boardService = mock(BoardService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BoardController(boardService, mock(BoardMapper.class), mock(CardMapper.class),
+                        mock(ProjectService.class), mock(CardService.class), mock(BulkCardService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void servesTheSnapshotWithItsVersionAsStrongEtag() throws Exception {
+        String etag = BoardSnapshotCache.etag(3);
+        when(boardService.getBoardEtag(projectId)).thenReturn(etag);
+        when(boardService.getBoardSnapshot(projectId, etag)).thenReturn(BOARD);
+
+        mockMvc.perform(get("/api/projects/{projectId}/columns", projectId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(BOARD));
+    }
+
+    @Test
+    void answersNotModifiedWithoutBuildingTheBoardWhenTheEtagMatches() throws Exception {
+        String etag = BoardSnapshotCache.etag(3);
+        when(boardService.getBoardEtag(projectId)).thenReturn(etag);
+
+        mockMvc.perform(get("/api/projects/{projectId}/columns", projectId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        verify(boardService, never()).getBoardSnapshot(any(), any());
+    }
+
+    @Test
+    void resendsTheBoardOnceTheVersionMoved() throws Exception {
+        String etag = BoardSnapshotCache.etag(4);
+        when(boardService.getBoardEtag(projectId)).thenReturn(etag);
+        when(boardService.getBoardSnapshot(projectId, etag)).thenReturn(BOARD);
+
+        mockMvc.perform(get("/api/projects/{projectId}/columns", projectId)
+                        .header(HttpHeaders.IF_NONE_MATCH, BoardSnapshotCache.etag(3)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(BOARD));
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.kanbanflow.controller;
+
+import com.project.kanbanflow.exception.GlobalExceptionHandler;
+import com.project.kanbanflow.service.ExportFormat;
+import com.project.kanbanflow.service.ExportJobService;
+import com.project.kanbanflow.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExportControllerTest {
+
+    @TempDir
+    private Path directory;
+
+    private final UUID jobId = UUID.randomUUID();
+    private final ExportJobService exportJobService = mock(ExportJobService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(directory.resolve("1-0.csv"), "0123456789", StandardCharsets.UTF_8);
+        when(exportJobService.getArtifact(jobId)).thenReturn(new ExportJobService.Artifact(file, ExportFormat.CSV, 10));
+        doCallRealMethod().when(exportJobService).transfer(any(), anyLong(), anyLong(), any());
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ExportController(mock(ExportService.class), exportJobService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void servesTheWholeArtifactWithoutARange() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/export/jobs/{jobId}/download", jobId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void resumesFromASingleRange() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/export/jobs/{jobId}/download", jobId)
+                        .header(HttpHeaders.RANGE, "bytes=4-"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-9/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+                .andExpect(content().string("456789"));
+    }
+
+    @Test
+    void rejectsUnsatisfiableAndMultipleRanges() throws Exception {
+        mockMvc.perform(get("/api/export/jobs/{jobId}/download", jobId).header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        mockMvc.perform(get("/api/export/jobs/{jobId}/download", jobId).header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.ArchiveRoot;
+import com.project.kanbanflow.repository.projection.ArchiveCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Soft deletes stamp {@code deleted_at}, which is what the archive job picks
+ * its roots by. Moving and restoring the rows needs PostgreSQL, see
+ * {@link ArchiveRepositoryTest}.
+ */
+@DataJpaTest
+@Import(ArchiveRepository.class)
+class ArchiveCandidatesTest {
+
+    @Autowired
+    private ArchiveRepository archiveRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Project project;
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        owner = entityManager.persist(TestFixtures.owner());
+        project = entityManager.persist(TestFixtures.project("archive", owner));
+    }
+
+    @Test
+    void findsDeletedRootsOnceTheyAreOlderThanTheCutoff() {
+        BoardColumn column = column("Todo");
+        Card deleted = card(column, "deleted");
+        card(column, "live");
+        entityManager.flush();
+
+        entityManager.remove(deleted);
+        entityManager.flush();
+
+        Instant later = Instant.now().plus(Duration.ofMinutes(1));
+        assertThat(archiveRepository.findExpiredRoots(ArchiveRoot.CARD, later, 10))
+                .containsExactly(new ArchiveCandidate(deleted.getId(), project.getId()));
+        assertThat(archiveRepository.findExpiredRoots(ArchiveRoot.CARD, Instant.now().minus(Duration.ofMinutes(1)), 10))
+                .isEmpty();
+    }
+
+    @Test
+    void leavesCardsOfADeletedColumnToTheColumn() {
+        BoardColumn column = column("Done");
+        Card card = card(column, "old");
+        entityManager.flush();
+
+        entityManager.remove(card);
+        entityManager.remove(column);
+        entityManager.flush();
+
+        Instant later = Instant.now().plus(Duration.ofMinutes(1));
+        assertThat(archiveRepository.findExpiredRoots(ArchiveRoot.CARD, later, 10)).isEmpty();
+        assertThat(archiveRepository.findExpiredRoots(ArchiveRoot.COLUMN, later, 10))
+                .containsExactly(new ArchiveCandidate(column.getId(), project.getId()));
+    }
+
+    private BoardColumn column(String name) {
+        return entityManager.persist(TestFixtures.column(project, name, 0));
+    }
+
+    private Card card(BoardColumn column, String title) {
+        return entityManager.persist(Card.builder()
+                .title(title).rank("a").position(0).boardColumn(column).createdBy(owner).build());
+    }
+}
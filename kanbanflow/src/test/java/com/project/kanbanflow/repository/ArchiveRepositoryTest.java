@@ -0,0 +1,106 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.entity.enums.ArchiveRoot;
+import com.project.kanbanflow.repository.projection.ArchiveCandidate;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives and restores a deleted card with its comments on PostgreSQL. Runs
+ * the migrations first and removes its rows afterwards:
+ * <pre>
+ * ./gradlew test --tests '*ArchiveRepositoryTest' \
+ *     -Dkanbanflow.bench.url=jdbc:postgresql://localhost:5432/kanbanflow \
+ *     -Dkanbanflow.bench.username=postgres -Dkanbanflow.bench.password=123
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "kanbanflow.bench.url", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchiveRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArchiveRepository archiveRepository;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID columnId = UUID.randomUUID();
+    private final UUID cardId = UUID.randomUUID();
+
+    @BeforeAll
+    void seed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("kanbanflow.bench.url"),
+                System.getProperty("kanbanflow.bench.username", "postgres"),
+                System.getProperty("kanbanflow.bench.password", ""));
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        archiveRepository = new ArchiveRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+
+        jdbcTemplate.update("INSERT INTO users (id, username, email, full_name, password_hash, is_deleted) " +
+                "VALUES (?, ?, ?, 'Archive', 'x', false)", userId, "archive-" + userId, userId + "@archive.local");
+        jdbcTemplate.update("INSERT INTO projects (id, name, owner_id, is_deleted) VALUES (?, 'archive', ?, false)",
+                projectId, userId);
+        jdbcTemplate.update("INSERT INTO board_columns (id, name, position, project_id, is_deleted) " +
+                "VALUES (?, 'todo', 0, ?, false)", columnId, projectId);
+        jdbcTemplate.update("INSERT INTO cards (id, title, position, board_column_id, is_deleted, deleted_at) " +
+                "VALUES (?, 'old card', 0, ?, true, now() - interval '40 days')", cardId, columnId);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO comments (id, content, card_id, user_id, is_deleted, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, now())", UUID.randomUUID(), "comment " + i, cardId, userId, i == 0);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (jdbcTemplate == null) return;
+        jdbcTemplate.update("DELETE FROM archived_rows WHERE project_id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM comments WHERE card_id = ?", cardId);
+        jdbcTemplate.update("DELETE FROM cards WHERE id = ?", cardId);
+        jdbcTemplate.update("DELETE FROM board_columns WHERE id = ?", columnId);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void archivesDeletedCardWithCommentsAndRestoresIt() {
+        ArchiveCandidate candidate = archiveRepository
+                .findExpiredRoots(ArchiveRoot.CARD, Instant.now().minusSeconds(30L * 24 * 3600), 1000).stream()
+                .filter(found -> found.id().equals(cardId))
+                .findFirst()
+                .orElseThrow();
+
+        int moved = 0;
+        ArchiveRepository.ArchiveBatch batch;
+        while ((batch = archiveRepository.archiveNext(ArchiveRoot.CARD, candidate, 2)) != null) {
+            moved += batch.rows();
+        }
+
+        assertThat(moved).isEqualTo(4);
+        assertThat(count("SELECT COUNT(*) FROM cards WHERE id = ?", cardId)).isZero();
+        assertThat(archiveRepository.findArchivedRoot(ArchiveRoot.CARD, cardId)).hasValueSatisfying(root -> {
+            assertThat(root.projectId()).isEqualTo(projectId);
+            assertThat(root.parentLive()).isTrue();
+        });
+
+        assertThat(archiveRepository.restore(ArchiveRoot.CARD, cardId)).isEqualTo(4);
+        assertThat(count("SELECT COUNT(*) FROM cards WHERE id = ? AND NOT is_deleted", cardId)).isEqualTo(1);
+        // The comment deleted on its own stays deleted
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE card_id = ? AND NOT is_deleted", cardId)).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM archived_rows WHERE root_id = ?", cardId)).isZero();
+    }
+
+    private int count(String sql, UUID id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+}
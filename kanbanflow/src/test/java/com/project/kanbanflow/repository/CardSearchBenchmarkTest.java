@@ -0,0 +1,112 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.dtos.SearchCriteria;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares full-text search with the LIKE scan it replaced on a seeded project.
+ * Needs a PostgreSQL database that already has the application schema:
+ * <pre>
+ * ./gradlew test --tests '*CardSearchBenchmarkTest' \
+ *     -Dkanbanflow.bench.url=jdbc:postgresql://localhost:5432/kanbanflow \
+ *     -Dkanbanflow.bench.username=postgres -Dkanbanflow.bench.password=123 \
+ *     -Dkanbanflow.bench.cards=1000000
+ * </pre>
+ * The seeded project is removed afterwards.
+ */
+@EnabledIfSystemProperty(named = "kanbanflow.bench.url", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardSearchBenchmarkTest {
+
+    private static final int RUNS = 20;
+    private static final String WORDS = "'{design,review,release,backend,frontend,database,invoice,onboarding," +
+            "migration,latency,checkout,payment,dashboard,report,customer,support,mobile,search,index,cache}'";
+
+    private JdbcTemplate jdbcTemplate;
+    private CardSearchRepositoryImpl fulltext;
+    private CardSearchRepositoryImpl like;
+    private UUID userId;
+    private UUID projectId;
+
+    @BeforeAll
+    void seed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("kanbanflow.bench.url"),
+                System.getProperty("kanbanflow.bench.username", "postgres"),
+                System.getProperty("kanbanflow.bench.password", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        fulltext = new CardSearchRepositoryImpl(named, "fulltext");
+        like = new CardSearchRepositoryImpl(named, "like");
+
+        int cards = Integer.getInteger("kanbanflow.bench.cards", 1_000_000);
+        userId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        UUID columnId = UUID.randomUUID();
+
+        jdbcTemplate.update("INSERT INTO users (id, username, email, full_name, password_hash, is_active, is_deleted, created_at) " +
+                "VALUES (?, ?, ?, 'Benchmark', 'x', true, false, now())", userId, "bench-" + userId, userId + "@bench.local");
+        jdbcTemplate.update("INSERT INTO projects (id, name, owner_id, is_favorite, is_deleted, created_at) " +
+                "VALUES (?, 'search benchmark', ?, false, false, now())", projectId, userId);
+        jdbcTemplate.update("INSERT INTO board_columns (id, name, position, project_id, is_deleted, created_at) " +
+                "VALUES (?, 'bench', 0, ?, false, now())", columnId, projectId);
+
+        // Three random words per title and ten per description
+        jdbcTemplate.update("INSERT INTO cards (id, title, description, position, rank_key, priority, " +
+                "is_completed, board_column_id, assignee_id, is_deleted, created_at) " +
+                "SELECT gen_random_uuid(), " +
+                "(SELECT string_agg((" + WORDS + "::text[])[1 + floor(random() * 20)::int], ' ') " +
+                "   FROM generate_series(1, 3 + (g % 2))), " +
+                "(SELECT string_agg((" + WORDS + "::text[])[1 + floor(random() * 20)::int], ' ') " +
+                "   FROM generate_series(1, 10 + (g % 2))), " +
+                "g, lpad(to_hex(g), 8, '0'), 'MEDIUM', g % 3 = 0, ?, ?, false, now() " +
+                "FROM generate_series(1, ?) g", columnId, userId, cards);
+        jdbcTemplate.execute("ANALYZE cards");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (jdbcTemplate == null) return;
+        jdbcTemplate.update("DELETE FROM cards WHERE board_column_id IN " +
+                "(SELECT id FROM board_columns WHERE project_id = ?)", projectId);
+        jdbcTemplate.update("DELETE FROM board_columns WHERE project_id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void fullTextSearchBeatsLikeScan() {
+        SearchCriteria criteria = SearchCriteria.builder().query("invoice checkout").build();
+
+        long likeMicros = medianMicros(like, criteria);
+        long fulltextMicros = medianMicros(fulltext, criteria);
+
+        System.out.printf("card search, median of %d runs: like=%dus fulltext=%dus%n",
+                RUNS, likeMicros, fulltextMicros);
+        assertThat(fulltext.searchProjectCards(projectId, criteria, null, 20)).isNotEmpty();
+    }
+
+    private long medianMicros(CardSearchRepositoryImpl repository, SearchCriteria criteria) {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            repository.searchProjectCards(projectId, criteria, null, 20);
+            repository.countProjectFacets(projectId, criteria);
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
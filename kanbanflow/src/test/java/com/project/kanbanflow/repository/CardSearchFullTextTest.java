@@ -0,0 +1,138 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.repository.projection.CardSearchHit;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ranks, prefix-matches and pages cards through the generated search vector
+ * on PostgreSQL. Runs the migrations first and removes its rows afterwards:
+ * <pre>
+ * ./gradlew test --tests '*CardSearchFullTextTest' \
+ *     -Dkanbanflow.bench.url=jdbc:postgresql://localhost:5432/kanbanflow \
+ *     -Dkanbanflow.bench.username=postgres -Dkanbanflow.bench.password=123
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "kanbanflow.bench.url", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardSearchFullTextTest {
+
+    private static final SearchCriteria DESIGN_REVIEW = SearchCriteria.builder().query("desi rev").build();
+
+    private JdbcTemplate jdbcTemplate;
+    private CardSearchRepositoryImpl searchRepository;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID columnId = UUID.randomUUID();
+    private final List<UUID> titleMatches = new ArrayList<>();
+    private UUID descriptionMatch;
+    private UUID partialMatch;
+    private UUID deletedMatch;
+
+    @BeforeAll
+    void seed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("kanbanflow.bench.url"),
+                System.getProperty("kanbanflow.bench.username", "postgres"),
+                System.getProperty("kanbanflow.bench.password", ""));
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        searchRepository = new CardSearchRepositoryImpl(new NamedParameterJdbcTemplate(jdbcTemplate),
+                CardSearchRepositoryImpl.FULLTEXT);
+
+        jdbcTemplate.update("INSERT INTO users (id, username, email, full_name, password_hash, is_deleted) " +
+                "VALUES (?, ?, ?, 'Search', 'x', false)", userId, "search-" + userId, userId + "@search.local");
+        jdbcTemplate.update("INSERT INTO projects (id, name, owner_id, is_deleted) VALUES (?, 'search', ?, false)",
+                projectId, userId);
+        jdbcTemplate.update("INSERT INTO board_columns (id, name, position, project_id, is_deleted) " +
+                "VALUES (?, 'todo', 0, ?, false)", columnId, projectId);
+
+        // Two identical titles, so the ranks tie and the id decides
+        titleMatches.add(card("Design review", null, false));
+        titleMatches.add(card("Design review", null, false));
+        titleMatches.add(card("Designer reviews", null, false));
+        descriptionMatch = card("Weekly notes", "design review of the checkout", false);
+        partialMatch = card("Design system", "colors and spacing", false);
+        deletedMatch = card("Design review", null, true);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (jdbcTemplate == null) return;
+        jdbcTemplate.update("DELETE FROM cards WHERE board_column_id = ?", columnId);
+        jdbcTemplate.update("DELETE FROM board_columns WHERE id = ?", columnId);
+        jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        List<CardSearchHit> hits = searchRepository.searchProjectCards(projectId, DESIGN_REVIEW, null, 10);
+
+        assertThat(hits).extracting(CardSearchHit::id).hasSize(4)
+                .doesNotContain(partialMatch, deletedMatch)
+                .endsWith(descriptionMatch);
+        assertThat(hits.subList(0, 3)).extracting(CardSearchHit::id).containsExactlyInAnyOrderElementsOf(titleMatches);
+        for (int i = 1; i < hits.size(); i++) {
+            assertThat(hits.get(i).rank()).isLessThanOrEqualTo(hits.get(i - 1).rank());
+        }
+        assertThat(hits.get(3).rank()).isLessThan(hits.get(2).rank());
+    }
+
+    @Test
+    void everyWordMatchesAsAPrefix() {
+        // "desi" reaches "Designer", "rev" reaches "reviews"
+        assertThat(searchRepository.searchProjectCards(projectId, DESIGN_REVIEW, null, 10))
+                .extracting(CardSearchHit::id)
+                .contains(titleMatches.get(2));
+        assertThat(searchRepository.searchProjectCards(projectId,
+                SearchCriteria.builder().query("DESIGN").build(), null, 10))
+                .extracting(CardSearchHit::id)
+                .containsExactlyInAnyOrder(titleMatches.get(0), titleMatches.get(1), titleMatches.get(2),
+                        descriptionMatch, partialMatch);
+        assertThat(searchRepository.searchProjectCards(projectId,
+                SearchCriteria.builder().query("review checkout").build(), null, 10))
+                .extracting(CardSearchHit::id)
+                .containsExactly(descriptionMatch);
+    }
+
+    @Test
+    void rankCursorPagesThroughTiesWithoutGapsOrRepeats() {
+        List<UUID> expected = searchRepository.searchProjectCards(projectId, DESIGN_REVIEW, null, 10).stream()
+                .map(CardSearchHit::id)
+                .toList();
+
+        List<UUID> seen = new ArrayList<>();
+        CardSearchHit after = null;
+        List<CardSearchHit> page;
+        do {
+            page = searchRepository.searchProjectCards(projectId, DESIGN_REVIEW, after, 1);
+            page.forEach(hit -> seen.add(hit.id()));
+            after = page.isEmpty() ? null : page.getLast();
+        } while (!page.isEmpty());
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    private UUID card(String title, String description, boolean deleted) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO cards (id, title, description, position, rank_key, board_column_id, " +
+                        "is_deleted, created_at) VALUES (?, ?, ?, 0, 'a', ?, ?, now())",
+                id, title, description, columnId, deleted);
+        return id;
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.kanbanflow.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardSearchRepositoryImplTest {
+
+    @Test
+    void everyWordBecomesAPrefixTerm() {
+        assertThat(CardSearchRepositoryImpl.toPrefixQuery("Desi  rev")).isEqualTo("desi:* & rev:*");
+        assertThat(CardSearchRepositoryImpl.toPrefixQuery("Thiết kế")).isEqualTo("thiết:* & kế:*");
+    }
+
+    @Test
+    void tsquerySyntaxInInputIsTreatedAsSeparators() {
+        assertThat(CardSearchRepositoryImpl.toPrefixQuery("a|b & !c:*")).isEqualTo("a:* & b:* & c:*");
+        assertThat(CardSearchRepositoryImpl.toPrefixQuery("'&!")).isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.repository.projection.CardFacetCount;
+import com.project.kanbanflow.repository.projection.CardSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "kanbanflow.search.engine=like")
+class CardSearchRepositoryTest {
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UUID projectId;
+    private UUID ownerId;
+
+    @BeforeEach
+    void seed() {
+        User owner = entityManager.persist(TestFixtures.owner());
+        Project project = entityManager.persist(TestFixtures.project("search", owner));
+        BoardColumn column = entityManager.persist(TestFixtures.column(project, "Todo", 0));
+
+        for (int i = 0; i < 7; i++) {
+            entityManager.persist(Card.builder()
+                    .title(i % 2 == 0 ? "Release notes " + i : "Bug " + i)
+                    .rank("r" + i)
+                    .priority(i < 3 ? Priority.HIGH : Priority.LOW)
+                    .dueDate(i == 0 ? LocalDate.now().minusDays(1) : i == 2 ? LocalDate.now().plusDays(3) : null)
+                    .completed(i == 6)
+                    .assignee(i % 3 == 0 ? owner : null)
+                    .boardColumn(column)
+                    .createdBy(owner)
+                    .build());
+        }
+        entityManager.flush();
+        projectId = project.getId();
+        ownerId = owner.getId();
+    }
+
+    @Test
+    void keysetPagesVisitEveryMatchOnce() {
+        SearchCriteria criteria = SearchCriteria.builder().build();
+        List<UUID> seen = new ArrayList<>();
+
+        CardSearchHit after = null;
+        List<CardSearchHit> page;
+        do {
+            page = cardRepository.searchProjectCards(projectId, criteria, after, 3);
+            page.forEach(hit -> seen.add(hit.id()));
+            after = page.isEmpty() ? null : page.getLast();
+        } while (page.size() == 3);
+
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void assignedCardsPageNewestFirst() {
+        List<CardSearchHit> first = cardRepository.searchAssignedCards(ownerId, null, null, 2);
+        List<CardSearchHit> second = cardRepository.searchAssignedCards(ownerId, null, first.getLast(), 2);
+
+        assertThat(first).hasSize(2);
+        assertThat(second).singleElement()
+                .satisfies(hit -> assertThat(hit.createdAt()).isBeforeOrEqualTo(first.getLast().createdAt()));
+        assertThat(cardRepository.searchAssignedCards(ownerId, "release", null, 10)).hasSize(2);
+    }
+
+    @Test
+    void groupsFacetsInOneQuery() {
+        SearchCriteria criteria = SearchCriteria.builder().query("release").build();
+
+        List<CardFacetCount> groups = cardRepository.countProjectFacets(projectId, criteria);
+
+        assertThat(groups.stream().mapToLong(CardFacetCount::count).sum()).isEqualTo(4);
+        assertThat(groups.stream().filter(CardFacetCount::overdue).mapToLong(CardFacetCount::count).sum())
+                .isEqualTo(1);
+        assertThat(groups.stream().filter(CardFacetCount::completed).mapToLong(CardFacetCount::count).sum())
+                .isEqualTo(1);
+        assertThat(groups.stream().filter(group -> group.priority() == Priority.HIGH)
+                .mapToLong(CardFacetCount::count).sum()).isEqualTo(2);
+        assertThat(groups.stream().filter(group -> group.due() == CardFacetCount.Due.WEEK)
+                .mapToLong(CardFacetCount::count).sum()).isEqualTo(1);
+        assertThat(groups.stream().filter(group -> group.due() == CardFacetCount.Due.NONE)
+                .mapToLong(CardFacetCount::count).sum()).isEqualTo(2);
+    }
+}
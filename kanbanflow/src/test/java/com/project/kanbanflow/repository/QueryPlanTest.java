@@ -0,0 +1,82 @@
+package com.project.kanbanflow.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a PostgreSQL database and checks that each hot query can be served
+ * by the index added for it. Sequential scans are disabled for the session,
+ * so on a small database the plan shows which index the planner would pick
+ * once the table grows rather than what is cheapest on a handful of rows:
+ * <pre>
+ * ./gradlew test --tests '*QueryPlanTest' \
+ *     -Dkanbanflow.bench.url=jdbc:postgresql://localhost:5432/kanbanflow \
+ *     -Dkanbanflow.bench.username=postgres -Dkanbanflow.bench.password=123
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "kanbanflow.bench.url", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void migrate() {
+        dataSource = new SingleConnectionDataSource(
+                System.getProperty("kanbanflow.bench.url"),
+                System.getProperty("kanbanflow.bench.username", "postgres"),
+                System.getProperty("kanbanflow.bench.password", ""),
+                true);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    void close() {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            idx_cards_column_rank              | SELECT id FROM cards WHERE board_column_id = :id AND is_deleted = false ORDER BY rank_key
+            idx_cards_column_position          | SELECT MAX(position) FROM cards WHERE board_column_id = :id AND is_deleted = false
+            idx_board_columns_project_position | SELECT id FROM board_columns WHERE project_id = :id AND is_deleted = false ORDER BY position
+            idx_cards_assignee_created         | SELECT id FROM cards WHERE assignee_id = :id AND is_deleted = false ORDER BY created_at DESC, id DESC LIMIT 20
+            idx_cards_search_vector            | SELECT id FROM cards WHERE search_vector @@ to_tsquery('simple', 'release:*') AND is_deleted = false
+            idx_comments_card_created          | SELECT id FROM comments WHERE card_id = :id AND is_deleted = false ORDER BY created_at
+            idx_activities_project_created     | SELECT id FROM activities WHERE project_id = :id ORDER BY created_at DESC, id DESC LIMIT 20
+            idx_activities_entity_created      | SELECT id FROM activities WHERE entity_id = :id AND entity_type = 'CARD' ORDER BY created_at DESC
+            idx_projects_owner                 | SELECT id FROM projects WHERE owner_id = :id AND is_deleted = false
+            idx_project_members_user           | SELECT project_id FROM project_members WHERE user_id = :id
+            idx_board_changes_project_version  | SELECT entity_id FROM board_changes WHERE project_id = :id AND version > 10 ORDER BY version
+            """)
+    void hotQueryUsesIndex(String index, String sql) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) " + sql.replace(":id", "'" + ID + "'::uuid"), String.class);
+
+        assertThat(plan).contains("\"Index Name\": \"" + index + "\"");
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.util.RankKeys;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hibernate validates the entities against the portable migrations, the
+ * baseline and the 1.x steps that existing databases run after it, so the
+ * context only starts while they agree. Later migrations use PostgreSQL
+ * features and are covered by {@link QueryPlanTest}.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.flyway.target=1.2",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void baselineMatchesEntities() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT MAX(version) FROM \"flyway_schema_history\" WHERE success", String.class)).isEqualTo("1.2");
+    }
+
+    @Test
+    void databasesBaselinedAtTheOldSchemaGetRanksAndVersions() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baselined;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        JdbcTemplate baselined = new JdbcTemplate(dataSource);
+
+        UUID userId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        UUID columnId = UUID.randomUUID();
+        baselined.update("INSERT INTO users (id, username, email, full_name, password_hash) " +
+                "VALUES (?, 'owner', 'owner@example.com', 'Owner', 'hash')", userId);
+        baselined.update("INSERT INTO projects (id, name, owner_id) VALUES (?, 'old', ?)", projectId, userId);
+        baselined.update("INSERT INTO board_columns (id, name, position, project_id) VALUES (?, 'Todo', 0, ?)",
+                columnId, projectId);
+        for (int position : new int[]{2, 0, 1}) {
+            baselined.update("INSERT INTO cards (id, title, position, board_column_id) VALUES (?, ?, ?, ?)",
+                    UUID.randomUUID(), "card " + position, position, columnId);
+        }
+
+        Flyway.configure().dataSource(dataSource).target("1.2").load().migrate();
+
+        // Evenly spaced in the old position order, here the very keys a rebalance would give
+        assertThat(baselined.queryForList("SELECT rank_key FROM cards ORDER BY position", String.class))
+                .isEqualTo(RankKeys.spread(3));
+        assertThat(baselined.queryForObject("SELECT version FROM board_versions WHERE project_id = ?",
+                Long.class, projectId)).isZero();
+        baselined.execute("DROP ALL OBJECTS");
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.kanbanflow.repository;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every step commits, the cache only sees committed state
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BoardColumnRepository columnRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private UUID projectId;
+    private UUID columnId;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tx.executeWithoutResult(status -> {
+            User owner = userRepository.save(TestFixtures.owner());
+            Project project = projectRepository.save(TestFixtures.project("cached", owner));
+            BoardColumn column = columnRepository.save(TestFixtures.column(project, "Todo", 0));
+            projectId = project.getId();
+            columnId = column.getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Soft-deleted rows are invisible to the repositories
+        jdbcTemplate.update("DELETE FROM board_columns");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheCache() {
+        tx.executeWithoutResult(status -> projectRepository.findById(projectId).orElseThrow());
+        tx.executeWithoutResult(status -> projectRepository.findById(projectId).orElseThrow());
+
+        assertThat(statistics.getDomainDataRegionStatistics("projects").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("projects").getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkPositionUpdatesInvalidateTheRegion() {
+        tx.executeWithoutResult(status -> columnRepository.findById(columnId).orElseThrow());
+        tx.executeWithoutResult(status -> columnRepository.incrementPositionsFrom(projectId, 0));
+
+        BoardColumn column = tx.execute(status -> columnRepository.findById(columnId).orElseThrow());
+        assertThat(column.getPosition()).isEqualTo(1);
+    }
+
+    @Test
+    void softDeletedEntitiesLeaveTheCache() {
+        tx.executeWithoutResult(status -> columnRepository.findById(columnId).orElseThrow());
+        assertThat(entityManagerFactory.getCache().contains(BoardColumn.class, columnId)).isTrue();
+
+        tx.executeWithoutResult(status -> columnRepository.delete(columnRepository.findById(columnId).orElseThrow()));
+        long hits = statistics.getDomainDataRegionStatistics("board_columns").getHitCount();
+
+        // The entry is replaced by an expired lock, so the next read goes to the database
+        Optional<BoardColumn> reloaded = tx.execute(status -> columnRepository.findById(columnId));
+        assertThat(reloaded).isEmpty();
+        assertThat(statistics.getDomainDataRegionStatistics("board_columns").getHitCount()).isEqualTo(hits);
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.dtos.CursorPageDto;
+import com.project.kanbanflow.entity.Activity;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.util.Cursors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(ActivityService.class)
+class ActivityServiceTest {
+
+    private static final Instant OLDEST = Instant.parse("2026-03-01T09:00:00Z");
+    private static final Instant TIED = Instant.parse("2026-03-01T10:00:00Z");
+    private static final Instant NEWEST = Instant.parse("2026-03-01T11:00:00Z");
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private ProjectService projectService;
+
+    private UUID projectId;
+    private UUID userId;
+
+    @BeforeEach
+    void seed() {
+        User user = entityManager.persist(TestFixtures.owner());
+        Project project = entityManager.persist(TestFixtures.project("feed", user));
+        entityManager.flush();
+        projectId = project.getId();
+        userId = user.getId();
+    }
+
+    @Test
+    void feedPagesNewestFirstAcrossTimestampTies() {
+        UUID oldest = activity(OLDEST);
+        List<UUID> tied = new ArrayList<>(List.of(activity(TIED), activity(TIED), activity(TIED)));
+        UUID newest = activity(NEWEST);
+        // Ties fall back to the id, which the database compares byte-wise like the strings
+        tied.sort(Comparator.comparing(UUID::toString).reversed());
+
+        List<UUID> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<Activity> page = activityService.getProjectFeed(projectId, cursor, 2);
+            page.getItems().forEach(activity -> seen.add(activity.getId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(newest, tied.get(0), tied.get(1), tied.get(2), oldest);
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void feedEndsWithoutACursorWhenThePageIsNotFull() {
+        activity(TIED);
+        activity(TIED);
+
+        CursorPageDto<Activity> page = activityService.getProjectFeed(projectId, null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsAMalformedFeedCursor() {
+        String cursor = Cursors.encode("yesterday", UUID.randomUUID().toString());
+
+        assertThatThrownBy(() -> activityService.getProjectFeed(projectId, cursor, 2))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    // Written like ActivityWriter does, with a chosen timestamp
+    private UUID activity(Instant createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO activities (id, project_id, user_id, action, entity_type, created_at, " +
+                        "updated_at, is_deleted) VALUES (?, ?, ?, 'UPDATED', 'CARD', ?, ?, false)",
+                id, projectId, userId, Timestamp.from(createdAt), Timestamp.from(createdAt));
+        return id;
+    }
+}
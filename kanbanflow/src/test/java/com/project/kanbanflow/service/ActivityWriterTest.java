@@ -0,0 +1,176 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.event.ActivityLoggedEvent;
+import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.UserRepository;
+import com.project.kanbanflow.util.UuidV7;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Every step commits, since the outbox is only drained once the logging transaction has.
+// The scheduled drain waits an hour, so only the test drains.
+@DataJpaTest
+@Import({ActivityWriter.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "kanbanflow.activity.writer.batch-size=2",
+        "kanbanflow.activity.writer.flush-interval=1h"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityWriterTest {
+
+    @Autowired
+    private ActivityWriter activityWriter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private Project project;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            User owner = userRepository.save(TestFixtures.owner());
+            project = projectRepository.save(TestFixtures.project("activity", owner));
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM activity_outbox");
+        jdbcTemplate.update("DELETE FROM activities");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void movesTheOutboxToTheLogInBatches() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                log(project.getId(), "entry " + i);
+            }
+        });
+        assertThat(outboxSize()).isEqualTo(5);
+        assertThat(meterRegistry.get("activity.writer.outbox").gauge().value()).isEqualTo(5);
+        long batches = meterRegistry.timer("activity.writer.flush").count();
+
+        assertThat(activityWriter.drain()).isEqualTo(5);
+
+        assertThat(outboxSize()).isZero();
+        assertThat(meterRegistry.get("activity.writer.outbox").gauge().value()).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT details FROM activities ORDER BY created_at", String.class))
+                .containsExactly("entry 0", "entry 1", "entry 2", "entry 3", "entry 4");
+        // Two full batches and the remainder
+        assertThat(meterRegistry.timer("activity.writer.flush").count() - batches).isEqualTo(3);
+    }
+
+    @Test
+    void dropsNothingWhileTheLogCannotBeWritten() {
+        double failures = failures();
+        double drops = drops();
+        jdbcTemplate.execute("ALTER TABLE activities RENAME TO activities_offline");
+        try {
+            tx.executeWithoutResult(status -> {
+                for (int i = 0; i < 7; i++) {
+                    log(project.getId(), "entry " + i);
+                }
+            });
+            assertThat(activityWriter.drain()).isZero();
+            assertThat(failures() - failures).isEqualTo(1);
+            assertThat(drops() - drops).isZero();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE activities_offline RENAME TO activities");
+        }
+
+        assertThat(outboxSize()).isEqualTo(7);
+        assertThat(activityWriter.drain()).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM activities", Integer.class)).isEqualTo(7);
+    }
+
+    @Test
+    void rolledBackEntriesNeverReachTheLog() {
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            log(project.getId(), "rolled back");
+            throw new IllegalStateException("change failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxSize()).isZero();
+        assertThat(activityWriter.drain()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM activities", Integer.class)).isZero();
+    }
+
+    @Test
+    void skipsAnEntryThatCanNeverBeWritten() {
+        double failures = failures();
+        double drops = drops();
+        tx.executeWithoutResult(status -> {
+            log(project.getId(), "before");
+            log(UUID.randomUUID(), "unknown project");
+            log(project.getId(), "after");
+        });
+
+        assertThat(activityWriter.drain()).isEqualTo(2);
+
+        assertThat(outboxSize()).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT details FROM activities ORDER BY created_at", String.class))
+                .containsExactly("before", "after");
+        // Counted as dropped, not as a failure the next drain retries
+        assertThat(drops() - drops).isEqualTo(1);
+        assertThat(failures() - failures).isZero();
+    }
+
+    private void log(UUID projectId, String details) {
+        eventPublisher.publishEvent(new ActivityLoggedEvent(UuidV7.next(), projectId, null,
+                "CREATED", "CARD", UUID.randomUUID(), details, Instant.now()));
+    }
+
+    private double failures() {
+        return meterRegistry.counter("activity.writer.failed").count();
+    }
+
+    private double drops() {
+        return meterRegistry.counter("activity.writer.dropped").count();
+    }
+
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM activity_outbox", Integer.class);
+    }
+}
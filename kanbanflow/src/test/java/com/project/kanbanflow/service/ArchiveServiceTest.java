@@ -0,0 +1,99 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.enums.ArchiveRoot;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.exception.ForbiddenException;
+import com.project.kanbanflow.exception.NotFoundException;
+import com.project.kanbanflow.repository.ArchiveRepository;
+import com.project.kanbanflow.repository.projection.ArchivedRoot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArchiveServiceTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID ownerId = UUID.randomUUID();
+    private final UUID cardId = UUID.randomUUID();
+    private final ArchiveRepository archiveRepository = mock(ArchiveRepository.class);
+    private final ProjectService projectService = mock(ProjectService.class);
+    private final UserService userService = mock(UserService.class);
+    private final BoardVersionService boardVersionService = mock(BoardVersionService.class);
+    private final CardLimitService cardLimitService = mock(CardLimitService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ArchiveService archiveService = new ArchiveService(archiveRepository, projectService, userService,
+            boardVersionService, cardLimitService, eventPublisher, mock(PlatformTransactionManager.class),
+            entityManagerFactory(), new SimpleMeterRegistry());
+
+    @Test
+    void restoresACardAndTellsTheBoard() {
+        UUID columnId = UUID.randomUUID();
+        when(archiveRepository.findArchivedRoot(ArchiveRoot.CARD, cardId))
+                .thenReturn(Optional.of(new ArchivedRoot(projectId, null, columnId, true)));
+        when(projectService.checkAccess(projectId)).thenReturn(ProjectAccess.EDITOR);
+
+        archiveService.restore(ArchiveRoot.CARD, cardId);
+
+        verify(archiveRepository).restore(ArchiveRoot.CARD, cardId);
+        verify(cardLimitService).recount(projectId);
+        verify(boardVersionService).recordChange(projectId, BoardEntityType.CARD, cardId, BoardChangeType.CREATED);
+    }
+
+    @Test
+    void restoresAProjectForItsOwnerOnly() {
+        when(archiveRepository.findArchivedRoot(ArchiveRoot.PROJECT, projectId))
+                .thenReturn(Optional.of(new ArchivedRoot(projectId, ownerId, null, true)));
+        when(userService.getCurrentUserId()).thenReturn(UUID.randomUUID());
+
+        assertThatThrownBy(() -> archiveService.restore(ArchiveRoot.PROJECT, projectId))
+                .isInstanceOf(ForbiddenException.class);
+        verify(archiveRepository, never()).restore(any(), any());
+
+        when(userService.getCurrentUserId()).thenReturn(ownerId);
+        archiveService.restore(ArchiveRoot.PROJECT, projectId);
+
+        verify(archiveRepository).restore(ArchiveRoot.PROJECT, projectId);
+        verify(boardVersionService).initialize(projectId);
+        verify(eventPublisher).publishEvent(ProjectAccessChangedEvent.forProject(projectId));
+    }
+
+    @Test
+    void refusesViewersUnknownItemsAndDeletedParents() {
+        when(archiveRepository.findArchivedRoot(ArchiveRoot.CARD, cardId))
+                .thenReturn(Optional.of(new ArchivedRoot(projectId, null, UUID.randomUUID(), false)));
+        when(projectService.checkAccess(projectId)).thenReturn(ProjectAccess.VIEWER);
+
+        assertThatThrownBy(() -> archiveService.restore(ArchiveRoot.CARD, cardId))
+                .isInstanceOf(ForbiddenException.class);
+
+        when(projectService.checkAccess(projectId)).thenReturn(ProjectAccess.EDITOR);
+        assertThatThrownBy(() -> archiveService.restore(ArchiveRoot.CARD, cardId))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("The item it belonged to has been deleted");
+        assertThatThrownBy(() -> archiveService.restore(ArchiveRoot.COMMENT, UUID.randomUUID()))
+                .isInstanceOf(NotFoundException.class);
+        verify(archiveRepository, never()).restore(any(), any());
+    }
+
+    private static EntityManagerFactory entityManagerFactory() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        return entityManagerFactory;
+    }
+}
@@ -0,0 +1,152 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.event.BoardChangedEvent;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class BoardEventHubTest {
+
+    private static final Pattern EVENT = Pattern.compile("event:(\\w+)\nid:(\\d+)\n");
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Sender threads are only started by the test, so changes can queue up before the first drain
+    private final BlockingQueue<Runnable> senders = new LinkedBlockingQueue<>();
+    private BoardEventHub hub;
+
+    @AfterEach
+    void closeSubscriptions() {
+        hub.shutdown();
+    }
+
+    @Test
+    void sendsOnlyTheLatestChangeOfAnEntity() throws Exception {
+        hub(Duration.ofMinutes(1), 10);
+        MockHttpServletResponse response = subscribe();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        hub.onBoardChanged(change(6, first, BoardChangeType.UPDATED));
+        hub.onBoardChanged(change(7, second, BoardChangeType.CREATED));
+        hub.onBoardChanged(change(8, first, BoardChangeType.MOVED));
+        startSender();
+
+        awaitContent(response, "event:change\nid:8");
+        assertThat(events(response)).containsExactly("ready:8", "change:7", "change:8");
+        assertThat(meterRegistry.counter("board.events.coalesced").count()).isEqualTo(1);
+    }
+
+    @Test
+    void tellsASubscriberThatFellTooFarBehindToResync() throws Exception {
+        hub(Duration.ofMinutes(1), 2);
+        MockHttpServletResponse response = subscribe();
+
+        for (int version = 6; version <= 9; version++) {
+            hub.onBoardChanged(change(version, UUID.randomUUID(), BoardChangeType.CREATED));
+        }
+        startSender();
+
+        awaitContent(response, "event:resync");
+        assertThat(events(response)).containsExactly("ready:9", "resync:9");
+        assertThat(meterRegistry.counter("board.events.overflows").count()).isEqualTo(1);
+
+        // Back to single changes once the queue was handed over
+        hub.onBoardChanged(change(10, UUID.randomUUID(), BoardChangeType.UPDATED));
+        awaitContent(response, "event:change\nid:10");
+        assertThat(events(response)).containsExactly("ready:9", "resync:9", "change:10");
+    }
+
+    @Test
+    void sendsHeartbeatsWhileTheBoardIsQuiet() throws Exception {
+        hub(Duration.ofMillis(20), 10);
+        MockHttpServletResponse response = subscribe();
+        startSender();
+
+        awaitContent(response, ":heartbeat");
+        assertThat(events(response)).containsExactly("ready:5");
+    }
+
+    @Test
+    void dropsSubscribersWhoseAccessChanged() throws Exception {
+        hub(Duration.ofMinutes(1), 10);
+        subscribe();
+        startSender();
+        assertThat(meterRegistry.get("board.events.subscribers").gauge().value()).isEqualTo(1);
+
+        hub.onAccessChanged(new ProjectAccessChangedEvent(projectId, userId));
+
+        assertThat(meterRegistry.get("board.events.subscribers").gauge().value()).isZero();
+    }
+
+    private void hub(Duration heartbeat, int queueCapacity) {
+        hub = new BoardEventHub(meterRegistry, Duration.ofMinutes(5), heartbeat, queueCapacity,
+                runnable -> new Thread(() -> senders.add(runnable)));
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(hub, projectId, userId)).build();
+        return mockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private void startSender() throws InterruptedException {
+        Runnable sender = senders.poll(5, TimeUnit.SECONDS);
+        assertThat(sender).isNotNull();
+        Thread.ofVirtual().start(sender);
+    }
+
+    private BoardChangedEvent change(long version, UUID cardId, BoardChangeType changeType) {
+        return new BoardChangedEvent(projectId, version, BoardEntityType.CARD, cardId, changeType);
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!response.getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(response.getContentAsString()).contains(expected);
+    }
+
+    private static List<String> events(MockHttpServletResponse response) throws Exception {
+        Matcher matcher = EVENT.matcher(response.getContentAsString());
+        return matcher.results()
+                .map(result -> result.group(1) + ":" + result.group(2))
+                .toList();
+    }
+
+    @RestController
+    private record EventsController(BoardEventHub hub, UUID projectId, UUID userId) {
+
+        @GetMapping("/events")
+        public SseEmitter events() {
+            return hub.subscribe(projectId, userId, 5);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.dtos.BoardChangesDto;
+import com.project.kanbanflow.dtos.BoardColumnDto;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Comment;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.util.RankKeys;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BoardReadService.class, BoardVersionService.class})
+class BoardReadServiceTest {
+
+    @Autowired
+    private BoardReadService boardReadService;
+
+    @Autowired
+    private BoardVersionService boardVersionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementCountDoesNotGrowWithBoardSize() {
+        UUID smallBoard = seedBoard("small", 2, 3);
+        UUID largeBoard = seedBoard("large", 4, 100);
+
+        long smallStatements = countStatements(smallBoard);
+        long largeStatements = countStatements(largeBoard);
+
+        assertThat(smallStatements).isEqualTo(largeStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void buildsOrderedColumnsWithCommentCountsAndAssignees() {
+        UUID projectId = seedBoard("board", 2, 5);
+        entityManager.clear();
+
+        List<BoardColumnDto> board = boardReadService.getBoard(projectId);
+
+        assertThat(board).extracting(BoardColumnDto::getPosition).containsExactly(0, 1);
+        BoardColumnDto first = board.getFirst();
+        assertThat(first.getCardCount()).isEqualTo(5);
+        assertThat(first.getCards()).extracting("title")
+                .containsExactly("card-0", "card-1", "card-2", "card-3", "card-4");
+        assertThat(first.getCards()).extracting("position").containsExactly(0, 1, 2, 3, 4);
+        assertThat(first.getCards().get(1).getCommentCount()).isEqualTo(1);
+        assertThat(first.getCards().get(0).getAssignee().getUsername()).isEqualTo("board-user-0");
+        assertThat(first.getCards().get(0).isOverdue()).isTrue();
+    }
+
+    @Test
+    void changesSinceVersionContainOnlyTouchedEntities() {
+        UUID projectId = seedBoard("delta", 2, 3);
+        boardVersionService.initialize(projectId);
+        List<BoardColumnDto> board = boardReadService.getBoard(projectId);
+        UUID moved = board.getFirst().getCards().getFirst().getId();
+        UUID deleted = board.getFirst().getCards().get(2).getId();
+
+        long since = boardVersionService.recordChange(projectId, BoardEntityType.CARD, moved, BoardChangeType.CREATED);
+        entityManager.find(Card.class, moved).setBoardColumn(
+                entityManager.find(BoardColumn.class, board.get(1).getId()));
+        boardVersionService.recordChange(projectId, BoardEntityType.CARD, moved, BoardChangeType.MOVED);
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("DELETE FROM Card c WHERE c.id = :id")
+                .setParameter("id", deleted)
+                .executeUpdate();
+        boardVersionService.recordChange(projectId, BoardEntityType.CARD, deleted, BoardChangeType.DELETED);
+        entityManager.flush();
+        entityManager.clear();
+
+        BoardChangesDto changes = boardReadService.getChanges(projectId, since);
+
+        assertThat(changes.isFullSnapshot()).isFalse();
+        assertThat(changes.getVersion()).isEqualTo(since + 2);
+        assertThat(changes.getCards()).singleElement()
+                .satisfies(card -> assertThat(card.getColumnId()).isEqualTo(board.get(1).getId()));
+        assertThat(changes.getDeletedCardIds()).containsExactly(deleted);
+        assertThat(changes.getColumns()).isEmpty();
+
+        assertThat(boardReadService.getChanges(projectId, since + 2).getCards()).isEmpty();
+
+        // Once the first change is compacted away, older clients get the whole board
+        assertThat(boardReadService.getChanges(projectId, 0).isFullSnapshot()).isFalse();
+        entityManager.getEntityManager().createQuery("DELETE FROM BoardChange bc WHERE bc.version = :version")
+                .setParameter("version", since)
+                .executeUpdate();
+        assertThat(boardReadService.getChanges(projectId, 0).isFullSnapshot()).isTrue();
+    }
+
+    @Test
+    void resendsTheBoardWhenTheRequestedRangeIsGoneFromTheJournal() {
+        UUID projectId = seedBoard("compacted", 1, 1);
+        boardVersionService.initialize(projectId);
+        UUID cardId = boardReadService.getBoard(projectId).getFirst().getCards().getFirst().getId();
+        long since = boardVersionService.recordChange(projectId, BoardEntityType.CARD, cardId, BoardChangeType.UPDATED);
+        long current = boardVersionService.recordChange(projectId, BoardEntityType.CARD, cardId, BoardChangeType.UPDATED);
+        entityManager.flush();
+        // What a client sees when compaction removes the range between reading the oldest version and the range
+        entityManager.getEntityManager().createQuery("DELETE FROM BoardChange bc WHERE bc.version > :version")
+                .setParameter("version", since)
+                .executeUpdate();
+
+        BoardChangesDto changes = boardReadService.getChanges(projectId, since);
+
+        assertThat(changes.isFullSnapshot()).isTrue();
+        assertThat(changes.getVersion()).isEqualTo(current);
+    }
+
+    private long countStatements(UUID projectId) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        boardReadService.getBoard(projectId);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID seedBoard(String name, int columnCount, int cardsPerColumn) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(entityManager.persist(User.builder()
+                    .username(name + "-user-" + i)
+                    .email(name + "-user-" + i + "@example.com")
+                    .fullName("User " + i)
+                    .passwordHash("hash")
+                    .build()));
+        }
+
+        Project project = entityManager.persist(Project.builder()
+                .name(name)
+                .owner(users.getFirst())
+                .build());
+
+        List<String> ranks = RankKeys.spread(cardsPerColumn);
+        for (int c = 0; c < columnCount; c++) {
+            BoardColumn column = entityManager.persist(BoardColumn.builder()
+                    .name("column-" + c)
+                    .position(c)
+                    .project(project)
+                    .build());
+
+            for (int i = 0; i < cardsPerColumn; i++) {
+                Card card = entityManager.persist(Card.builder()
+                        .title("card-" + i)
+                        .position(i)
+                        .rank(ranks.get(i))
+                        .dueDate(LocalDate.now().minusDays(1))
+                        .boardColumn(column)
+                        .assignee(users.get(i % users.size()))
+                        .createdBy(users.getFirst())
+                        .build());
+
+                if (i % 2 == 1) {
+                    entityManager.persist(Comment.builder()
+                            .content("comment")
+                            .card(card)
+                            .author(users.getFirst())
+                            .build());
+                }
+            }
+        }
+
+        entityManager.flush();
+        return project.getId();
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.dtos.BoardChangesDto;
+import com.project.kanbanflow.dtos.CreateColumnRequest;
+import com.project.kanbanflow.dtos.UpdateColumnRequest;
+import com.project.kanbanflow.dtos.UpdateProjectRequest;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.BoardVersion;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({BoardService.class, ProjectService.class, BoardVersionService.class, BoardReadService.class,
+        BoardSnapshotCache.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BoardServiceTest {
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private BoardReadService boardReadService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @MockitoBean
+    private ProjectAccessCache accessCache;
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private CardLimitService cardLimitService;
+
+    @MockitoBean
+    private BoardEventHub eventHub;
+
+    private Project project;
+    private BoardColumn column;
+
+    @BeforeEach
+    void seed() {
+        User owner = entityManager.persist(TestFixtures.owner());
+        project = entityManager.persist(TestFixtures.project("versions", owner));
+        entityManager.persist(new BoardVersion(project.getId(), 0));
+        column = entityManager.persist(TestFixtures.column(project, "Todo", 0));
+        entityManager.flush();
+
+        when(userService.getCurrentUserId()).thenReturn(owner.getId());
+        when(accessCache.getAccess(any(), any())).thenReturn(ProjectAccess.OWNER);
+    }
+
+    @Test
+    void columnWritesMoveTheEtagAndTheSnapshotFollows() {
+        String initial = boardService.getBoardEtag(project.getId());
+        byte[] snapshot = boardService.getBoardSnapshot(project.getId(), initial);
+        assertThat(boardService.getBoardSnapshot(project.getId(), initial)).isSameAs(snapshot);
+
+        CreateColumnRequest create = new CreateColumnRequest();
+        create.setName("Review");
+        boardService.createColumn(project.getId(), create);
+        String created = boardService.getBoardEtag(project.getId());
+        assertThat(created).isNotEqualTo(initial);
+        assertThat(new String(boardService.getBoardSnapshot(project.getId(), created), StandardCharsets.UTF_8))
+                .contains("\"Review\"");
+
+        UpdateColumnRequest rename = new UpdateColumnRequest();
+        rename.setName("Backlog");
+        boardService.updateColumn(column.getId(), rename);
+        String renamed = boardService.getBoardEtag(project.getId());
+        assertThat(renamed).isNotIn(initial, created);
+        assertThat(new String(boardService.getBoardSnapshot(project.getId(), renamed), StandardCharsets.UTF_8))
+                .contains("\"Backlog\"")
+                .doesNotContain("\"Todo\"");
+    }
+
+    @Test
+    void projectUpdatesMoveTheEtagButNotTheDelta() {
+        String initial = boardService.getBoardEtag(project.getId());
+
+        UpdateProjectRequest request = new UpdateProjectRequest();
+        request.setName("renamed");
+        request.setColor("#ff0000");
+        projectService.updateProject(project.getId(), request);
+
+        assertThat(boardService.getBoardEtag(project.getId())).isNotEqualTo(initial);
+        BoardChangesDto changes = boardReadService.getChanges(project.getId(), 0);
+        assertThat(changes.getVersion()).isEqualTo(1);
+        assertThat(changes.getColumns()).isEmpty();
+        assertThat(changes.getCards()).isEmpty();
+    }
+}
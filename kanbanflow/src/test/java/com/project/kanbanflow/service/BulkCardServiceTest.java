@@ -0,0 +1,167 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.dtos.BulkCardOperation;
+import com.project.kanbanflow.dtos.BulkCardResultDto;
+import com.project.kanbanflow.entity.BoardChange;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BulkCardAction;
+import com.project.kanbanflow.repository.ColumnCardCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({BulkCardService.class, BoardVersionService.class, CardLimitService.class, ColumnCardCountRepository.class})
+class BulkCardServiceTest {
+
+    @Autowired
+    private BulkCardService bulkCardService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private ProjectService projectService;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private CardRankRebalancer rankRebalancer;
+
+    private Project project;
+    private BoardColumn todo;
+    private BoardColumn done;
+    private Card first;
+    private Card second;
+
+    @BeforeEach
+    void seed() {
+        User owner = entityManager.persist(TestFixtures.owner());
+        project = entityManager.persist(TestFixtures.project("bulk", owner));
+        todo = entityManager.persist(TestFixtures.column(project, "Todo", 0));
+        done = entityManager.persist(TestFixtures.column(project, "Done", 1, 2));
+        first = entityManager.persist(Card.builder()
+                .title("first").rank("a").position(0).boardColumn(todo).createdBy(owner).build());
+        second = entityManager.persist(Card.builder()
+                .title("second").rank("b").position(1).boardColumn(todo).createdBy(owner).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        when(projectService.checkAccess(project.getId())).thenReturn(ProjectAccess.EDITOR);
+        when(userService.getCurrentUserId()).thenReturn(owner.getId());
+    }
+
+    @Test
+    void appliesOperationsAndReportsFailuresPerItem() {
+        List<BulkCardResultDto> results = bulkCardService.apply(project.getId(), List.of(
+                operation(BulkCardAction.CREATE, null, done.getId(), "third"),
+                operation(BulkCardAction.MOVE, second.getId(), done.getId(), null),
+                // Done is full by now
+                operation(BulkCardAction.MOVE, first.getId(), done.getId(), null),
+                operation(BulkCardAction.UPDATE, UUID.randomUUID(), null, "missing"),
+                operation(BulkCardAction.DELETE, first.getId(), null, null)));
+
+        assertThat(results).extracting(BulkCardResultDto::isSuccess)
+                .containsExactly(true, true, false, false, true);
+        assertThat(results.get(2).getError()).contains("card limit");
+        assertThat(results.get(3).getError()).isEqualTo("Card not found");
+
+        entityManager.flush();
+        entityManager.clear();
+        UUID created = results.get(0).getCardId();
+        assertThat(ordered(done)).containsExactly(created, second.getId());
+        assertThat(ordered(todo)).isEmpty();
+        assertThat(cardCount(done)).isEqualTo(2);
+        assertThat(cardCount(todo)).isZero();
+
+        List<BoardChange> changes = changes();
+        assertThat(changes).extracting(BoardChange::getChangeType).containsExactly(
+                BoardChangeType.CREATED, BoardChangeType.MOVED, BoardChangeType.DELETED);
+        assertThat(changes).extracting(BoardChange::getVersion).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void placesMovedCardsAtTheirPositions() {
+        bulkCardService.apply(project.getId(), List.of(
+                move(second.getId(), todo.getId(), 0)));
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(ordered(todo)).containsExactly(second.getId(), first.getId());
+        // Only the moved card is re-ranked, so the journal covers every card that changed
+        assertThat(entityManager.find(Card.class, first.getId()).getRank()).isEqualTo("a");
+        assertThat(changes()).extracting(BoardChange::getEntityId).containsExactly(second.getId());
+    }
+
+    @Test
+    void journalsEveryCardARankCollisionRespreads() {
+        entityManager.getEntityManager().createQuery("UPDATE Card c SET c.rank = 'a'").executeUpdate();
+        Card third = entityManager.persist(Card.builder()
+                .title("third").rank("c").position(0).boardColumn(entityManager.find(BoardColumn.class, done.getId()))
+                .createdBy(entityManager.find(Card.class, first.getId()).getCreatedBy()).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        bulkCardService.apply(project.getId(), List.of(move(third.getId(), todo.getId(), 1)));
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(ordered(todo)).hasSize(3).element(1).isEqualTo(third.getId());
+        assertThat(changes()).extracting(BoardChange::getEntityId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), third.getId());
+    }
+
+    private List<BoardChange> changes() {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT c FROM BoardChange c ORDER BY c.version", BoardChange.class)
+                .getResultList();
+    }
+
+    private List<UUID> ordered(BoardColumn column) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT c.id FROM Card c WHERE c.boardColumn.id = :columnId ORDER BY c.rank", UUID.class)
+                .setParameter("columnId", column.getId())
+                .getResultList();
+    }
+
+    private int cardCount(BoardColumn column) {
+        return ((Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT card_count FROM column_card_counts WHERE column_id = ?1")
+                .setParameter(1, column.getId())
+                .getSingleResult()).intValue();
+    }
+
+    private static BulkCardOperation operation(BulkCardAction action, UUID cardId, UUID columnId, String title) {
+        BulkCardOperation operation = new BulkCardOperation();
+        operation.setAction(action);
+        operation.setCardId(cardId);
+        operation.setColumnId(columnId);
+        operation.setTitle(title);
+        return operation;
+    }
+
+    private static BulkCardOperation move(UUID cardId, UUID columnId, int position) {
+        BulkCardOperation operation = operation(BulkCardAction.MOVE, cardId, columnId, null);
+        operation.setPosition(position);
+        return operation;
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.event.BoardChangedEvent;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.projection.CardFacetRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CardFacetIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID overdueCard = UUID.randomUUID();
+    private final UUID doneCard = UUID.randomUUID();
+    private final UUID laterCard = UUID.randomUUID();
+
+    private final List<CardFacetRow> rows = List.of(
+            new CardFacetRow(overdueCard, Priority.HIGH, alice, false, TODAY.minusDays(2)),
+            new CardFacetRow(doneCard, Priority.HIGH, null, true, TODAY.minusDays(2)),
+            new CardFacetRow(laterCard, Priority.LOW, alice, false, TODAY.plusDays(30)),
+            new CardFacetRow(UUID.randomUUID(), Priority.MEDIUM, null, false, null));
+
+    @Test
+    void countsFacetsWithinTheFilter() {
+        CardFacetIndex.ProjectIndex index = new CardFacetIndex.ProjectIndex(rows);
+
+        Map<String, Integer> all = index.facets(SearchCriteria.builder().build(), null, TODAY);
+        assertThat(all).containsEntry("total", 4)
+                .containsEntry("completed", 1)
+                .containsEntry("overdue", 1)
+                .containsEntry("priority.HIGH", 2)
+                .containsEntry("assignee." + alice, 2)
+                .containsEntry("assignee.none", 2)
+                .containsEntry("due.later", 1)
+                .containsEntry("due.none", 1);
+
+        Map<String, Integer> aliceHigh = index.facets(
+                SearchCriteria.builder().assigneeId(alice).priority(Priority.HIGH).build(), null, TODAY);
+        assertThat(aliceHigh).containsEntry("total", 1).containsEntry("overdue", 1);
+
+        Map<String, Integer> dueRange = index.facets(SearchCriteria.builder()
+                .dueDateFrom(TODAY.minusDays(5)).dueDateTo(TODAY).build(), List.of(overdueCard, laterCard), TODAY);
+        assertThat(dueRange).containsEntry("total", 1);
+    }
+
+    @Test
+    void refreshesStaleCards() {
+        CardFacetIndex.ProjectIndex index = new CardFacetIndex.ProjectIndex(rows);
+        CardRepository cardRepository = mock(CardRepository.class);
+        when(cardRepository.findFacetRowsByIds(eq(projectId), any()))
+                .thenReturn(List.of(new CardFacetRow(overdueCard, Priority.LOW, null, true, null)));
+
+        index.markStale(overdueCard);
+        index.markStale(doneCard);
+        index.refresh(projectId, cardRepository);
+
+        Map<String, Integer> facets = index.facets(SearchCriteria.builder().build(), null, TODAY);
+        assertThat(facets).containsEntry("total", 3)
+                .containsEntry("completed", 1)
+                .containsEntry("priority.LOW", 2)
+                .containsEntry("assignee." + alice, 1)
+                .doesNotContainKey("priority.HIGH")
+                .containsEntry("overdue", 0);
+    }
+
+    @Test
+    void neverAppliesAnOlderRefreshAfterANewerOne() throws Exception {
+        CardFacetIndex.ProjectIndex index = new CardFacetIndex.ProjectIndex(rows);
+        CardRepository cardRepository = mock(CardRepository.class);
+        CountDownLatch firstReadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRead = new CountDownLatch(1);
+        when(cardRepository.findFacetRowsByIds(eq(projectId), any()))
+                .thenAnswer(invocation -> {
+                    firstReadStarted.countDown();
+                    releaseFirstRead.await();
+                    return List.of(new CardFacetRow(laterCard, Priority.LOW, alice, false, null));
+                })
+                .thenReturn(List.of(new CardFacetRow(laterCard, Priority.LOW, alice, true, null)));
+
+        index.markStale(laterCard);
+        Thread first = Thread.ofPlatform().start(() -> index.refresh(projectId, cardRepository));
+        firstReadStarted.await();
+        // The card changes again while the first refresh still reads the earlier state
+        index.markStale(laterCard);
+        Thread second = Thread.ofPlatform().start(() -> index.refresh(projectId, cardRepository));
+        while (second.getState() != Thread.State.WAITING && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        releaseFirstRead.countDown();
+        first.join();
+        second.join();
+
+        assertThat(index.facets(SearchCriteria.builder().build(), null, TODAY)).containsEntry("completed", 2);
+    }
+
+    @Test
+    void rebuildsWhenAColumnIsRestored() {
+        CardRepository cardRepository = mock(CardRepository.class);
+        when(cardRepository.findFacetRows(projectId)).thenReturn(rows.subList(0, 2), rows);
+        when(cardRepository.currentDate()).thenReturn(TODAY);
+        CardFacetIndex facetIndex = new CardFacetIndex(cardRepository,
+                new PrimaryReads(mock(PlatformTransactionManager.class), ""),
+                new SimpleMeterRegistry(), Duration.ofMinutes(30), 10);
+
+        assertThat(facetIndex.facets(projectId, SearchCriteria.builder().build(), null)).containsEntry("total", 2);
+        facetIndex.onBoardChanged(new BoardChangedEvent(
+                projectId, 1, BoardEntityType.COLUMN, UUID.randomUUID(), BoardChangeType.CREATED));
+
+        assertThat(facetIndex.facets(projectId, SearchCriteria.builder().build(), null)).containsEntry("total", 4);
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.ColumnCardCountRepository;
+import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Every step commits, so concurrent transactions see each other's counters
+@DataJpaTest
+@Import({CardLimitService.class, ColumnCardCountRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardLimitServiceTest {
+
+    @Autowired
+    private CardLimitService cardLimitService;
+
+    @Autowired
+    private ColumnCardCountRepository countRepository;
+
+    @Autowired
+    private BoardColumnRepository columnRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private BoardColumn todo;
+    private BoardColumn done;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            User owner = userRepository.save(TestFixtures.owner());
+            Project project = projectRepository.save(TestFixtures.project("limits", owner));
+            todo = columnRepository.save(TestFixtures.column(project, "Todo", 0));
+            done = columnRepository.save(TestFixtures.column(project, "Done", 1, 3));
+            cardLimitService.initialize(todo.getId());
+            cardLimitService.initialize(done.getId());
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM column_card_counts");
+        jdbcTemplate.update("DELETE FROM board_columns");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void stopsAtTheLimitAndMovesCountBothColumns() {
+        tx.executeWithoutResult(status -> {
+            cardLimitService.add(todo);
+            for (int i = 0; i < 3; i++) {
+                cardLimitService.add(done);
+            }
+        });
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> cardLimitService.move(todo.getId(), done)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Column 'Done' has reached its card limit (3/3)");
+        // The failed move rolled back, the card is still counted in Todo
+        assertThat(countRepository.findCount(todo.getId())).contains(1);
+
+        tx.executeWithoutResult(status -> cardLimitService.move(done.getId(), todo));
+        tx.executeWithoutResult(status -> cardLimitService.move(todo.getId(), done));
+        assertThat(countRepository.findCount(todo.getId())).contains(1);
+        assertThat(countRepository.findCount(done.getId())).contains(3);
+    }
+
+    @Test
+    void concurrentDropsIntoALimitedColumnNeverOverfillIt() throws Exception {
+        int workers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (int i = 0; i < workers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        tx.executeWithoutResult(status -> cardLimitService.add(done));
+                        return true;
+                    } catch (BadRequestException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+        }
+
+        int added = 0;
+        for (Future<Boolean> result : results) {
+            added += result.get() ? 1 : 0;
+        }
+        assertThat(added).isEqualTo(3);
+        assertThat(countRepository.findCount(done.getId())).contains(3);
+    }
+
+    @Test
+    void createsMissingCountersFromTheColumnsCards() {
+        jdbcTemplate.update("DELETE FROM column_card_counts");
+
+        tx.executeWithoutResult(status -> cardLimitService.add(todo));
+
+        assertThat(countRepository.findCount(todo.getId())).contains(1);
+        assertThat(countRepository.findCount(done.getId())).contains(0);
+    }
+}
@@ -0,0 +1,192 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.entity.BoardChange;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.BoardVersion;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.repository.BoardChangeRepository;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.BoardVersionRepository;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.UserRepository;
+import com.project.kanbanflow.util.RankKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Every step commits, so a rebalance sees only what other transactions committed
+@DataJpaTest
+@Import({CardRankRebalancer.class, BoardVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardRankRebalancerTest {
+
+    @Autowired
+    private CardRankRebalancer rankRebalancer;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private BoardColumnRepository columnRepository;
+
+    @Autowired
+    private BoardChangeRepository changeRepository;
+
+    @Autowired
+    private BoardVersionRepository versionRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private TaskExecutor taskExecutor;
+
+    private TransactionTemplate tx;
+    private Project project;
+    private BoardColumn column;
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            owner = userRepository.save(TestFixtures.owner());
+            project = projectRepository.save(TestFixtures.project("ranks", owner));
+            versionRepository.save(new BoardVersion(project.getId(), 0));
+            column = columnRepository.save(TestFixtures.column(project, "Todo", 0));
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM board_changes");
+        jdbcTemplate.update("DELETE FROM cards");
+        jdbcTemplate.update("DELETE FROM board_columns");
+        jdbcTemplate.update("DELETE FROM board_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void journalsEveryReRankedCardUnderNewVersions() {
+        Card first = card("first", "a");
+        Card second = card("second", "a" + "n".repeat(CardRankRebalancer.MAX_RANK_LENGTH));
+        Card third = card("third", "b");
+
+        rankRebalancer.rebalance(column.getId());
+
+        List<BoardChange> changes = changeRepository.findAll(Sort.by("version"));
+        assertThat(changes).extracting(BoardChange::getEntityId)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(changes).extracting(BoardChange::getChangeType).containsOnly(BoardChangeType.UPDATED);
+        assertThat(changes).extracting(BoardChange::getVersion).containsExactly(1L, 2L, 3L);
+        assertThat(versionRepository.findVersion(project.getId())).contains(3L);
+    }
+
+    @Test
+    void leavesTheVersionAloneWhenTheRanksAreAlreadySpread() {
+        List<String> ranks = RankKeys.spread(2);
+        card("first", ranks.get(0));
+        card("second", ranks.get(1));
+
+        rankRebalancer.rebalance(column.getId());
+
+        assertThat(versionRepository.findVersion(project.getId())).contains(0L);
+    }
+
+    @Test
+    void waitsForARankWriteThatHoldsTheColumn() throws Exception {
+        card("first", "a");
+        card("second", "a" + "n".repeat(CardRankRebalancer.MAX_RANK_LENGTH));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch placed = new CountDownLatch(1);
+
+        Future<Card> dropped;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // A move into the column, paused between taking the lock and committing
+            dropped = executor.submit(() -> tx.execute(status -> {
+                rankRebalancer.lockColumn(column.getId());
+                locked.countDown();
+                awaitQuietly(placed);
+                return cardRepository.save(Card.builder().title("dropped").rank("b").position(2)
+                        .boardColumn(column).createdBy(owner).build());
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> rebalance = executor.submit(() -> rankRebalancer.rebalance(column.getId()));
+            // The rebalance cannot start on the column's cards before the move is done
+            Thread.sleep(200);
+            assertThat(rebalance).isNotDone();
+            placed.countDown();
+            rebalance.get(5, TimeUnit.SECONDS);
+        }
+
+        // So the dropped card was re-spread along with the others
+        List<String> ranks = RankKeys.spread(3);
+        assertThat(cardRepository.findById(dropped.get().getId()))
+                .hasValueSatisfying(card -> assertThat(card.getRank()).isEqualTo(ranks.get(2)));
+    }
+
+    @Test
+    void schedulesOnlyOnceTheTriggeringTransactionCommits() {
+        tx.executeWithoutResult(status -> {
+            rankRebalancer.scheduleRebalance(column.getId());
+            status.setRollbackOnly();
+        });
+        verify(taskExecutor, never()).execute(any());
+
+        // The rolled-back request did not leave the column marked as pending
+        tx.executeWithoutResult(status -> rankRebalancer.scheduleRebalance(column.getId()));
+        verify(taskExecutor).execute(any());
+    }
+
+    private Card card(String title, String rank) {
+        return tx.execute(status -> cardRepository.save(Card.builder()
+                .title(title).rank(rank).position(0).boardColumn(column).createdBy(owner).build()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.dtos.UpdateColumnRequest;
+import com.project.kanbanflow.entity.BoardChange;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.BoardVersion;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.BoardChangeType;
+import com.project.kanbanflow.entity.enums.BoardEntityType;
+import com.project.kanbanflow.repository.BoardChangeRepository;
+import com.project.kanbanflow.repository.BoardColumnRepository;
+import com.project.kanbanflow.repository.BoardVersionRepository;
+import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Every step commits, so the column edit and the card move really contend for the same rows
+@DataJpaTest
+@Import({BoardService.class, BoardVersionService.class, CardRankRebalancer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ColumnLockOrderTest {
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private BoardVersionService boardVersionService;
+
+    @Autowired
+    private CardRankRebalancer rankRebalancer;
+
+    @Autowired
+    private BoardColumnRepository columnRepository;
+
+    @Autowired
+    private BoardChangeRepository changeRepository;
+
+    @Autowired
+    private BoardVersionRepository versionRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private ProjectService projectService;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private ProjectAccessCache accessCache;
+
+    @MockitoBean
+    private CardLimitService cardLimitService;
+
+    @MockitoBean
+    private BoardSnapshotCache snapshotCache;
+
+    @MockitoBean
+    private BoardReadService boardReadService;
+
+    @MockitoBean
+    private BoardEventHub eventHub;
+
+    @MockitoBean
+    private TaskExecutor taskExecutor;
+
+    private TransactionTemplate tx;
+    private Project project;
+    private BoardColumn column;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            User owner = userRepository.save(TestFixtures.owner());
+            project = projectRepository.save(TestFixtures.project("locks", owner));
+            versionRepository.save(new BoardVersion(project.getId(), 0));
+            column = columnRepository.save(TestFixtures.column(project, "Todo", 0));
+        });
+        when(projectService.canUserEditProject(any(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM board_changes");
+        jdbcTemplate.update("DELETE FROM board_columns");
+        jdbcTemplate.update("DELETE FROM board_versions");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void columnEditsQueueBehindACardMoveIntoTheColumn() throws Exception {
+        UpdateColumnRequest rename = new UpdateColumnRequest();
+        rename.setName("Backlog");
+
+        raceACardMove(() -> boardService.updateColumn(column.getId(), rename));
+
+        assertThat(columnRepository.findById(column.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getName()).isEqualTo("Backlog"));
+        assertJournaledAfterTheMove(BoardChangeType.UPDATED);
+    }
+
+    @Test
+    void columnDeletesQueueBehindACardMoveIntoTheColumn() throws Exception {
+        raceACardMove(() -> boardService.deleteColumn(column.getId()));
+
+        assertThat(columnRepository.findById(column.getId())).isEmpty();
+        assertJournaledAfterTheMove(BoardChangeType.DELETED);
+    }
+
+    private void raceACardMove(Runnable columnWrite) throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch placed = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // A move into the column takes the column first and the board version last
+            Future<?> move = executor.submit(() -> tx.executeWithoutResult(status -> {
+                rankRebalancer.lockColumn(column.getId());
+                locked.countDown();
+                awaitQuietly(placed);
+                boardVersionService.recordChange(project.getId(),
+                        BoardEntityType.CARD, UUID.randomUUID(), BoardChangeType.MOVED);
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> write = executor.submit(columnWrite);
+            // The column write waits on the column row without holding the version row
+            Thread.sleep(200);
+            assertThat(write).isNotDone();
+            placed.countDown();
+            move.get(5, TimeUnit.SECONDS);
+            write.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void assertJournaledAfterTheMove(BoardChangeType columnChange) {
+        List<BoardChange> changes = changeRepository.findAll(Sort.by("version"));
+        assertThat(changes).extracting(BoardChange::getEntityType)
+                .containsExactly(BoardEntityType.CARD, BoardEntityType.COLUMN);
+        assertThat(changes.get(1).getChangeType()).isEqualTo(columnChange);
+        assertThat(versionRepository.findVersion(project.getId())).contains(2L);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
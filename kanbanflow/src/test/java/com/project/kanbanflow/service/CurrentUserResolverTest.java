@@ -0,0 +1,142 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrentUserResolverTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PrimaryReads primaryReads = new PrimaryReads(mock(PlatformTransactionManager.class), "");
+
+    @BeforeEach
+    void authenticate() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user("owner")));
+        authenticate(userId);
+        startRequest();
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void looksTheUserUpOncePerRequest() {
+        CurrentUserResolver resolver = resolver(false);
+
+        resolver.resolve();
+        resolver.resolve();
+        verify(userRepository, times(1)).findById(userId);
+
+        // Without the shared tier every request looks the user up again
+        startRequest();
+        assertThat(resolver.resolve().username()).isEqualTo("owner");
+        verify(userRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    void sharesTheSnapshotAcrossRequestsWhenEnabled() {
+        CurrentUserResolver resolver = resolver(true);
+
+        resolver.resolve();
+        startRequest();
+        resolver.resolve();
+        startRequest();
+        resolver.resolve();
+
+        verify(userRepository, times(1)).findById(userId);
+    }
+
+    @Test
+    void evictingReloadsRightAway() {
+        CurrentUserResolver resolver = resolver(true);
+        resolver.resolve();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user("renamed")));
+
+        resolver.evict(userId);
+
+        // Neither the request's copy nor the shared one survives
+        assertThat(resolver.resolve().username()).isEqualTo("renamed");
+        startRequest();
+        assertThat(resolver.resolve().username()).isEqualTo("renamed");
+    }
+
+    @Test
+    void evictsAgainOnceTheWritingTransactionCompletes() {
+        CurrentUserResolver resolver = resolver(true);
+        resolver.resolve();
+
+        TransactionSynchronizationManager.initSynchronization();
+        resolver.evict(userId);
+        // A concurrent request reloads the user before the change commits
+        startRequest();
+        assertThat(resolver.resolve().username()).isEqualTo("owner");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user("renamed")));
+        complete();
+
+        startRequest();
+        assertThat(resolver.resolve().username()).isEqualTo("renamed");
+    }
+
+    private CurrentUserResolver resolver(boolean sharedCacheEnabled) {
+        return new CurrentUserResolver(userRepository, primaryReads, sharedCacheEnabled, Duration.ofMinutes(5), 100);
+    }
+
+    private User user(String username) {
+        User user = TestFixtures.owner();
+        user.setId(userId);
+        user.setUsername(username);
+        return user;
+    }
+
+    static void authenticate(UUID userId) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("owner")
+                .claim("userId", userId.toString())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+    }
+
+    static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_COMMITTED);
+    }
+}
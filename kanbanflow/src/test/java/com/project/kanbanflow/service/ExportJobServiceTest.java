@@ -0,0 +1,134 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.dtos.ExportJobDto;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.enums.ExportJobStatus;
+import com.project.kanbanflow.exception.TooManyRequestsException;
+import com.project.kanbanflow.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportJobServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private final ExportService exportService = mock(ExportService.class);
+    private final BoardVersionService boardVersionService = mock(BoardVersionService.class);
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExportJobService exportJobService;
+    private Project project;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        project = project();
+        when(exportService.getExportableProject(any())).thenAnswer(invocation -> project.getId()
+                .equals(invocation.getArgument(0)) ? project : project(invocation.getArgument(0)));
+        // Exports block until the test lets them finish
+        doAnswer(invocation -> {
+            release.await();
+            invocation.<OutputStream>getArgument(1).write("csv".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeProjectCsv(any(), any(), any());
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(exportService).writeProjectJson(any(), any(), any());
+
+        // One export at a time and one waiting
+        exportJobService = new ExportJobService(exportService, boardVersionService, mock(ProjectService.class),
+                cardRepository, new SimpleMeterRegistry(), directory, 1, 1, Duration.ofHours(1), false);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void sharesRunningJobsAndServesUnchangedBoardsFromDisk() throws Exception {
+        ExportJobDto first = exportJobService.submit(project.getId(), ExportFormat.CSV);
+        ExportJobDto duplicate = exportJobService.submit(project.getId(), ExportFormat.CSV);
+        assertThat(duplicate.getId()).isEqualTo(first.getId());
+
+        release.countDown();
+        awaitCompletion(first.getId());
+        ExportJobDto cached = exportJobService.submit(project.getId(), ExportFormat.CSV);
+
+        assertThat(cached.getId()).isNotEqualTo(first.getId());
+        assertThat(cached.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        verify(exportService, times(1)).writeProjectCsv(eq(project.getId()), any(), any());
+    }
+
+    @Test
+    void rejectsExportsOnceTheQueueIsFull() {
+        exportJobService.submit(project.getId(), ExportFormat.CSV);
+        exportJobService.submit(project.getId(), ExportFormat.JSON);
+
+        assertThatThrownBy(() -> exportJobService.submit(UUID.randomUUID(), ExportFormat.CSV))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void reExportsChangedProjectDetailsAndKeepsOlderFilesWhileDownloadable() throws Exception {
+        release.countDown();
+        ExportJobDto before = exportJobService.submit(project.getId(), ExportFormat.CSV);
+        awaitCompletion(before.getId());
+
+        // A renamed project or assignee leaves the board version alone
+        when(cardRepository.findLastAssigneeUpdate(project.getId())).thenReturn(Instant.now().plusSeconds(60));
+        ExportJobDto after = exportJobService.submit(project.getId(), ExportFormat.CSV);
+        assertThat(after.getId()).isNotEqualTo(before.getId());
+        awaitCompletion(after.getId());
+        verify(exportService, times(2)).writeProjectCsv(eq(project.getId()), any(), any());
+
+        // The earlier job can still be downloaded, e.g. to resume it
+        ExportJobService.Artifact artifact = exportJobService.getArtifact(before.getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportJobService.transfer(artifact, 0, artifact.size(), out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("csv");
+    }
+
+    private void awaitCompletion(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 500 && exportJobService.getJob(jobId).getStatus() != ExportJobStatus.COMPLETED; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(exportJobService.getJob(jobId).getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+    }
+
+    private static Project project() {
+        return project(UUID.randomUUID());
+    }
+
+    private static Project project(UUID id) {
+        Project project = Project.builder().name("export").build();
+        project.setId(id);
+        project.setUpdatedAt(Instant.now());
+        return project;
+    }
+}
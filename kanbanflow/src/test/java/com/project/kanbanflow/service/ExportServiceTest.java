@@ -0,0 +1,115 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.kanbanflow.entity.BoardColumn;
+import com.project.kanbanflow.entity.Card;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private ProjectService projectService;
+
+    @Test
+    void writesEscapedCsvInBoardOrder() throws Exception {
+        Project project = seedProject();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeProjectCsv(project.getId(), out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "Column,Card Title,Description,Priority,Status,Due Date,Assignee",
+                "\"Todo\",\"Say \"\"hi\"\"\",\"a, b\",\"HIGH\",\"In Progress\",\"\",\"Owner\"",
+                "\"Todo\",\"second\",\"\",\"MEDIUM\",\"Completed\",\"\",\"\"");
+    }
+
+    @Test
+    void writesJsonWithEmptyColumns() throws Exception {
+        Project project = seedProject();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeProjectJson(project, out);
+
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertThat(json.get("name").asText()).isEqualTo("export");
+        assertThat(json.get("columns")).hasSize(2);
+        assertThat(json.get("columns").get(0).get("cards")).hasSize(2);
+        assertThat(json.get("columns").get(0).get("cards").get(0).get("assignee").asText()).isEqualTo("Owner");
+        assertThat(json.get("columns").get(1).get("name").asText()).isEqualTo("Done");
+        assertThat(json.get("columns").get(1).get("position").asInt()).isEqualTo(1);
+        assertThat(json.get("columns").get(1).get("cards")).isEmpty();
+    }
+
+    @Test
+    void keepsColumnsWhoseCardsWereAllDeleted() throws Exception {
+        Project project = seedProject();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE cards SET is_deleted = true")
+                .executeUpdate();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeProjectJson(project, out);
+
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertThat(json.get("columns")).extracting(column -> column.get("name").asText()).containsExactly("Todo", "Done");
+        assertThat(json.get("columns")).extracting(column -> column.get("cards").size()).containsExactly(0, 0);
+    }
+
+    private Project seedProject() {
+        User owner = entityManager.persist(TestFixtures.owner());
+        Project project = entityManager.persist(TestFixtures.project("export", owner));
+        BoardColumn todo = entityManager.persist(TestFixtures.column(project, "Todo", 0));
+        entityManager.persist(TestFixtures.column(project, "Done", 1));
+
+        entityManager.persist(Card.builder()
+                .title("second")
+                .rank("m")
+                .priority(Priority.MEDIUM)
+                .completed(true)
+                .boardColumn(todo)
+                .createdBy(owner)
+                .build());
+        entityManager.persist(Card.builder()
+                .title("Say \"hi\"")
+                .description("a, b")
+                .rank("a")
+                .priority(Priority.HIGH)
+                .boardColumn(todo)
+                .assignee(owner)
+                .createdBy(owner)
+                .build());
+
+        entityManager.flush();
+        entityManager.clear();
+        return project;
+    }
+}
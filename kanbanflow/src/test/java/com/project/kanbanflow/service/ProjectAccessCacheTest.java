@@ -0,0 +1,229 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.entity.Project;
+import com.project.kanbanflow.entity.ProjectMember;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.entity.enums.ProjectRole;
+import com.project.kanbanflow.event.ProjectAccessChangedEvent;
+import com.project.kanbanflow.mapper.UserMapper;
+import com.project.kanbanflow.repository.ProjectMemberRepository;
+import com.project.kanbanflow.repository.ProjectRepository;
+import com.project.kanbanflow.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// Entries are dropped after commit, so every step runs in a transaction of its own
+@DataJpaTest
+@Import({ProjectService.class, ProjectAccessCache.class, PrimaryReads.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProjectAccessCacheTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectAccessCache accessCache;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository memberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @MockitoBean
+    private BoardVersionService boardVersionService;
+
+    @MockitoBean
+    private CardLimitService cardLimitService;
+
+    private TransactionTemplate tx;
+    private User owner;
+    private User editor;
+    private User viewer;
+    private User outsider;
+    private Project project;
+    private Project other;
+    private double warmUpMisses;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            owner = userRepository.save(TestFixtures.owner());
+            editor = userRepository.save(user("editor"));
+            viewer = userRepository.save(user("viewer"));
+            outsider = userRepository.save(user("outsider"));
+            project = projectRepository.save(TestFixtures.project("access", owner));
+            other = projectRepository.save(TestFixtures.project("other", owner));
+            member(project, editor, ProjectRole.EDITOR);
+            member(project, viewer, ProjectRole.VIEWER);
+            member(other, editor, ProjectRole.EDITOR);
+        });
+        when(userService.getCurrentUserId()).thenReturn(owner.getId());
+
+        // The cache outlives the test, so its counters are read relative to this point
+        warmUpMisses = gets("miss");
+        for (User user : new User[]{owner, editor, viewer, outsider}) {
+            accessCache.getAccess(project.getId(), user.getId());
+        }
+        accessCache.getAccess(other.getId(), editor.getId());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM project_members");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void addingAMemberDropsOnlyTheirEntry() {
+        projectService.addMember(project.getId(), outsider.getEmail(), ProjectRole.VIEWER);
+
+        assertReloaded(project, outsider, ProjectAccess.VIEWER);
+        assertCached(project, owner, editor, viewer);
+        assertCached(other, editor);
+    }
+
+    @Test
+    void removingAMemberDropsOnlyTheirEntry() {
+        projectService.removeMember(project.getId(), editor.getId());
+
+        assertReloaded(project, editor, ProjectAccess.NONE);
+        assertCached(project, owner, viewer, outsider);
+        assertCached(other, editor);
+    }
+
+    @Test
+    void changingARoleDropsOnlyThatMembersEntry() {
+        projectService.updateMemberRole(project.getId(), viewer.getId(), ProjectRole.ADMIN);
+
+        assertReloaded(project, viewer, ProjectAccess.ADMIN);
+        assertCached(project, owner, editor, outsider);
+    }
+
+    @Test
+    void deletingAProjectDropsEveryEntryOfThatProject() {
+        projectService.deleteProject(project.getId());
+
+        for (User user : new User[]{owner, editor, viewer, outsider}) {
+            assertReloaded(project, user, ProjectAccess.NONE);
+        }
+        assertCached(other, editor);
+    }
+
+    @Test
+    void restoringAProjectDropsEveryEntryOfThatProject() {
+        // The event ArchiveService.restore publishes for a project
+        tx.executeWithoutResult(status ->
+                eventPublisher.publishEvent(ProjectAccessChangedEvent.forProject(project.getId())));
+
+        assertReloaded(project, owner, ProjectAccess.OWNER);
+        assertReloaded(project, editor, ProjectAccess.EDITOR);
+        assertReloaded(project, viewer, ProjectAccess.VIEWER);
+        assertReloaded(project, outsider, ProjectAccess.NONE);
+        assertCached(other, editor);
+    }
+
+    @Test
+    void rolledBackChangesKeepTheEntries() {
+        tx.executeWithoutResult(status -> {
+            projectService.updateMemberRole(project.getId(), editor.getId(), ProjectRole.VIEWER);
+            projectService.addMember(project.getId(), outsider.getEmail(), ProjectRole.EDITOR);
+            status.setRollbackOnly();
+        });
+
+        assertCached(project, owner, editor, viewer, outsider);
+        assertThat(accessCache.getAccess(project.getId(), editor.getId())).isEqualTo(ProjectAccess.EDITOR);
+    }
+
+    @Test
+    void registersHitAndMissMetrics() {
+        double hits = gets("hit");
+        accessCache.getAccess(project.getId(), owner.getId());
+
+        assertThat(gets("hit")).isEqualTo(hits + 1);
+        assertThat(gets("miss") - warmUpMisses).isEqualTo(5);
+        assertThat(meterRegistry.find("cache.size").tag("cache", "projectAccess").gauge()).isNotNull();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "columnProjects").functionCounters()).hasSize(2);
+    }
+
+    private void assertReloaded(Project project, User user, ProjectAccess expected) {
+        double misses = gets("miss");
+        assertThat(accessCache.getAccess(project.getId(), user.getId())).isEqualTo(expected);
+        assertThat(gets("miss")).as("%s on %s reloaded", user.getUsername(), project.getName())
+                .isEqualTo(misses + 1);
+    }
+
+    private void assertCached(Project project, User... users) {
+        double misses = gets("miss");
+        for (User user : users) {
+            accessCache.getAccess(project.getId(), user.getId());
+        }
+        assertThat(gets("miss")).as("entries on %s kept", project.getName()).isEqualTo(misses);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "projectAccess")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private void member(Project project, User user, ProjectRole role) {
+        memberRepository.save(ProjectMember.builder()
+                .projectId(project.getId())
+                .userId(user.getId())
+                .role(role)
+                .build());
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .fullName(username)
+                .passwordHash("hash")
+                .build();
+    }
+}
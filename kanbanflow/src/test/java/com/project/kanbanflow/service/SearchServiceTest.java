@@ -0,0 +1,104 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.dtos.SearchCriteria;
+import com.project.kanbanflow.dtos.SearchResultDto;
+import com.project.kanbanflow.entity.enums.Priority;
+import com.project.kanbanflow.exception.BadRequestException;
+import com.project.kanbanflow.repository.CardRepository;
+import com.project.kanbanflow.repository.projection.CardFacetCount;
+import com.project.kanbanflow.repository.projection.CardFacetCount.Due;
+import com.project.kanbanflow.repository.projection.CardFacetRow;
+import com.project.kanbanflow.util.Cursors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final SearchCriteria RELEASE = SearchCriteria.builder().query("release").build();
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final CardFacetIndex facetIndex = mock(CardFacetIndex.class);
+    private final SearchService searchService = new SearchService(cardRepository, mock(ProjectService.class),
+            mock(UserService.class), mock(BoardReadService.class), facetIndex);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchService, "maxTextHits", 10_000);
+    }
+
+    @Test
+    void rejectsACursorFromTheOtherOrdering() {
+        SearchCriteria text = SearchCriteria.builder().query("release").build();
+        SearchCriteria filters = SearchCriteria.builder().build();
+        when(cardRepository.isRanked(text)).thenReturn(true);
+        String createdCursor = Cursors.encode("t", Instant.now().toString(), UUID.randomUUID().toString());
+        String rankCursor = Cursors.encode("r", "0.5", UUID.randomUUID().toString());
+
+        assertThatThrownBy(() -> searchService.searchCards(projectId, text, createdCursor, 10, SearchCountMode.EXACT))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> searchService.searchCards(projectId, filters, rankCursor, 10, SearchCountMode.EXACT))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+        verify(cardRepository, never()).searchProjectCards(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void largeTextQueriesAreCountedInSqlWithoutLoadingTheirIds() {
+        when(cardRepository.estimateProjectCards(eq(projectId), any())).thenReturn(50_000L);
+        when(cardRepository.countProjectFacets(projectId, RELEASE)).thenReturn(List.of(
+                new CardFacetCount(Priority.HIGH, alice, false, Due.PAST, 30_000),
+                new CardFacetCount(Priority.LOW, null, true, Due.NONE, 20_000)));
+
+        SearchResultDto result = searchService.searchCards(projectId, RELEASE, null, 10, SearchCountMode.EXACT);
+
+        assertThat(result.getTotalResults()).isEqualTo(50_000);
+        assertThat(result.getFacets()).containsEntry("overdue", 30_000).containsEntry("due.none", 20_000);
+        verify(cardRepository, never()).findProjectCardIds(any(), any(), anyInt());
+        verify(facetIndex, never()).facets(any(), any(), any());
+    }
+
+    @Test
+    void sqlFacetsHaveTheSameKeysAsTheIndexFacets() {
+        // One card per due bucket, completed or not
+        List<CardFacetRow> rows = List.of(
+                new CardFacetRow(UUID.randomUUID(), Priority.HIGH, alice, false, TODAY.minusDays(2)),
+                new CardFacetRow(UUID.randomUUID(), Priority.HIGH, null, true, TODAY.minusDays(2)),
+                new CardFacetRow(UUID.randomUUID(), Priority.LOW, alice, false, TODAY),
+                new CardFacetRow(UUID.randomUUID(), Priority.MEDIUM, null, false, TODAY.plusDays(3)),
+                new CardFacetRow(UUID.randomUUID(), Priority.LOW, alice, true, TODAY.plusDays(30)),
+                new CardFacetRow(UUID.randomUUID(), Priority.MEDIUM, null, false, null));
+        when(cardRepository.estimateProjectCards(eq(projectId), any())).thenReturn(50_000L);
+        when(cardRepository.countProjectFacets(projectId, RELEASE)).thenReturn(List.of(
+                new CardFacetCount(Priority.HIGH, alice, false, Due.PAST, 1),
+                new CardFacetCount(Priority.HIGH, null, true, Due.PAST, 1),
+                new CardFacetCount(Priority.LOW, alice, false, Due.TODAY, 1),
+                new CardFacetCount(Priority.MEDIUM, null, false, Due.WEEK, 1),
+                new CardFacetCount(Priority.LOW, alice, true, Due.LATER, 1),
+                new CardFacetCount(Priority.MEDIUM, null, false, Due.NONE, 1)));
+
+        SearchResultDto result = searchService.searchCards(projectId, RELEASE, null, 10, SearchCountMode.EXACT);
+
+        assertThat(result.getFacets()).isEqualTo(
+                new CardFacetIndex.ProjectIndex(rows).facets(SearchCriteria.builder().build(), null, TODAY));
+    }
+}
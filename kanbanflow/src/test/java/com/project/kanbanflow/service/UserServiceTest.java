@@ -0,0 +1,96 @@
+package com.project.kanbanflow.service;
+
+import com.project.kanbanflow.TestFixtures;
+import com.project.kanbanflow.config.PrimaryReads;
+import com.project.kanbanflow.dtos.ChangePasswordRequest;
+import com.project.kanbanflow.dtos.UpdateProfileRequest;
+import com.project.kanbanflow.entity.User;
+import com.project.kanbanflow.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final CurrentUserResolver currentUserResolver = new CurrentUserResolver(userRepository,
+            new PrimaryReads(mock(PlatformTransactionManager.class), ""), true, Duration.ofMinutes(5), 100);
+    private final UserService userService = new UserService(userRepository, passwordEncoder,
+            mock(SecurityUtils.class), currentUserResolver);
+    private User user;
+
+    @BeforeEach
+    void authenticate() {
+        user = TestFixtures.owner();
+        user.setId(userId);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        CurrentUserResolverTest.authenticate(userId);
+        CurrentUserResolverTest.startRequest();
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void profileUpdatesShowInTheSameAndLaterRequests() {
+        assertThat(currentUserResolver.resolve().username()).isEqualTo("owner");
+
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setUsername("renamed");
+        request.setEmail(user.getEmail());
+        request.setFullName("Renamed");
+        userService.updateProfile(request);
+
+        assertThat(currentUserResolver.resolve().username()).isEqualTo("renamed");
+        CurrentUserResolverTest.startRequest();
+        assertThat(currentUserResolver.resolve().fullName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void passwordChangesDropTheSnapshotOnceMoreAfterCommit() {
+        currentUserResolver.resolve();
+        when(passwordEncoder.matches("old", "hash")).thenReturn(true);
+        when(passwordEncoder.encode("new-password")).thenReturn("new-hash");
+        ChangePasswordRequest request = new ChangePasswordRequest();
+        request.setCurrentPassword("old");
+        request.setNewPassword("new-password");
+
+        TransactionSynchronizationManager.initSynchronization();
+        userService.changePassword(request);
+        // A concurrent request caches the user as committed before the change
+        CurrentUserResolverTest.startRequest();
+        currentUserResolver.resolve();
+        CurrentUserResolverTest.complete();
+
+        clearInvocations(userRepository);
+        CurrentUserResolverTest.startRequest();
+        currentUserResolver.resolve();
+        verify(userRepository).findById(userId);
+        assertThat(user.getPasswordHash()).isEqualTo("new-hash");
+    }
+}
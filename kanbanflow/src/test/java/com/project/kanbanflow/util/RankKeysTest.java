@@ -0,0 +1,57 @@
+package com.project.kanbanflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    @Test
+    void betweenIsStrictlyOrdered() {
+        assertThat(RankKeys.between(null, null)).isNotEmpty();
+        assertThat(RankKeys.between("a", "b")).isGreaterThan("a").isLessThan("b");
+        assertThat(RankKeys.between("a", "a1")).isGreaterThan("a").isLessThan("a1");
+        assertThat(RankKeys.between(null, "1")).isLessThan("1");
+        assertThat(RankKeys.between("zz", null)).isGreaterThan("zz");
+    }
+
+    @Test
+    void repeatedInsertsAtSameSpotStayOrdered() {
+        String lower = "a";
+        String upper = "b";
+        for (int i = 0; i < 200; i++) {
+            String mid = RankKeys.between(lower, upper);
+            assertThat(mid).isGreaterThan(lower).isLessThan(upper).doesNotEndWith("0");
+            if (i % 2 == 0) {
+                upper = mid;
+            } else {
+                lower = mid;
+            }
+        }
+    }
+
+    @Test
+    void spreadProducesAscendingKeysWithRoomBetween() {
+        List<String> keys = RankKeys.spread(5000);
+        assertThat(keys).hasSize(5000);
+
+        List<String> sorted = new ArrayList<>(keys);
+        sorted.sort(null);
+        assertThat(keys).isEqualTo(sorted).doesNotHaveDuplicates();
+
+        for (int i = 1; i < keys.size(); i++) {
+            String mid = RankKeys.between(keys.get(i - 1), keys.get(i));
+            assertThat(mid).isGreaterThan(keys.get(i - 1)).isLessThan(keys.get(i));
+        }
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThatThrownBy(() -> RankKeys.between("b", "a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.kanbanflow.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same number of rows keyed by random and by time-ordered UUIDs
+ * and reports insert throughput and primary key index size for both:
+ * <pre>
+ * ./gradlew test --tests '*UuidV7BenchmarkTest' \
+ *     -Dkanbanflow.bench.url=jdbc:postgresql://localhost:5432/kanbanflow \
+ *     -Dkanbanflow.bench.username=postgres -Dkanbanflow.bench.password=123 \
+ *     -Dkanbanflow.bench.rows=2000000
+ * </pre>
+ * Uses two scratch tables that are dropped afterwards.
+ */
+@EnabledIfSystemProperty(named = "kanbanflow.bench.url", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UuidV7BenchmarkTest {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] TABLES = {"bench_uuid_v4", "bench_uuid_v7"};
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void createTables() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                System.getProperty("kanbanflow.bench.url"),
+                System.getProperty("kanbanflow.bench.username", "postgres"),
+                System.getProperty("kanbanflow.bench.password", "")));
+        for (String table : TABLES) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, " +
+                    "created_at timestamp NOT NULL DEFAULT now(), payload text)");
+        }
+    }
+
+    @AfterAll
+    void dropTables() {
+        if (jdbcTemplate == null) return;
+        for (String table : TABLES) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    @Test
+    void timeOrderedKeysInsertFasterIntoSmallerIndex() {
+        int rows = Integer.getInteger("kanbanflow.bench.rows", 1_000_000);
+
+        long randomMillis = insert("bench_uuid_v4", rows, UUID::randomUUID);
+        long orderedMillis = insert("bench_uuid_v7", rows, UuidV7::next);
+        long randomIndex = indexBytes("bench_uuid_v4");
+        long orderedIndex = indexBytes("bench_uuid_v7");
+
+        System.out.printf("%d rows: v4 %d rows/s, index %d MB; v7 %d rows/s, index %d MB%n",
+                rows,
+                rows * 1000L / Math.max(randomMillis, 1), randomIndex >> 20,
+                rows * 1000L / Math.max(orderedMillis, 1), orderedIndex >> 20);
+        // Appending at the right edge leaves leaf pages full instead of half split
+        assertThat(orderedIndex).isLessThan(randomIndex);
+    }
+
+    private long insert(String table, int rows, Supplier<UUID> ids) {
+        String sql = "INSERT INTO " + table + " (id, payload) VALUES (?, ?)";
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = offset; i < Math.min(offset + BATCH_SIZE, rows); i++) {
+                batch.add(new Object[]{ids.get(), "row " + i});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long indexBytes(String table) {
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.kanbanflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void encodesVersionVariantAndTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(id)).isGreaterThanOrEqualTo(before)
+                .isLessThanOrEqualTo(System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void idsIncreaseWithinOneMillisecond() {
+        // The canonical string sorts like the bytes PostgreSQL compares
+        String previous = UuidV7.next().toString();
+        for (int i = 0; i < 20_000; i++) {
+            String next = UuidV7.next().toString();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverCollide() throws InterruptedException {
+        ConcurrentLinkedQueue<UUID> ids = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(UuidV7.next());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ids).hasSize(80_000).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,9 @@
+-- deleted_at comes from the V4 migration and is only written by @SQLDelete, so create-drop leaves it out
+ALTER TABLE projects ADD COLUMN deleted_at timestamp(6) with time zone;
+ALTER TABLE board_columns ADD COLUMN deleted_at timestamp(6) with time zone;
+ALTER TABLE cards ADD COLUMN deleted_at timestamp(6) with time zone;
+ALTER TABLE comments ADD COLUMN deleted_at timestamp(6) with time zone;
+-- Not mapped to an entity, maintained by ColumnCardCountRepository
+CREATE TABLE column_card_counts (column_id uuid NOT NULL PRIMARY KEY, card_count integer NOT NULL);
+-- Not mapped to an entity, written and drained by ActivityWriter
+CREATE TABLE activity_outbox (seq bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, id uuid NOT NULL, project_id uuid, user_id uuid, action varchar(255) NOT NULL, entity_type varchar(255), entity_id uuid, details text, created_at timestamp(6) with time zone NOT NULL);